@@ -0,0 +1,146 @@
+package io.github.dmhomes.benchmarks;
+
+import io.github.dmhomes.DMHomesPlugin;
+import io.github.dmhomes.config.ConfigManager;
+import io.github.dmhomes.config.MessageManager;
+import io.github.dmhomes.data.HomeDataManager;
+import io.github.dmhomes.data.HomeManager;
+import io.github.dmhomes.exceptions.DMHomesException;
+import io.github.dmhomes.gui.GuiSessionRegistry;
+import io.github.dmhomes.metrics.MetricsRegistry;
+import io.github.dmhomes.metrics.OperationWatchdog;
+import lombok.Getter;
+import org.bukkit.World;
+import org.bukkit.configuration.file.YamlConfiguration;
+import org.bukkit.entity.Player;
+import org.jetbrains.annotations.NotNull;
+import org.mockbukkit.mockbukkit.MockBukkit;
+import org.mockbukkit.mockbukkit.ServerMock;
+import org.mockbukkit.mockbukkit.entity.PlayerMock;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import java.util.stream.Stream;
+
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Headless DM-Homes environment for benchmarks
+ * The server, worlds and players come from MockBukkit, the plugin class is stubbed
+ * and the managers under test are the real ones, writing to a temporary data folder
+ */
+public final class BenchmarkServer implements AutoCloseable {
+
+    @Getter
+    private final ServerMock server;
+
+    @Getter
+    private final World world;
+
+    @Getter
+    private final DMHomesPlugin plugin;
+
+    @Getter
+    private final ConfigManager configManager;
+
+    @Getter
+    private final MessageManager messageManager;
+
+    @Getter
+    private final HomeManager homeManager;
+
+    private final Path dataFolder;
+
+    /**
+     * Starts a mocked server and the DM-Homes managers on top of it
+     * @throws DMHomesException if a manager fails to initialize
+     */
+    public BenchmarkServer() throws DMHomesException {
+        this.server = MockBukkit.mock();
+        this.world = this.server.addSimpleWorld("world");
+
+        try {
+            this.dataFolder = Files.createTempDirectory("dmhomes-bench");
+        } catch (final IOException exception) {
+            throw new UncheckedIOException(exception);
+        }
+
+        final Logger logger = Logger.getLogger("DM-Homes-Benchmark");
+        logger.setLevel(Level.WARNING);
+
+        final MetricsRegistry metrics = new MetricsRegistry();
+        this.plugin = mock(DMHomesPlugin.class);
+        when(this.plugin.getDataFolder()).thenReturn(this.dataFolder.toFile());
+        when(this.plugin.getLogger()).thenReturn(logger);
+        when(this.plugin.getServer()).thenReturn(this.server);
+        when(this.plugin.getConfig()).thenReturn(loadDefaultConfig());
+        when(this.plugin.getMetrics()).thenReturn(metrics);
+
+        final GuiSessionRegistry guiSessionRegistry = new GuiSessionRegistry(this.plugin);
+        when(this.plugin.getGuiSessionRegistry()).thenReturn(guiSessionRegistry);
+
+        this.configManager = new ConfigManager(this.plugin);
+        when(this.plugin.getConfigManager()).thenReturn(this.configManager);
+
+        this.messageManager = new MessageManager(this.configManager, metrics);
+        when(this.plugin.getMessageManager()).thenReturn(this.messageManager);
+
+        final OperationWatchdog operationWatchdog = new OperationWatchdog(this.plugin);
+        when(this.plugin.getOperationWatchdog()).thenReturn(operationWatchdog);
+
+        final HomeDataManager homeDataManager = new HomeDataManager(this.plugin);
+        when(this.plugin.getHomeDataManager()).thenReturn(homeDataManager);
+
+        this.homeManager = new HomeManager(this.plugin);
+        when(this.plugin.getHomeManager()).thenReturn(this.homeManager);
+        this.homeManager.initialize();
+    }
+
+    /**
+     * Adds a player without home limits
+     * @return the player
+     */
+    public @NotNull Player addPlayer() {
+        final PlayerMock player = this.server.addPlayer();
+        player.setOp(true);
+        return player;
+    }
+
+    /**
+     * Stops the mocked server and deletes the data folder
+     */
+    @Override
+    public void close() {
+        MockBukkit.unmock();
+
+        try (final Stream<Path> paths = Files.walk(this.dataFolder)) {
+            paths.sorted(Comparator.reverseOrder()).forEach(path -> path.toFile().delete());
+        } catch (final IOException exception) {
+            throw new UncheckedIOException(exception);
+        }
+    }
+
+    /**
+     * Loads the config.yml bundled with the plugin
+     * @return the default configuration
+     */
+    private static @NotNull YamlConfiguration loadDefaultConfig() {
+        try (final InputStream stream = DMHomesPlugin.class.getResourceAsStream("/config.yml")) {
+            if (stream == null) {
+                throw new IllegalStateException("config.yml not found on the classpath");
+            }
+            return YamlConfiguration.loadConfiguration(new InputStreamReader(stream, StandardCharsets.UTF_8));
+        } catch (final IOException exception) {
+            throw new UncheckedIOException(exception);
+        }
+    }
+}
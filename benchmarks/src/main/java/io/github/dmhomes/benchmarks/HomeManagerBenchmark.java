@@ -0,0 +1,90 @@
+package io.github.dmhomes.benchmarks;
+
+import io.github.dmhomes.data.Home;
+import io.github.dmhomes.data.HomeManager;
+import io.github.dmhomes.exceptions.DMHomesException;
+import org.bukkit.Location;
+import org.bukkit.entity.Player;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks of the HomeManager operations behind /sethome, /home, the homes menu and renames
+ * Mutating operations include the synchronous save of the player's homes file, as in production
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class HomeManagerBenchmark {
+
+    @Param({"5", "25"})
+    public int homesPerPlayer;
+
+    private BenchmarkServer server;
+    private HomeManager homeManager;
+    private Player player;
+    private Location location;
+    private String lookupName;
+    private boolean renamed;
+
+    @Setup(Level.Trial)
+    public void setUp() throws DMHomesException {
+        this.server = new BenchmarkServer();
+        this.homeManager = this.server.getHomeManager();
+        this.player = this.server.addPlayer();
+        this.location = new Location(this.server.getWorld(), 120.5, 64, -340.5, 90f, 0f);
+
+        for (int i = 0; i < this.homesPerPlayer; i++) {
+            this.homeManager.createHome(this.player, "home" + i, this.location);
+        }
+        this.lookupName = "home" + (this.homesPerPlayer / 2);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        this.server.close();
+    }
+
+    @Benchmark
+    public Home getHome() {
+        return this.homeManager.getHome(this.player, this.lookupName);
+    }
+
+    @Benchmark
+    public List<Home> getHomes() {
+        return this.homeManager.getHomes(this.player);
+    }
+
+    @Benchmark
+    public boolean createAndDelete() throws DMHomesException {
+        this.homeManager.createHome(this.player, "bench", this.location);
+        return this.homeManager.deleteHome(this.player, "bench");
+    }
+
+    @Benchmark
+    public boolean rename() throws DMHomesException {
+        // Alternates direction so every invocation performs a real rename
+        final boolean result = this.renamed
+            ? this.homeManager.renameHome(this.player, "renamed", "home0")
+            : this.homeManager.renameHome(this.player, "home0", "renamed");
+        this.renamed = !this.renamed;
+        return result;
+    }
+}
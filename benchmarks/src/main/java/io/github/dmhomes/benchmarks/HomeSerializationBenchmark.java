@@ -0,0 +1,152 @@
+package io.github.dmhomes.benchmarks;
+
+import io.github.dmhomes.data.Home;
+import io.github.dmhomes.exceptions.DMHomesException;
+import org.bukkit.Bukkit;
+import org.bukkit.Location;
+import org.bukkit.World;
+import org.bukkit.configuration.InvalidConfigurationException;
+import org.bukkit.configuration.file.YamlConfiguration;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the YAML homes file written by HomeManager with a compact binary encoding of the same homes
+ * The YAML side mirrors HomeManager.savePlayerHomes and loadPlayerHomes, without the file I/O
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class HomeSerializationBenchmark {
+
+    private static final int FORMAT_VERSION = 1;
+
+    @Param({"5", "25"})
+    public int homesPerPlayer;
+
+    private BenchmarkServer server;
+    private UUID playerUuid;
+    private List<Home> homes;
+    private String yaml;
+    private byte[] binary;
+
+    @Setup(Level.Trial)
+    public void setUp() throws DMHomesException, IOException {
+        this.server = new BenchmarkServer();
+        this.playerUuid = UUID.randomUUID();
+        this.homes = new ArrayList<>(this.homesPerPlayer);
+
+        final World world = this.server.getWorld();
+        for (int i = 0; i < this.homesPerPlayer; i++) {
+            final Location location = new Location(world, i * 16.5, 64, -i * 32.5, i * 10f, 0f);
+            this.homes.add(new Home(this.playerUuid, "home" + i, location, 1_700_000_000_000L + i));
+        }
+
+        this.yaml = this.writeYaml();
+        this.binary = this.writeBinary();
+        System.out.printf("%n%d homes: YAML %d bytes, binary %d bytes%n",
+            this.homesPerPlayer, this.yaml.length(), this.binary.length);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        this.server.close();
+    }
+
+    @Benchmark
+    public String writeYaml() {
+        final YamlConfiguration config = new YamlConfiguration();
+        for (final Home home : this.homes) {
+            config.set(home.getName() + ".location", home.getLocation());
+            config.set(home.getName() + ".created-at", home.getCreatedAt());
+        }
+        return config.saveToString();
+    }
+
+    @Benchmark
+    public Map<String, Home> readYaml() throws InvalidConfigurationException {
+        final YamlConfiguration config = new YamlConfiguration();
+        config.loadFromString(this.yaml);
+
+        final Map<String, Home> loaded = new HashMap<>();
+        for (final String homeName : config.getKeys(false)) {
+            final Location location = config.getLocation(homeName + ".location");
+            if (location != null) {
+                loaded.put(homeName.toLowerCase(), new Home(this.playerUuid, homeName, location,
+                    config.getLong(homeName + ".created-at")));
+            }
+        }
+        return loaded;
+    }
+
+    @Benchmark
+    public byte[] writeBinary() throws IOException {
+        final ByteArrayOutputStream bytes = new ByteArrayOutputStream(64 * this.homes.size());
+        try (final DataOutputStream out = new DataOutputStream(bytes)) {
+            out.writeByte(FORMAT_VERSION);
+            out.writeInt(this.homes.size());
+            for (final Home home : this.homes) {
+                final Location location = home.getLocation();
+                out.writeUTF(home.getName());
+                out.writeUTF(home.getWorldName());
+                out.writeDouble(location.getX());
+                out.writeDouble(location.getY());
+                out.writeDouble(location.getZ());
+                out.writeFloat(location.getYaw());
+                out.writeFloat(location.getPitch());
+                out.writeLong(home.getCreatedAt());
+            }
+        }
+        return bytes.toByteArray();
+    }
+
+    @Benchmark
+    public Map<String, Home> readBinary() throws IOException {
+        try (final DataInputStream in = new DataInputStream(new ByteArrayInputStream(this.binary))) {
+            checkVersion(in.readUnsignedByte());
+
+            final int count = in.readInt();
+            final Map<String, Home> loaded = new HashMap<>(count * 2);
+            for (int i = 0; i < count; i++) {
+                final String homeName = in.readUTF();
+                final World world = Bukkit.getWorld(in.readUTF());
+                final Location location = new Location(world,
+                    in.readDouble(), in.readDouble(), in.readDouble(), in.readFloat(), in.readFloat());
+                loaded.put(homeName.toLowerCase(), new Home(this.playerUuid, homeName, location, in.readLong()));
+            }
+            return loaded;
+        }
+    }
+
+    private static void checkVersion(final int version) throws IOException {
+        if (version != FORMAT_VERSION) {
+            throw new IOException("Unsupported format version: " + version);
+        }
+    }
+}
@@ -0,0 +1,67 @@
+package io.github.dmhomes.benchmarks;
+
+import io.github.dmhomes.exceptions.DMHomesException;
+import io.github.dmhomes.utils.ItemBuilder;
+import org.bukkit.configuration.ConfigurationSection;
+import org.bukkit.inventory.ItemStack;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks of ItemBuilder.createFromConfigWithPlaceholders for the items of the homes menu
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ItemBuilderBenchmark {
+
+    private BenchmarkServer server;
+    private ConfigurationSection occupiedSlot;
+    private ConfigurationSection nextPage;
+
+    @Setup(Level.Trial)
+    public void setUp() throws DMHomesException {
+        this.server = new BenchmarkServer();
+        this.occupiedSlot = this.server.getConfigManager().getItemSection("main-menu", "occupied-slot");
+        this.nextPage = this.server.getConfigManager().getItemSection("main-menu", "next-page");
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        this.server.close();
+    }
+
+    @Benchmark
+    public ItemStack occupiedSlot() {
+        return ItemBuilder.createFromConfigWithPlaceholders(this.occupiedSlot,
+            "home_name", "base",
+            "home_world", "world",
+            "home_x", "120",
+            "home_y", "64",
+            "home_z", "-340"
+        );
+    }
+
+    @Benchmark
+    public ItemStack pageButton() {
+        return ItemBuilder.createFromConfigWithPlaceholders(this.nextPage,
+            "page", "1",
+            "pages", "3"
+        );
+    }
+}
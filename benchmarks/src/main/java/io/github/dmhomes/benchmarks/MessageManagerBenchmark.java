@@ -0,0 +1,66 @@
+package io.github.dmhomes.benchmarks;
+
+import io.github.dmhomes.config.MessageManager;
+import io.github.dmhomes.exceptions.DMHomesException;
+import net.kyori.adventure.text.Component;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks of MessageManager.getMessage, which parses MiniMessage on every call
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class MessageManagerBenchmark {
+
+    private BenchmarkServer server;
+    private MessageManager messageManager;
+
+    @Setup(Level.Trial)
+    public void setUp() throws DMHomesException {
+        this.server = new BenchmarkServer();
+        this.messageManager = this.server.getMessageManager();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        this.server.close();
+    }
+
+    @Benchmark
+    public Component withoutPlaceholders() {
+        return this.messageManager.getMessage("error-home-exists");
+    }
+
+    @Benchmark
+    public Component withPlaceholder() {
+        return this.messageManager.getMessage("home-created", "home_name", "base");
+    }
+
+    @Benchmark
+    public Component withManyPlaceholders() {
+        return this.messageManager.getMessage("home-list-entry",
+            "home_name", "base",
+            "world", "world",
+            "x", "120",
+            "y", "64",
+            "z", "-340"
+        );
+    }
+}
@@ -0,0 +1,42 @@
+package io.github.dmhomes.loadtest;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Counts failed steps by reason
+ */
+public final class FailureLog {
+
+    private final Map<String, Integer> failures = new TreeMap<>();
+
+    /**
+     * Records a failed step
+     * @param reason the failure reason
+     */
+    public void record(final @NotNull String reason) {
+        this.failures.merge(reason, 1, Integer::sum);
+    }
+
+    /**
+     * Gets the failure counts by reason
+     * @return the counts, sorted by reason
+     */
+    public @NotNull Map<String, Integer> getCounts() {
+        return this.failures;
+    }
+
+    /**
+     * Gets the total number of failures
+     * @return the failure count
+     */
+    public int getTotal() {
+        int total = 0;
+        for (final int count : this.failures.values()) {
+            total += count;
+        }
+        return total;
+    }
+}
@@ -0,0 +1,159 @@
+package io.github.dmhomes.loadtest;
+
+import io.github.dmhomes.DMHomesPlugin;
+import io.github.dmhomes.exceptions.DMHomesException;
+import io.github.dmhomes.metrics.LatencyHistogram;
+import io.github.dmhomes.metrics.MetricsRegistry;
+import io.github.dmhomes.utils.ActionRateLimiter;
+import org.bukkit.World;
+import org.bukkit.configuration.ConfigurationSection;
+import org.bukkit.configuration.file.FileConfiguration;
+import org.jetbrains.annotations.NotNull;
+import org.mockbukkit.mockbukkit.MockBukkit;
+import org.mockbukkit.mockbukkit.ServerMock;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Headless load test of DM-Homes
+ * Loads the real plugin into a MockBukkit server and drives it with scripted players,
+ * then reports the server-thread time and allocations per phase and the homes file I/O
+ */
+public final class LoadTest {
+
+    private LoadTest() {
+    }
+
+    public static void main(final String[] args) throws DMHomesException {
+        final LoadTestOptions options = LoadTestOptions.parse(args);
+
+        final ServerMock server = MockBukkit.mock();
+        final World world = server.addSimpleWorld("world");
+        final DMHomesPlugin plugin = MockBukkit.load(DMHomesPlugin.class);
+        configure(plugin, options);
+
+        final PhaseStats stats = new PhaseStats(new MetricsRegistry());
+        final FailureLog failures = new FailureLog();
+        final int[] homeSlots = plugin.getConfigManager().getLayoutSlots("main-menu", "home-slots", new int[] {1});
+        final ConfigurationSection backButton = plugin.getConfigManager().getItemSection("management-menu", "back-button");
+        final LoadTestContext context = new LoadTestContext(server, world, plugin, options, stats,
+            homeSlots[0], backButton != null ? backButton.getInt("slot", 8) : 8, failures);
+
+        final List<SimulatedPlayer> players = new ArrayList<>(options.players());
+        for (int i = 0; i < options.players(); i++) {
+            players.add(new SimulatedPlayer(i, context, (int) ((long) i * options.rampUpTicks() / options.players())));
+        }
+
+        System.out.printf("Simulating %d players (ramp-up %d ticks, %d homes each, %ds warmup)%n",
+            options.players(), options.rampUpTicks(), options.homesPerPlayer(), options.warmupSeconds());
+
+        final int tickLimit = options.rampUpTicks() + 2_000 + options.warmupSeconds() * 40;
+        final long startNanos = System.nanoTime();
+        int tick = 0;
+        int remaining = players.size();
+
+        while (remaining > 0 && tick < tickLimit) {
+            final long tickStart = System.nanoTime();
+            remaining = 0;
+            for (final SimulatedPlayer player : players) {
+                player.tick(tick);
+                if (!player.isFinished()) {
+                    remaining++;
+                }
+            }
+
+            stats.measure(Phase.SCHEDULER, () -> server.getScheduler().performOneTick());
+            stats.recordTick(System.nanoTime() - tickStart);
+            tick++;
+        }
+
+        server.getScheduler().waitAsyncTasksFinished();
+        final double wallSeconds = (System.nanoTime() - startNanos) / 1_000_000_000.0;
+
+        if (remaining > 0) {
+            failures.record(remaining + " players still running after " + tickLimit + " ticks");
+        }
+
+        final boolean passed = report(context, tick, wallSeconds);
+        MockBukkit.unmock();
+        System.exit(passed ? 0 : 1);
+    }
+
+    /**
+     * Applies the load test settings to the plugin configuration
+     * Rate limits are disabled, the scripted players act faster than real ones
+     * @param plugin the plugin under test
+     * @param options the run options
+     * @throws DMHomesException if the reload fails
+     */
+    private static void configure(final @NotNull DMHomesPlugin plugin, final @NotNull LoadTestOptions options)
+            throws DMHomesException {
+        final FileConfiguration config = plugin.getConfig();
+        for (final ActionRateLimiter.Action action : ActionRateLimiter.Action.values()) {
+            config.set("rate-limits." + action.getConfigKey(), 0);
+        }
+        config.set("teleportation.warmup-time", options.warmupSeconds());
+        plugin.saveConfig();
+        plugin.reloadPlugin();
+    }
+
+    /**
+     * Prints the results
+     * @param context the run state
+     * @param ticks the simulated ticks
+     * @param wallSeconds the wall-clock duration
+     * @return true if the tick budget held and no step failed
+     */
+    private static boolean report(final @NotNull LoadTestContext context, final int ticks, final double wallSeconds) {
+        final PhaseStats stats = context.stats();
+
+        System.out.printf("%nRan %d ticks in %.1f s%n%n", ticks, wallSeconds);
+        System.out.printf("%-10s %8s %10s %9s %9s %9s %10s%n",
+            "Phase", "Steps", "Total ms", "p50 ms", "p99 ms", "Max ms", "Alloc MB");
+
+        long allocatedBytes = 0L;
+        for (final Phase phase : Phase.values()) {
+            final LatencyHistogram timings = stats.getTimings(phase);
+            allocatedBytes += stats.getAllocatedBytes(phase);
+            System.out.printf("%-10s %8d %10.1f %9.3f %9.3f %9.3f %10.1f%n",
+                phase.name().toLowerCase(),
+                timings.getCount(),
+                timings.getSumSeconds() * 1000.0,
+                timings.getQuantileMillis(0.50),
+                timings.getQuantileMillis(0.99),
+                timings.getMaxMillis(),
+                stats.getAllocatedBytes(phase) / 1_048_576.0);
+        }
+
+        final LatencyHistogram tickTimings = stats.getTickTimings();
+        System.out.printf("%nTick p50/p95/p99/max: %.3f / %.3f / %.3f / %.3f ms%n",
+            tickTimings.getQuantileMillis(0.50),
+            tickTimings.getQuantileMillis(0.95),
+            tickTimings.getQuantileMillis(0.99),
+            tickTimings.getMaxMillis());
+        System.out.printf("Server thread allocation rate: %.1f MB/s%n", allocatedBytes / 1_048_576.0 / wallSeconds);
+
+        final MetricsRegistry pluginMetrics = context.plugin().getMetrics();
+        System.out.printf("Homes files: %d read, %d written%n",
+            pluginMetrics.histogram("home_load_seconds", "").getCount(),
+            pluginMetrics.histogram("home_save_seconds", "").getCount());
+
+        boolean passed = true;
+        if (tickTimings.getQuantileMillis(0.99) > context.options().maxTickMillis()) {
+            System.out.printf("FAIL: p99 tick time exceeds the %.1f ms budget%n", context.options().maxTickMillis());
+            passed = false;
+        }
+
+        if (context.failures().getTotal() > 0) {
+            System.out.println("FAIL: " + context.failures().getTotal() + " failed steps");
+            for (final Map.Entry<String, Integer> entry : context.failures().getCounts().entrySet()) {
+                System.out.println("  " + entry.getValue() + "x " + entry.getKey());
+            }
+            passed = false;
+        }
+
+        return passed;
+    }
+}
@@ -0,0 +1,30 @@
+package io.github.dmhomes.loadtest;
+
+import io.github.dmhomes.DMHomesPlugin;
+import org.bukkit.World;
+import org.jetbrains.annotations.NotNull;
+import org.mockbukkit.mockbukkit.ServerMock;
+
+/**
+ * Shared state of a load test run
+ * @param server the mocked server
+ * @param world the world homes are created in
+ * @param plugin the plugin under test
+ * @param options the run options
+ * @param stats the phase statistics
+ * @param firstHomeSlot the menu slot of a player's first home
+ * @param backButtonSlot the back button slot of the management menu
+ * @param failures the failed steps
+ */
+public record LoadTestContext(@NotNull ServerMock server, @NotNull World world, @NotNull DMHomesPlugin plugin,
+                              @NotNull LoadTestOptions options, @NotNull PhaseStats stats,
+                              int firstHomeSlot, int backButtonSlot, @NotNull FailureLog failures) {
+
+    /**
+     * Records a failed step
+     * @param reason the failure reason
+     */
+    public void recordFailure(final @NotNull String reason) {
+        this.failures.record(reason);
+    }
+}
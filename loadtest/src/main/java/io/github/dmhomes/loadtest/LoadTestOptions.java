@@ -0,0 +1,51 @@
+package io.github.dmhomes.loadtest;
+
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * Command line options of the load test
+ * @param players the number of simulated players
+ * @param rampUpTicks the ticks over which players join
+ * @param homesPerPlayer the homes each player creates
+ * @param warmupSeconds the teleport warmup, overriding the configuration
+ * @param maxTickMillis the p99 tick time budget, the run fails if it is exceeded
+ * @param seed the random seed for the player scripts
+ */
+public record LoadTestOptions(int players, int rampUpTicks, int homesPerPlayer, int warmupSeconds,
+                              double maxTickMillis, long seed) {
+
+    /**
+     * Parses the options, using defaults for anything not given
+     * @param args the command line arguments, as --name value pairs
+     * @return the options
+     * @throws IllegalArgumentException if an option is unknown or has no value
+     */
+    public static @NotNull LoadTestOptions parse(final @NotNull String @NotNull [] args) {
+        int players = 1000;
+        int rampUpTicks = 200;
+        int homesPerPlayer = 3;
+        int warmupSeconds = 1;
+        double maxTickMillis = 50.0;
+        long seed = 42L;
+
+        for (int i = 0; i < args.length; i += 2) {
+            if (i + 1 >= args.length) {
+                throw new IllegalArgumentException("Missing value for " + args[i]);
+            }
+
+            final String value = args[i + 1];
+            switch (args[i]) {
+                case "--players" -> players = Integer.parseInt(value);
+                case "--ramp-up-ticks" -> rampUpTicks = Integer.parseInt(value);
+                case "--homes" -> homesPerPlayer = Integer.parseInt(value);
+                case "--warmup-seconds" -> warmupSeconds = Integer.parseInt(value);
+                case "--max-tick-ms" -> maxTickMillis = Double.parseDouble(value);
+                case "--seed" -> seed = Long.parseLong(value);
+                default -> throw new IllegalArgumentException("Unknown option: " + args[i]);
+            }
+        }
+
+        return new LoadTestOptions(players, Math.max(1, rampUpTicks), Math.max(1, homesPerPlayer),
+            Math.max(0, warmupSeconds), maxTickMillis, seed);
+    }
+}
@@ -0,0 +1,23 @@
+package io.github.dmhomes.loadtest;
+
+/**
+ * Phases of the load test, timed separately on the server thread
+ */
+public enum Phase {
+    /** A player joining the server */
+    JOIN,
+    /** Running /home until the homes menu is open */
+    OPEN_MENU,
+    /** Clicking a home slot and the back button of the management menu */
+    CLICK,
+    /** Creating a home, as confirmed from the creation dialog */
+    CREATE,
+    /** Renaming a home, as confirmed from the rename dialog */
+    RENAME,
+    /** Left-clicking a home to start a teleport warmup */
+    TELEPORT,
+    /** A player leaving the server */
+    QUIT,
+    /** Running the scheduled tasks of one tick, including GUI apply, warmups and admissions */
+    SCHEDULER
+}
@@ -0,0 +1,87 @@
+package io.github.dmhomes.loadtest;
+
+import io.github.dmhomes.metrics.LatencyHistogram;
+import io.github.dmhomes.metrics.MetricsRegistry;
+import org.jetbrains.annotations.NotNull;
+
+import java.lang.management.ManagementFactory;
+import java.util.Locale;
+
+/**
+ * Time and allocation statistics per phase, recorded on the server thread
+ */
+public final class PhaseStats {
+
+    private static final com.sun.management.ThreadMXBean THREADS =
+        (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+
+    private final LatencyHistogram[] timings = new LatencyHistogram[Phase.values().length];
+    private final long[] allocatedBytes = new long[Phase.values().length];
+    private final LatencyHistogram tickTimings;
+
+    /**
+     * Creates a new PhaseStats instance
+     * @param metrics the registry to create the histograms in
+     */
+    public PhaseStats(final @NotNull MetricsRegistry metrics) {
+        for (final Phase phase : Phase.values()) {
+            this.timings[phase.ordinal()] = metrics.histogram(
+                "loadtest_" + phase.name().toLowerCase(Locale.ROOT) + "_seconds", "Duration of one " + phase + " step");
+        }
+        this.tickTimings = metrics.histogram("loadtest_tick_seconds", "Duration of one simulated tick");
+
+        if (THREADS.isThreadAllocatedMemorySupported() && !THREADS.isThreadAllocatedMemoryEnabled()) {
+            THREADS.setThreadAllocatedMemoryEnabled(true);
+        }
+    }
+
+    /**
+     * Runs one step of a phase and records its time and allocations
+     * @param phase the phase
+     * @param step the step to run
+     */
+    public void measure(final @NotNull Phase phase, final @NotNull Runnable step) {
+        final long startBytes = THREADS.getCurrentThreadAllocatedBytes();
+        final long startNanos = System.nanoTime();
+        try {
+            step.run();
+        } finally {
+            this.timings[phase.ordinal()].recordSince(startNanos);
+            this.allocatedBytes[phase.ordinal()] += THREADS.getCurrentThreadAllocatedBytes() - startBytes;
+        }
+    }
+
+    /**
+     * Records the total duration of a tick
+     * @param nanos the tick duration
+     */
+    public void recordTick(final long nanos) {
+        this.tickTimings.record(nanos);
+    }
+
+    /**
+     * Gets the tick duration histogram
+     * @return the histogram
+     */
+    public @NotNull LatencyHistogram getTickTimings() {
+        return this.tickTimings;
+    }
+
+    /**
+     * Gets the time histogram of a phase
+     * @param phase the phase
+     * @return the histogram
+     */
+    public @NotNull LatencyHistogram getTimings(final @NotNull Phase phase) {
+        return this.timings[phase.ordinal()];
+    }
+
+    /**
+     * Gets the bytes allocated on the server thread by a phase
+     * @param phase the phase
+     * @return the allocated bytes
+     */
+    public long getAllocatedBytes(final @NotNull Phase phase) {
+        return this.allocatedBytes[phase.ordinal()];
+    }
+}
@@ -0,0 +1,189 @@
+package io.github.dmhomes.loadtest;
+
+import io.github.dmhomes.exceptions.DMHomesException;
+import io.github.dmhomes.gui.HomeManagementGUI;
+import io.github.dmhomes.gui.MainHomesGUI;
+import org.bukkit.Location;
+import org.bukkit.World;
+import org.bukkit.event.inventory.ClickType;
+import org.bukkit.inventory.InventoryHolder;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import org.mockbukkit.mockbukkit.entity.PlayerMock;
+
+import java.util.Random;
+
+/**
+ * One scripted player: joins, creates homes, browses the menu, renames a home, teleports and quits
+ * Steps that need a GUI wait for it to open, since menus render asynchronously
+ */
+public final class SimulatedPlayer {
+
+    private static final int GUI_TIMEOUT_TICKS = 40;
+
+    private final int id;
+    private final LoadTestContext context;
+    private final Random random;
+
+    private PlayerMock player;
+    private Stage stage = Stage.JOIN;
+    private int nextTick;
+    private int waitingSince = -1;
+    private int homesCreated;
+    private String firstHomeName;
+
+    /**
+     * Creates a new SimulatedPlayer instance
+     * @param id the player number
+     * @param context the shared load test state
+     * @param joinTick the tick the player joins at
+     */
+    public SimulatedPlayer(final int id, final @NotNull LoadTestContext context, final int joinTick) {
+        this.id = id;
+        this.context = context;
+        this.random = new Random(context.options().seed() + id);
+        this.nextTick = joinTick;
+    }
+
+    /**
+     * Checks if the script has finished
+     * @return true once the player quit
+     */
+    public boolean isFinished() {
+        return this.stage == Stage.DONE;
+    }
+
+    /**
+     * Runs the next step of the script if it is due
+     * @param tick the current tick
+     */
+    public void tick(final int tick) {
+        if (this.stage == Stage.DONE || tick < this.nextTick) {
+            return;
+        }
+
+        switch (this.stage) {
+            case JOIN -> this.context.stats().measure(Phase.JOIN, () -> {
+                this.player = this.context.server().addPlayer("LoadTest" + this.id);
+                this.advance(Stage.CREATE, tick, 20);
+            });
+            case CREATE -> this.context.stats().measure(Phase.CREATE, () -> {
+                this.createHome();
+                if (this.homesCreated >= this.context.options().homesPerPlayer()) {
+                    this.advance(Stage.OPEN_MENU, tick, 10);
+                } else {
+                    this.advance(Stage.CREATE, tick, 5);
+                }
+            });
+            case OPEN_MENU -> this.context.stats().measure(Phase.OPEN_MENU, () -> {
+                this.player.performCommand("home");
+                this.advance(Stage.OPEN_MANAGEMENT, tick, 1);
+            });
+            case OPEN_MANAGEMENT -> this.clickWhenOpen(tick, MainHomesGUI.class, ClickType.RIGHT,
+                this.context.firstHomeSlot(), Phase.CLICK, Stage.BACK);
+            case BACK -> this.clickWhenOpen(tick, HomeManagementGUI.class, ClickType.LEFT,
+                this.context.backButtonSlot(), Phase.CLICK, Stage.RENAME);
+            case RENAME -> this.context.stats().measure(Phase.RENAME, () -> {
+                final String newName = "renamed" + this.random.nextInt(1000);
+                this.context.plugin().getHomeCreationDialog().handleHomeRename(this.player, this.firstHomeName, newName);
+                this.firstHomeName = newName;
+                this.advance(Stage.TELEPORT, tick, 2);
+            });
+            case TELEPORT -> this.clickWhenOpen(tick, MainHomesGUI.class, ClickType.LEFT,
+                this.context.firstHomeSlot(), Phase.TELEPORT, Stage.QUIT);
+            case QUIT -> this.context.stats().measure(Phase.QUIT, () -> {
+                this.player.disconnect();
+                this.stage = Stage.DONE;
+            });
+            default -> {
+            }
+        }
+    }
+
+    /**
+     * Creates the next home at a random location around the spawn
+     */
+    private void createHome() {
+        final World world = this.context.world();
+        final Location location = new Location(world,
+            this.random.nextInt(20_000) - 10_000.5, 64, this.random.nextInt(20_000) - 10_000.5);
+        final String homeName = "home" + this.homesCreated;
+
+        try {
+            if (this.context.plugin().getHomeManager().createHome(this.player, homeName, location)) {
+                if (this.firstHomeName == null) {
+                    this.firstHomeName = homeName;
+                }
+            } else {
+                this.context.recordFailure("create rejected");
+            }
+        } catch (final DMHomesException exception) {
+            this.context.recordFailure("create failed: " + exception.getMessage());
+        }
+        this.homesCreated++;
+    }
+
+    /**
+     * Clicks a slot once the expected GUI is open, giving up after a timeout
+     * @param tick the current tick
+     * @param guiType the GUI that must be open
+     * @param click the click type
+     * @param slot the slot to click
+     * @param phase the phase to record the click under
+     * @param next the stage after the click
+     */
+    private void clickWhenOpen(final int tick, final @NotNull Class<?> guiType, final @NotNull ClickType click,
+                               final int slot, final @NotNull Phase phase, final @NotNull Stage next) {
+        if (!guiType.isInstance(this.getOpenHolder())) {
+            if (this.waitingSince < 0) {
+                this.waitingSince = tick;
+            } else if (tick - this.waitingSince > GUI_TIMEOUT_TICKS) {
+                this.context.recordFailure(guiType.getSimpleName() + " did not open");
+                this.waitingSince = -1;
+                this.advance(Stage.QUIT, tick, 0);
+            }
+            return;
+        }
+
+        this.waitingSince = -1;
+        this.context.stats().measure(phase, () -> this.player.simulateInventoryClick(this.player.getOpenInventory(), click, slot));
+
+        // After the teleport click, stay online until the warmup has completed
+        final int delay = next == Stage.QUIT ? this.context.options().warmupSeconds() * 20 + 20 + this.random.nextInt(20) : 2;
+        this.advance(next, tick, delay);
+    }
+
+    /**
+     * Gets the holder of the player's open top inventory
+     * @return the holder or null if no custom inventory is open
+     */
+    private @Nullable InventoryHolder getOpenHolder() {
+        return this.player.getOpenInventory().getTopInventory().getHolder(false);
+    }
+
+    /**
+     * Moves to the next stage
+     * @param next the next stage
+     * @param tick the current tick
+     * @param delay the ticks to wait before running it
+     */
+    private void advance(final @NotNull Stage next, final int tick, final int delay) {
+        this.stage = next;
+        this.nextTick = tick + delay + (delay > 0 ? this.random.nextInt(3) : 0);
+    }
+
+    /**
+     * Steps of the player script
+     */
+    private enum Stage {
+        JOIN,
+        CREATE,
+        OPEN_MENU,
+        OPEN_MANAGEMENT,
+        BACK,
+        RENAME,
+        TELEPORT,
+        QUIT,
+        DONE
+    }
+}
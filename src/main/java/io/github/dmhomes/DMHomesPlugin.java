@@ -6,12 +6,24 @@ import io.github.dmhomes.config.ConfigManager;
 import io.github.dmhomes.config.MessageManager;
 import io.github.dmhomes.data.HomeDataManager;
 import io.github.dmhomes.data.HomeManager;
+import io.github.dmhomes.data.InactivePlayerPurge;
 import io.github.dmhomes.dialog.HomeCreationDialog;
+import io.github.dmhomes.gui.GuiRenderTimings;
+import io.github.dmhomes.gui.GuiSessionRegistry;
+import io.github.dmhomes.gui.HomeItemTemplate;
+import io.github.dmhomes.gui.IconCatalog;
 import io.github.dmhomes.teleportation.TeleportationManager;
 import io.github.dmhomes.exceptions.DMHomesException;
 import io.github.dmhomes.listeners.GUIListener;
 import io.github.dmhomes.listeners.PlayerListener;
 import io.github.dmhomes.listeners.DialogClickListener;
+import io.github.dmhomes.metrics.MemoryUsage;
+import io.github.dmhomes.metrics.MetricsRegistry;
+import io.github.dmhomes.metrics.OperationWatchdog;
+import io.github.dmhomes.metrics.PrometheusExporter;
+import io.github.dmhomes.migration.HomeExporter;
+import io.github.dmhomes.migration.HomeImporter;
+import io.github.dmhomes.utils.ActionRateLimiter;
 import lombok.Getter;
 import org.bukkit.command.PluginCommand;
 import org.bukkit.plugin.Plugin;
@@ -37,6 +49,9 @@ public final class DMHomesPlugin extends JavaPlugin {
     @Getter
     private MessageManager messageManager;
     
+    @Getter
+    private OperationWatchdog operationWatchdog;
+    
     @Getter
     private HomeDataManager homeDataManager;
     
@@ -49,6 +64,35 @@ public final class DMHomesPlugin extends JavaPlugin {
     @Getter
     private HomeCreationDialog homeCreationDialog;
     
+    @Getter
+    private IconCatalog iconCatalog;
+    
+    @Getter
+    private HomeItemTemplate homeItemTemplate;
+    
+    @Getter
+    private final MetricsRegistry metrics = new MetricsRegistry();
+    
+    @Getter
+    private final GuiRenderTimings guiRenderTimings = new GuiRenderTimings(this.metrics);
+    
+    @Getter
+    private final GuiSessionRegistry guiSessionRegistry = new GuiSessionRegistry(this);
+    
+    @Getter
+    private ActionRateLimiter actionRateLimiter;
+    
+    private PrometheusExporter prometheusExporter;
+    
+    @Getter
+    private HomeImporter homeImporter;
+    
+    @Getter
+    private HomeExporter homeExporter;
+    
+    @Getter
+    private InactivePlayerPurge inactivePlayerPurge;
+    
     private final List<String> homeCommands = Arrays.asList(
         "home", "sethome", "delhome", "dom", "domy", "ustawdom", "dmhomes", "dmh"
     );
@@ -69,6 +113,16 @@ public final class DMHomesPlugin extends JavaPlugin {
     @Override
     public void onDisable() {
         try {
+            if (this.prometheusExporter != null) {
+                this.prometheusExporter.stop();
+            }
+            if (this.homeImporter != null) {
+                this.homeImporter.cancel();
+            }
+            if (this.inactivePlayerPurge != null) {
+                this.inactivePlayerPurge.stop();
+            }
+
             // Save all data before shutdown
             if (this.homeDataManager != null) {
                 this.homeDataManager.saveAllData();
@@ -115,17 +169,46 @@ public final class DMHomesPlugin extends JavaPlugin {
     private void initializeManagers() throws DMHomesException {
         try {
             this.configManager = new ConfigManager(this);
-            this.messageManager = new MessageManager(this.configManager);
+            this.messageManager = new MessageManager(this.configManager, this.metrics);
+            this.operationWatchdog = new OperationWatchdog(this);
             this.homeDataManager = new HomeDataManager(this);
             this.homeManager = new HomeManager(this);
             this.homeManager.initialize();
             this.teleportationManager = new TeleportationManager(this);
             this.homeCreationDialog = new HomeCreationDialog(this);
+            this.iconCatalog = new IconCatalog(this);
+            this.homeItemTemplate = new HomeItemTemplate(this);
+            this.actionRateLimiter = new ActionRateLimiter(this);
+            this.homeImporter = new HomeImporter(this);
+            this.homeExporter = new HomeExporter(this);
+            this.inactivePlayerPurge = new InactivePlayerPurge(this);
+            this.registerGauges();
+            this.prometheusExporter = new PrometheusExporter(this, this.metrics);
         } catch (final Exception exception) {
             throw new DMHomesException("Failed to initialize managers", exception);
         }
     }
 
+    /**
+     * Registers the gauges sampled from the managers
+     */
+    private void registerGauges() {
+        this.metrics.gauge("loaded_players", "Players with homes in memory",
+            this.homeManager::getLoadedPlayerCount);
+        this.metrics.gauge("loaded_homes", "Homes in memory across all players",
+            this.homeManager::getLoadedHomeCount);
+        this.metrics.gauge("gui_sessions", "Open plugin GUIs",
+            this.guiSessionRegistry::size);
+        this.metrics.gauge("dialog_sessions", "Open dialogs awaiting a click",
+            () -> this.homeCreationDialog.getSessionRegistry().size());
+        this.metrics.gauge("teleport_warmups", "Teleport warmups in progress",
+            this.teleportationManager::getActiveWarmupCount);
+        this.metrics.gauge("teleport_queue_depth", "Teleports waiting for admission",
+            () -> this.teleportationManager.getAdmissionQueue().getQueueDepth());
+        this.metrics.gauge("teleport_chunk_loads_in_flight", "Admitted teleports waiting for their chunk",
+            () -> this.teleportationManager.getAdmissionQueue().getChunkLoadsInFlight());
+    }
+
     /**
      * Registers all plugin commands
      */
@@ -177,6 +260,17 @@ public final class DMHomesPlugin extends JavaPlugin {
         } else {
             this.getLogger().info("Auto-save disabled (interval: " + autoSaveInterval + ")");
         }
+        
+        // Evict dialogs that were closed without a click
+        this.getServer().getScheduler().runTaskTimerAsynchronously(
+            this,
+            () -> this.homeCreationDialog.getSessionRegistry().evictExpired(),
+            20L * 60L,
+            20L * 60L
+        );
+        
+        this.prometheusExporter.reload();
+        this.inactivePlayerPurge.reload();
     }
 
     /**
@@ -187,6 +281,13 @@ public final class DMHomesPlugin extends JavaPlugin {
         try {
             this.configManager.reloadConfig();
             this.messageManager.reloadMessages();
+            this.operationWatchdog.reload();
+            this.homeCreationDialog.reload();
+            this.iconCatalog.reload();
+            this.homeItemTemplate.reload();
+            this.actionRateLimiter.reload();
+            this.prometheusExporter.reload();
+            this.inactivePlayerPurge.reload();
             this.homeDataManager.reloadData();
             this.getLogger().info("Plugin configuration reloaded successfully!");
         } catch (final Exception exception) {
@@ -194,6 +295,23 @@ public final class DMHomesPlugin extends JavaPlugin {
         }
     }
 
+    /**
+     * Estimates the heap retained by all subsystems
+     * Must be called from the main thread
+     * @return the memory report
+     */
+    public @NotNull MemoryUsage estimateMemoryUsage() {
+        final MemoryUsage usage = new MemoryUsage();
+        this.homeManager.accountMemory(usage);
+        this.homeDataManager.accountMemory(usage);
+        this.homeItemTemplate.accountMemory(usage);
+        this.guiSessionRegistry.accountMemory(usage);
+        this.homeCreationDialog.getSessionRegistry().accountMemory(usage);
+        this.actionRateLimiter.accountMemory(usage);
+        this.iconCatalog.accountMemory(usage);
+        return usage;
+    }
+
     /**
      * Gets the plugin instance safely
      * @return the plugin instance
@@ -2,9 +2,24 @@ package io.github.dmhomes.commands;
 
 import io.github.dmhomes.DMHomesPlugin;
 import io.github.dmhomes.data.Home;
+import io.github.dmhomes.data.HomeManager;
+import io.github.dmhomes.data.InactivePlayerPurge;
 import io.github.dmhomes.exceptions.DMHomesException;
+import io.github.dmhomes.gui.GuiRenderTimings;
+import io.github.dmhomes.metrics.Counter;
+import io.github.dmhomes.metrics.Gauge;
+import io.github.dmhomes.metrics.LatencyHistogram;
+import io.github.dmhomes.metrics.MemoryUsage;
+import io.github.dmhomes.metrics.MetricsRegistry;
+import io.github.dmhomes.migration.ExportFormat;
+import io.github.dmhomes.migration.HomeImportSource;
+import io.github.dmhomes.migration.HomeImporter;
+import io.github.dmhomes.migration.ImportJob;
+import io.github.dmhomes.teleportation.TeleportAdmissionQueue;
 import lombok.RequiredArgsConstructor;
 import net.kyori.adventure.text.Component;
+import org.bukkit.Location;
+import org.bukkit.World;
 import org.bukkit.command.Command;
 import org.bukkit.command.CommandExecutor;
 import org.bukkit.command.CommandSender;
@@ -13,11 +28,15 @@ import org.bukkit.entity.Player;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
+import java.nio.file.Path;
+import java.time.Duration;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Comparator;
 import java.util.List;
 import java.util.Objects;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 /**
  * Command executor for the main DM-Homes command
@@ -25,6 +44,10 @@ import java.util.stream.Collectors;
 @RequiredArgsConstructor
 public final class DMHomesCommandExecutor implements CommandExecutor, TabCompleter {
 
+    private static final int WORLD_LIST_PAGE_SIZE = 10;
+    private static final int NEAR_LIST_LIMIT = 20;
+    private static final int MAX_NEAR_RADIUS = 10_000;
+
     private final DMHomesPlugin plugin;
 
     @Override
@@ -49,6 +72,24 @@ public final class DMHomesCommandExecutor implements CommandExecutor, TabComplet
                 return this.handleList(sender);
             case "info":
                 return this.handleInfo(sender, args);
+            case "teleports":
+                return this.handleTeleports(sender);
+            case "gui":
+                return this.handleGuiTimings(sender);
+            case "metrics":
+                return this.handleMetrics(sender);
+            case "memory":
+                return this.handleMemory(sender, args);
+            case "import":
+                return this.handleImport(sender, args);
+            case "export":
+                return this.handleExport(sender, args);
+            case "purge":
+                return this.handlePurge(sender, args);
+            case "world":
+                return this.handleWorld(sender, args);
+            case "near":
+                return this.handleNear(sender, args);
             case "help":
             default:
                 this.sendHelp(sender);
@@ -152,6 +193,418 @@ public final class DMHomesCommandExecutor implements CommandExecutor, TabComplet
         return true;
     }
 
+    /**
+     * Handles the teleports subcommand
+     * @param sender the command sender
+     * @return true if handled
+     */
+    private boolean handleTeleports(final @NotNull CommandSender sender) {
+        if (!sender.hasPermission("dmhomes.admin.stats")) {
+            sender.sendMessage(this.plugin.getMessageManager().getMessage("error-no-permission"));
+            return true;
+        }
+
+        final TeleportAdmissionQueue queue = this.plugin.getTeleportationManager().getAdmissionQueue();
+
+        sender.sendMessage(Component.text("§6Teleport Admission:"));
+        sender.sendMessage(Component.text("§7Queue depth: §f" + queue.getQueueDepth()));
+        sender.sendMessage(Component.text("§7Chunk loads in flight: §f" + queue.getChunkLoadsInFlight()));
+        sender.sendMessage(Component.text("§7Admitted: §f" + queue.getTotalAdmitted() + " §7(queued: §f" + queue.getTotalQueued() + "§7)"));
+        sender.sendMessage(Component.text(String.format("§7Wait p50/p95/p99: §f%.1f / %.1f / %.1f ms",
+            queue.getWaitPercentileMillis(50),
+            queue.getWaitPercentileMillis(95),
+            queue.getWaitPercentileMillis(99))));
+
+        return true;
+    }
+
+    /**
+     * Handles the gui subcommand
+     * @param sender the command sender
+     * @return true if handled
+     */
+    private boolean handleGuiTimings(final @NotNull CommandSender sender) {
+        if (!sender.hasPermission("dmhomes.admin.stats")) {
+            sender.sendMessage(this.plugin.getMessageManager().getMessage("error-no-permission"));
+            return true;
+        }
+
+        final GuiRenderTimings timings = this.plugin.getGuiRenderTimings();
+
+        sender.sendMessage(Component.text("§6GUI Rendering §7(async: §f"
+            + this.plugin.getConfigManager().isAsyncGuiRendering() + "§7):"));
+        for (final GuiRenderTimings.Phase phase : GuiRenderTimings.Phase.values()) {
+            sender.sendMessage(Component.text(String.format("§7%s: §f%d §7runs, avg §f%.2f ms§7, max §f%.2f ms",
+                phase.name().toLowerCase(),
+                timings.getCount(phase),
+                timings.getAverageMillis(phase),
+                timings.getMaxMillis(phase))));
+        }
+
+        return true;
+    }
+
+    /**
+     * Handles the metrics subcommand
+     * @param sender the command sender
+     * @return true if handled
+     */
+    private boolean handleMetrics(final @NotNull CommandSender sender) {
+        if (!sender.hasPermission("dmhomes.admin.stats")) {
+            sender.sendMessage(this.plugin.getMessageManager().getMessage("error-no-permission"));
+            return true;
+        }
+
+        final MetricsRegistry metrics = this.plugin.getMetrics();
+
+        sender.sendMessage(Component.text("§6Counters:"));
+        for (final Counter counter : metrics.getCounters()) {
+            sender.sendMessage(Component.text("§7" + counter.getName() + ": §f" + counter.get()));
+        }
+
+        sender.sendMessage(Component.text("§6Gauges:"));
+        for (final Gauge gauge : metrics.getGauges()) {
+            sender.sendMessage(Component.text(String.format("§7%s: §f%.0f", gauge.name(), gauge.sample())));
+        }
+
+        sender.sendMessage(Component.text("§6Latencies §7(count, p50 / p95 / p99 / max ms):"));
+        for (final LatencyHistogram histogram : metrics.getHistograms()) {
+            sender.sendMessage(Component.text(String.format("§7%s: §f%d§7, §f%.2f / %.2f / %.2f / %.2f",
+                histogram.getName(),
+                histogram.getCount(),
+                histogram.getQuantileMillis(0.50),
+                histogram.getQuantileMillis(0.95),
+                histogram.getQuantileMillis(0.99),
+                histogram.getMaxMillis())));
+        }
+
+        return true;
+    }
+
+    /**
+     * Handles the memory subcommand
+     * @param sender the command sender
+     * @param args the command arguments, optionally the number of players to list
+     * @return true if handled
+     */
+    private boolean handleMemory(final @NotNull CommandSender sender, final @NotNull String[] args) {
+        if (!sender.hasPermission("dmhomes.admin.stats")) {
+            sender.sendMessage(this.plugin.getMessageManager().getMessage("error-no-permission"));
+            return true;
+        }
+
+        int limit = 10;
+        if (args.length >= 2) {
+            try {
+                limit = Math.max(1, Math.min(50, Integer.parseInt(args[1])));
+            } catch (final NumberFormatException exception) {
+                sender.sendMessage(Component.text("§cUsage: /dmhomes memory [top]"));
+                return true;
+            }
+        }
+
+        final MemoryUsage usage = this.plugin.estimateMemoryUsage();
+
+        sender.sendMessage(Component.text("§6Estimated Memory: §f" + this.formatBytes(usage.getTotal())
+            + " §7(" + usage.getPlayerCount() + " players)"));
+        for (final MemoryUsage.Subsystem subsystem : MemoryUsage.Subsystem.values()) {
+            sender.sendMessage(Component.text("§7" + subsystem.getDisplayName() + ": §f"
+                + this.formatBytes(usage.getTotal(subsystem))));
+        }
+
+        sender.sendMessage(Component.text("§6Top " + limit + " players:"));
+        for (final MemoryUsage.PlayerUsage player : usage.getTopPlayers(limit)) {
+            final String name = this.plugin.getServer().getOfflinePlayer(player.playerUuid()).getName();
+            sender.sendMessage(Component.text(String.format("§e%s§7: §f%s §7(homes %s, icons %s, items %s, gui %s)",
+                name != null ? name : player.playerUuid().toString(),
+                this.formatBytes(player.getTotal()),
+                this.formatBytes(player.get(MemoryUsage.Subsystem.HOMES)),
+                this.formatBytes(player.get(MemoryUsage.Subsystem.ICONS)),
+                this.formatBytes(player.get(MemoryUsage.Subsystem.ITEM_CACHE)),
+                this.formatBytes(player.get(MemoryUsage.Subsystem.GUI_SESSIONS)))));
+        }
+
+        return true;
+    }
+
+    /**
+     * Handles the import subcommand
+     * @param sender the command sender
+     * @param args the command arguments, the source and optionally "overwrite"
+     * @return true if handled
+     */
+    private boolean handleImport(final @NotNull CommandSender sender, final @NotNull String[] args) {
+        if (!sender.hasPermission("dmhomes.admin.import")) {
+            sender.sendMessage(this.plugin.getMessageManager().getMessage("error-no-permission"));
+            return true;
+        }
+
+        final HomeImporter importer = this.plugin.getHomeImporter();
+        final ImportJob activeJob = importer.getActiveJob();
+        if (activeJob != null) {
+            sender.sendMessage(Component.text("§cAn import from " + activeJob.getSource().getName() + " is already running."));
+            return true;
+        }
+
+        final HomeImportSource source = args.length >= 2 ? importer.getSource(args[1]) : null;
+        if (source == null) {
+            sender.sendMessage(Component.text("§cUsage: /dmhomes import <" + importer.getSources().stream()
+                .map(HomeImportSource::getName)
+                .collect(Collectors.joining("|")) + "> [overwrite]"));
+            return true;
+        }
+
+        final boolean overwrite = args.length >= 3 && args[2].equalsIgnoreCase("overwrite");
+        final ImportJob job = importer.start(source, overwrite, sender);
+        if (job == null) {
+            sender.sendMessage(Component.text("§cNo " + source.getName() + " data found in plugins/" + source.getDataDirectory() + "."));
+            return true;
+        }
+
+        sender.sendMessage(Component.text("§6Importing homes from §e" + source.getName()
+            + (overwrite ? " §7(overwriting homes with the same name)" : " §7(keeping homes with the same name)")));
+        return true;
+    }
+
+    /**
+     * Handles the export subcommand
+     * @param sender the command sender
+     * @param args the command arguments, the format
+     * @return true if handled
+     */
+    private boolean handleExport(final @NotNull CommandSender sender, final @NotNull String[] args) {
+        if (!sender.hasPermission("dmhomes.admin.export")) {
+            sender.sendMessage(this.plugin.getMessageManager().getMessage("error-no-permission"));
+            return true;
+        }
+
+        final ExportFormat format = args.length >= 2 ? ExportFormat.fromName(args[1]) : null;
+        if (format == null) {
+            sender.sendMessage(Component.text("§cUsage: /dmhomes export <csv|jsonl>"));
+            return true;
+        }
+
+        final Path target = this.plugin.getHomeExporter().start(format, sender);
+        if (target == null) {
+            sender.sendMessage(Component.text("§cAn export is already running."));
+            return true;
+        }
+
+        sender.sendMessage(Component.text("§6Exporting homes to §e"
+            + this.plugin.getDataFolder().toPath().relativize(target) + "§6..."));
+        return true;
+    }
+
+    /**
+     * Handles the purge subcommand
+     * @param sender the command sender
+     * @param args the command arguments, "--inactive <age>" and optionally "--dry-run", or "cancel"
+     * @return true if handled
+     */
+    private boolean handlePurge(final @NotNull CommandSender sender, final @NotNull String[] args) {
+        if (!sender.hasPermission("dmhomes.admin.purge")) {
+            sender.sendMessage(this.plugin.getMessageManager().getMessage("error-no-permission"));
+            return true;
+        }
+
+        final InactivePlayerPurge purge = this.plugin.getInactivePlayerPurge();
+        if (args.length == 2 && args[1].equalsIgnoreCase("cancel")) {
+            sender.sendMessage(Component.text(purge.cancel() ? "§ePurge will stop after the current player." : "§cNo purge is running."));
+            return true;
+        }
+
+        Duration inactiveFor = null;
+        boolean dryRun = false;
+        for (int i = 1; i < args.length; i++) {
+            if (args[i].equalsIgnoreCase("--dry-run")) {
+                dryRun = true;
+            } else if (args[i].equalsIgnoreCase("--inactive") && i + 1 < args.length) {
+                inactiveFor = this.parseAge(args[++i]);
+            }
+        }
+
+        if (inactiveFor == null) {
+            sender.sendMessage(Component.text("§cUsage: /dmhomes purge --inactive <days>d [--dry-run] §7or §c/dmhomes purge cancel"));
+            return true;
+        }
+
+        if (!purge.start(inactiveFor, dryRun, sender)) {
+            sender.sendMessage(Component.text("§cA purge is already running."));
+            return true;
+        }
+
+        sender.sendMessage(Component.text("§6" + (dryRun ? "Checking" : "Purging") + " players inactive for §e"
+            + inactiveFor.toDays() + " §6days..."));
+        return true;
+    }
+
+    /**
+     * Handles the world subcommand
+     * @param sender the command sender
+     * @param args the command arguments, the world, the action and its arguments
+     * @return true if handled
+     */
+    private boolean handleWorld(final @NotNull CommandSender sender, final @NotNull String[] args) {
+        if (!sender.hasPermission("dmhomes.admin.world")) {
+            sender.sendMessage(this.plugin.getMessageManager().getMessage("error-no-permission"));
+            return true;
+        }
+
+        if (args.length < 3) {
+            sender.sendMessage(Component.text("§cUsage: /dmhomes world <world> <list [page]|purge confirm|relocate [target]>"));
+            return true;
+        }
+
+        final World world = this.plugin.getServer().getWorld(args[1]);
+        if (world == null) {
+            sender.sendMessage(Component.text("§cWorld " + args[1] + " is not loaded."));
+            return true;
+        }
+
+        final HomeManager homeManager = this.plugin.getHomeManager();
+        switch (args[2].toLowerCase()) {
+            case "list" -> {
+                final List<Home> homes = homeManager.getHomesInWorld(world);
+                final int pages = Math.max(1, (homes.size() + WORLD_LIST_PAGE_SIZE - 1) / WORLD_LIST_PAGE_SIZE);
+                int page = 1;
+                if (args.length >= 4) {
+                    try {
+                        page = Math.max(1, Math.min(pages, Integer.parseInt(args[3])));
+                    } catch (final NumberFormatException exception) {
+                        sender.sendMessage(Component.text("§cUsage: /dmhomes world <world> list [page]"));
+                        return true;
+                    }
+                }
+
+                homes.sort(Comparator.comparing(Home::getPlayerUuid).thenComparing(Home::getName));
+                sender.sendMessage(Component.text("§6Homes in " + world.getName() + ": §f" + homes.size()
+                    + " §7(page " + page + "/" + pages + ")"));
+                for (final Home home : homes.subList((page - 1) * WORLD_LIST_PAGE_SIZE,
+                        Math.min(homes.size(), page * WORLD_LIST_PAGE_SIZE))) {
+                    final String owner = this.plugin.getServer().getOfflinePlayer(home.getPlayerUuid()).getName();
+                    sender.sendMessage(Component.text("§e" + (owner != null ? owner : home.getPlayerUuid().toString())
+                        + "§7: §f" + home.getName() + " §7at §f"
+                        + home.getBlockX() + ", " + home.getBlockY() + ", " + home.getBlockZ()));
+                }
+            }
+            case "purge" -> {
+                if (args.length < 4 || !args[3].equalsIgnoreCase("confirm")) {
+                    sender.sendMessage(Component.text("§eThis deletes all §f" + homeManager.getWorldIndex().count(world.getUID())
+                        + " §ehomes in " + world.getName() + ". Run §f/dmhomes world " + world.getName() + " purge confirm §eto proceed."));
+                    return true;
+                }
+
+                final int deleted = homeManager.deleteHomesInWorld(world);
+                sender.sendMessage(Component.text("§aDeleted §f" + deleted + " §ahomes in " + world.getName() + "."));
+            }
+            case "relocate" -> {
+                final World target = args.length >= 4
+                    ? this.plugin.getServer().getWorld(args[3])
+                    : this.plugin.getServer().getWorlds().get(0);
+                if (target == null || target.equals(world)) {
+                    sender.sendMessage(Component.text("§cUsage: /dmhomes world <world> relocate [target], the target must be another loaded world"));
+                    return true;
+                }
+
+                final int moved = homeManager.relocateHomesInWorld(world, target.getSpawnLocation());
+                sender.sendMessage(Component.text("§aMoved §f" + moved + " §ahomes from " + world.getName()
+                    + " to the spawn of " + target.getName() + "."));
+            }
+            default -> sender.sendMessage(Component.text("§cUsage: /dmhomes world <world> <list [page]|purge confirm|relocate [target]>"));
+        }
+
+        return true;
+    }
+
+    /**
+     * Handles the near subcommand
+     * @param sender the command sender
+     * @param args the command arguments, the radius
+     * @return true if handled
+     */
+    private boolean handleNear(final @NotNull CommandSender sender, final @NotNull String[] args) {
+        if (!sender.hasPermission("dmhomes.admin.near")) {
+            sender.sendMessage(this.plugin.getMessageManager().getMessage("error-no-permission"));
+            return true;
+        }
+
+        if (!(sender instanceof Player player)) {
+            sender.sendMessage(Component.text("This command can only be used by players."));
+            return true;
+        }
+
+        final double radius;
+        try {
+            radius = args.length >= 2 ? Double.parseDouble(args[1]) : 64.0;
+        } catch (final NumberFormatException exception) {
+            sender.sendMessage(Component.text("§cUsage: /dmhomes near [radius]"));
+            return true;
+        }
+        if (radius < 1.0 || radius > MAX_NEAR_RADIUS) {
+            sender.sendMessage(Component.text("§cThe radius must be between 1 and " + MAX_NEAR_RADIUS + " blocks."));
+            return true;
+        }
+
+        final Location center = player.getLocation();
+        final List<Home> homes = this.plugin.getHomeManager().getHomesNear(center, radius);
+
+        sender.sendMessage(Component.text("§6Homes within " + (int) radius + " blocks: §f" + homes.size()));
+        for (final Home home : homes.subList(0, Math.min(homes.size(), NEAR_LIST_LIMIT))) {
+            final Location location = home.getLocation();
+            final String owner = this.plugin.getServer().getOfflinePlayer(home.getPlayerUuid()).getName();
+            sender.sendMessage(Component.text(String.format("§e%s§7: §f%s §7at §f%d, %d, %d §7(%.0f blocks)",
+                owner != null ? owner : home.getPlayerUuid().toString(),
+                home.getName(),
+                home.getBlockX(), home.getBlockY(), home.getBlockZ(),
+                Math.hypot(location.getX() - center.getX(), location.getZ() - center.getZ()))));
+        }
+        if (homes.size() > NEAR_LIST_LIMIT) {
+            sender.sendMessage(Component.text("§7... and " + (homes.size() - NEAR_LIST_LIMIT) + " more"));
+        }
+
+        return true;
+    }
+
+    /**
+     * Parses an age such as "180d", "26w" or "180" (days)
+     * @param value the age
+     * @return the duration or null if invalid
+     */
+    private @Nullable Duration parseAge(final @NotNull String value) {
+        final String lower = value.toLowerCase();
+        final char unit = lower.isEmpty() ? ' ' : lower.charAt(lower.length() - 1);
+        final String number = Character.isLetter(unit) ? lower.substring(0, lower.length() - 1) : lower;
+
+        try {
+            final long amount = Long.parseLong(number);
+            if (amount <= 0L) {
+                return null;
+            }
+            return switch (unit) {
+                case 'w' -> Duration.ofDays(amount * 7L);
+                case 'd' -> Duration.ofDays(amount);
+                default -> Character.isDigit(unit) ? Duration.ofDays(amount) : null;
+            };
+        } catch (final NumberFormatException exception) {
+            return null;
+        }
+    }
+
+    /**
+     * Formats a byte count for display
+     * @param bytes the byte count
+     * @return the formatted size
+     */
+    private @NotNull String formatBytes(final long bytes) {
+        if (bytes < 1024L) {
+            return bytes + " B";
+        }
+        if (bytes < 1024L * 1024L) {
+            return String.format("%.1f KB", bytes / 1024.0);
+        }
+        return String.format("%.1f MB", bytes / (1024.0 * 1024.0));
+    }
+
     /**
      * Sends help information to the sender
      * @param sender the command sender
@@ -165,6 +618,33 @@ public final class DMHomesCommandExecutor implements CommandExecutor, TabComplet
         if (sender.hasPermission("dmhomes.admin.reload")) {
             sender.sendMessage(Component.text("§e/dmhomes reload §7- Reload plugin configuration"));
         }
+        
+        if (sender.hasPermission("dmhomes.admin.stats")) {
+            sender.sendMessage(Component.text("§e/dmhomes teleports §7- Show teleport queue statistics"));
+            sender.sendMessage(Component.text("§e/dmhomes gui §7- Show GUI rendering timings"));
+            sender.sendMessage(Component.text("§e/dmhomes metrics §7- Show all plugin metrics"));
+            sender.sendMessage(Component.text("§e/dmhomes memory [top] §7- Show estimated memory use"));
+        }
+        
+        if (sender.hasPermission("dmhomes.admin.import")) {
+            sender.sendMessage(Component.text("§e/dmhomes import <source> [overwrite] §7- Import homes from another plugin"));
+        }
+        
+        if (sender.hasPermission("dmhomes.admin.export")) {
+            sender.sendMessage(Component.text("§e/dmhomes export <csv|jsonl> §7- Export all homes to a gzip file"));
+        }
+        
+        if (sender.hasPermission("dmhomes.admin.purge")) {
+            sender.sendMessage(Component.text("§e/dmhomes purge --inactive <days>d [--dry-run] §7- Remove homes of inactive players"));
+        }
+        
+        if (sender.hasPermission("dmhomes.admin.world")) {
+            sender.sendMessage(Component.text("§e/dmhomes world <world> <list|purge|relocate> §7- Manage all homes in a world"));
+        }
+        
+        if (sender.hasPermission("dmhomes.admin.near")) {
+            sender.sendMessage(Component.text("§e/dmhomes near [radius] §7- List homes near you"));
+        }
     }
 
     @Override
@@ -177,6 +657,27 @@ public final class DMHomesCommandExecutor implements CommandExecutor, TabComplet
             if (sender.hasPermission("dmhomes.admin.reload")) {
                 subCommands.add("reload");
             }
+            if (sender.hasPermission("dmhomes.admin.stats")) {
+                subCommands.add("teleports");
+                subCommands.add("gui");
+                subCommands.add("metrics");
+                subCommands.add("memory");
+            }
+            if (sender.hasPermission("dmhomes.admin.import")) {
+                subCommands.add("import");
+            }
+            if (sender.hasPermission("dmhomes.admin.export")) {
+                subCommands.add("export");
+            }
+            if (sender.hasPermission("dmhomes.admin.purge")) {
+                subCommands.add("purge");
+            }
+            if (sender.hasPermission("dmhomes.admin.world")) {
+                subCommands.add("world");
+            }
+            if (sender.hasPermission("dmhomes.admin.near")) {
+                subCommands.add("near");
+            }
             
             return subCommands.stream()
                 .filter(sub -> sub.toLowerCase().startsWith(args[0].toLowerCase()))
@@ -191,6 +692,50 @@ public final class DMHomesCommandExecutor implements CommandExecutor, TabComplet
                 .collect(Collectors.toList());
         }
 
+        if (args.length == 2 && args[0].equalsIgnoreCase("import") && sender.hasPermission("dmhomes.admin.import")) {
+            return this.plugin.getHomeImporter().getSources().stream()
+                .map(HomeImportSource::getName)
+                .filter(name -> name.startsWith(args[1].toLowerCase()))
+                .collect(Collectors.toList());
+        }
+
+        if (args[0].equalsIgnoreCase("world") && sender.hasPermission("dmhomes.admin.world")
+                && (args.length == 2 || (args.length == 4 && args[2].equalsIgnoreCase("relocate")))) {
+            return this.plugin.getServer().getWorlds().stream()
+                .map(World::getName)
+                .filter(name -> name.toLowerCase().startsWith(args[args.length - 1].toLowerCase()))
+                .collect(Collectors.toList());
+        }
+
+        if (args.length == 3 && args[0].equalsIgnoreCase("world") && sender.hasPermission("dmhomes.admin.world")) {
+            return Stream.of("list", "purge", "relocate")
+                .filter(action -> action.startsWith(args[2].toLowerCase()))
+                .collect(Collectors.toList());
+        }
+
+        if (args.length >= 2 && args[0].equalsIgnoreCase("purge") && sender.hasPermission("dmhomes.admin.purge")) {
+            final List<String> options = args.length == 2
+                ? new ArrayList<>(Arrays.asList("--inactive", "--dry-run", "cancel"))
+                : new ArrayList<>(Arrays.asList("--inactive", "--dry-run"));
+            if (args[args.length - 2].equalsIgnoreCase("--inactive")) {
+                return new ArrayList<>(Arrays.asList("90d", "180d", "365d"));
+            }
+            return options.stream()
+                .filter(option -> option.startsWith(args[args.length - 1].toLowerCase()))
+                .collect(Collectors.toList());
+        }
+
+        if (args.length == 2 && args[0].equalsIgnoreCase("export") && sender.hasPermission("dmhomes.admin.export")) {
+            return Arrays.stream(ExportFormat.values())
+                .map(ExportFormat::getExtension)
+                .filter(name -> name.startsWith(args[1].toLowerCase()))
+                .collect(Collectors.toList());
+        }
+
+        if (args.length == 3 && args[0].equalsIgnoreCase("import") && sender.hasPermission("dmhomes.admin.import")) {
+            return "overwrite".startsWith(args[2].toLowerCase()) ? List.of("overwrite") : new ArrayList<>();
+        }
+
         return new ArrayList<>();
     }
 }
\ No newline at end of file
@@ -2,6 +2,7 @@ package io.github.dmhomes.commands;
 
 import io.github.dmhomes.DMHomesPlugin;
 import io.github.dmhomes.gui.MainHomesGUI;
+import io.github.dmhomes.utils.ActionRateLimiter;
 import lombok.RequiredArgsConstructor;
 import org.bukkit.command.Command;
 import org.bukkit.command.CommandExecutor;
@@ -47,7 +48,13 @@ public final class HomeCommandExecutor implements CommandExecutor, TabCompleter
             return true;
         }
         
+        // Drop repeated commands, e.g. from a macro or command spam
+        if (!this.plugin.getActionRateLimiter().tryAcquire(player.getUniqueId(), ActionRateLimiter.Action.OPEN_MENU)) {
+            return true;
+        }
+        
         // Open the main homes GUI for all home-related commands
+        final long startNanos = System.nanoTime();
         try {
             final MainHomesGUI gui = new MainHomesGUI(this.plugin, player);
             gui.open();
@@ -55,6 +62,8 @@ public final class HomeCommandExecutor implements CommandExecutor, TabCompleter
             this.plugin.getLogger().severe("Failed to open homes GUI for player " + player.getName() + ": " + exception.getMessage());
             player.sendMessage(this.plugin.getMessageManager()
                 .getMessage("error-generic", "error", "Failed to open homes GUI"));
+        } finally {
+            this.plugin.getOperationWatchdog().recordOperation("open-menu", player.getName(), startNanos);
         }
         
         return true;
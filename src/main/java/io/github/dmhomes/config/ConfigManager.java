@@ -20,6 +20,10 @@ public final class ConfigManager {
     
     @Getter
     private FileConfiguration config;
+    
+    // Incremented on every successful reload, lets caches detect stale configuration
+    @Getter
+    private volatile int generation;
 
     /**
      * Creates a new ConfigManager instance
@@ -41,6 +45,7 @@ public final class ConfigManager {
             this.plugin.reloadConfig();
             this.config = this.plugin.getConfig();
             this.validateConfig();
+            this.generation++;
         } catch (final Exception exception) {
             throw new DMHomesException("Failed to reload configuration", exception);
         }
@@ -149,6 +154,44 @@ public final class ConfigManager {
         return guiSection.getConfigurationSection("items." + itemName);
     }
 
+    /**
+     * Gets a list of slots from a GUI layout section
+     * @param guiName the GUI name
+     * @param layoutKey the layout key
+     * @param defaultSlots the slots to use if none are configured
+     * @return the configured slots
+     */
+    public int @NotNull [] getLayoutSlots(final @NotNull String guiName, final @NotNull String layoutKey,
+                                         final int @NotNull [] defaultSlots) {
+        final ConfigurationSection guiSection = this.getGuiSection(guiName);
+        if (guiSection == null || !guiSection.isList("layout." + layoutKey)) {
+            return defaultSlots;
+        }
+        
+        final List<Integer> slots = guiSection.getIntegerList("layout." + layoutKey);
+        return slots.isEmpty() ? defaultSlots : slots.stream().mapToInt(Integer::intValue).toArray();
+    }
+
+    /**
+     * Gets a single slot from a GUI layout section
+     * @param guiName the GUI name
+     * @param layoutKey the layout key
+     * @param defaultSlot the slot to use if none is configured
+     * @return the configured slot
+     */
+    public int getLayoutSlot(final @NotNull String guiName, final @NotNull String layoutKey, final int defaultSlot) {
+        final ConfigurationSection guiSection = this.getGuiSection(guiName);
+        return guiSection != null ? guiSection.getInt("layout." + layoutKey, defaultSlot) : defaultSlot;
+    }
+
+    /**
+     * Checks if GUI slot models are prepared off the main thread
+     * @return true if async GUI rendering is enabled
+     */
+    public boolean isAsyncGuiRendering() {
+        return this.config.getBoolean("guis.async-render", false);
+    }
+
     /**
      * Gets the list of available icons from the configuration
      * @return the list of available icon materials
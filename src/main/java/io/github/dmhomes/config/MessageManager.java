@@ -1,6 +1,7 @@
 package io.github.dmhomes.config;
 
-import lombok.RequiredArgsConstructor;
+import io.github.dmhomes.metrics.LatencyHistogram;
+import io.github.dmhomes.metrics.MetricsRegistry;
 import net.kyori.adventure.text.Component;
 import net.kyori.adventure.text.minimessage.MiniMessage;
 import org.jetbrains.annotations.NotNull;
@@ -10,11 +11,21 @@ import java.util.Objects;
 /**
  * Manages plugin messages and provides MiniMessage formatting
  */
-@RequiredArgsConstructor
 public final class MessageManager {
 
     private final ConfigManager configManager;
     private final MiniMessage miniMessage = MiniMessage.miniMessage();
+    private final LatencyHistogram renderTimings;
+
+    /**
+     * Creates a new MessageManager instance
+     * @param configManager the configuration manager
+     * @param metrics the registry to record message render times in
+     */
+    public MessageManager(final @NotNull ConfigManager configManager, final @NotNull MetricsRegistry metrics) {
+        this.configManager = Objects.requireNonNull(configManager, "Config manager cannot be null");
+        this.renderTimings = metrics.histogram("message_render_seconds", "Time to render a message with MiniMessage");
+    }
 
     /**
      * Reloads all messages from configuration
@@ -32,6 +43,7 @@ public final class MessageManager {
     public @NotNull Component getMessage(final @NotNull String messageKey, final @NotNull String... placeholders) {
         Objects.requireNonNull(messageKey, "Message key cannot be null");
         
+        final long startNanos = System.nanoTime();
         String message = this.configManager.getMessage(messageKey);
         
         if (message == null) {
@@ -48,7 +60,9 @@ public final class MessageManager {
             }
         }
         
-        return this.miniMessage.deserialize(message);
+        final Component component = this.miniMessage.deserialize(message);
+        this.renderTimings.recordSince(startNanos);
+        return component;
     }
 
     /**
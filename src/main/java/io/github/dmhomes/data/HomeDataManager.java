@@ -2,6 +2,8 @@ package io.github.dmhomes.data;
 
 import io.github.dmhomes.DMHomesPlugin;
 import io.github.dmhomes.exceptions.DMHomesException;
+import io.github.dmhomes.metrics.MemoryEstimates;
+import io.github.dmhomes.metrics.MemoryUsage;
 import lombok.Getter;
 import org.bukkit.configuration.file.YamlConfiguration;
 import org.bukkit.entity.Player;
@@ -10,6 +12,7 @@ import org.jetbrains.annotations.Nullable;
 
 import java.io.File;
 import java.io.IOException;
+import java.util.Collection;
 import java.util.Map;
 import java.util.Objects;
 import java.util.UUID;
@@ -84,6 +87,7 @@ public final class HomeDataManager {
             return; // No data to save or data hasn't changed
         }
         
+        final long startNanos = System.nanoTime();
         try {
             final File playerFile = this.getPlayerDataFile(playerUuid);
             final YamlConfiguration config = new YamlConfiguration();
@@ -93,11 +97,17 @@ public final class HomeDataManager {
                 config.createSection("home-icons", playerData.getHomeIcons());
             }
             
+            if (playerData.getLastSeen() > 0L) {
+                config.set("last-seen", playerData.getLastSeen());
+            }
+            
             config.save(playerFile);
             playerData.markAsSaved();
             
         } catch (final IOException exception) {
             throw new DMHomesException("Failed to save player data for " + playerUuid, exception);
+        } finally {
+            this.plugin.getOperationWatchdog().recordIo("player-data-save", playerUuid, startNanos);
         }
     }
 
@@ -115,6 +125,7 @@ public final class HomeDataManager {
             return playerData; // Return empty data for new players
         }
         
+        final long startNanos = System.nanoTime();
         try {
             final YamlConfiguration config = YamlConfiguration.loadConfiguration(playerFile);
             
@@ -128,11 +139,67 @@ public final class HomeDataManager {
                 }
             }
             
+            playerData.setLastSeen(config.getLong("last-seen", 0L));
             playerData.markAsSaved(); // Data loaded from disk is not modified
             return playerData;
             
         } catch (final Exception exception) {
             throw new DMHomesException("Failed to load player data for " + playerUuid, exception);
+        } finally {
+            this.plugin.getOperationWatchdog().recordIo("player-data-load", playerUuid, startNanos);
+        }
+    }
+
+    /**
+     * Gets the stored last-seen stamp of a player without loading them into the cache
+     * Safe to call off the main thread
+     * @param playerUuid the player's UUID
+     * @return the timestamp in epoch milliseconds, 0 if none was recorded
+     */
+    public long getStoredLastSeen(final @NotNull UUID playerUuid) {
+        final PlayerHomeData cached = this.playerDataCache.get(playerUuid);
+        if (cached != null) {
+            return cached.getLastSeen();
+        }
+        
+        final File playerFile = this.getPlayerDataFile(playerUuid);
+        if (!playerFile.exists()) {
+            return 0L;
+        }
+        return YamlConfiguration.loadConfiguration(playerFile).getLong("last-seen", 0L);
+    }
+
+    /**
+     * Stores a first-seen stamp for a player without a last-seen stamp, without loading them into the cache
+     * Safe to call off the main thread
+     * @param playerUuid the player's UUID
+     * @param timestamp the timestamp in epoch milliseconds
+     */
+    public void stampFirstSeen(final @NotNull UUID playerUuid, final long timestamp) {
+        if (this.playerDataCache.containsKey(playerUuid)) {
+            this.plugin.getServer().getScheduler().runTask(this.plugin, () -> {
+                final PlayerHomeData cached = this.playerDataCache.get(playerUuid);
+                if (cached != null && cached.getLastSeen() == 0L) {
+                    cached.markSeen(timestamp);
+                }
+            });
+            return;
+        }
+        
+        final File playerFile = this.getPlayerDataFile(playerUuid);
+        final long startNanos = System.nanoTime();
+        try {
+            final YamlConfiguration config = playerFile.exists()
+                ? YamlConfiguration.loadConfiguration(playerFile) : new YamlConfiguration();
+            if (config.getLong("last-seen", 0L) == 0L) {
+                config.set("last-seen", timestamp);
+                config.save(playerFile);
+            }
+        } catch (final IOException exception) {
+            this.plugin.getLogger().log(Level.WARNING, 
+                "Failed to store first-seen stamp of player " + playerUuid, exception);
+        } finally {
+            this.plugin.getOperationWatchdog().recordIo("player-data-save", playerUuid, startNanos);
         }
     }
 
@@ -150,6 +217,7 @@ public final class HomeDataManager {
      */
     public void saveAllData() {
         this.plugin.getLogger().info("Saving all player data...");
+        final long startNanos = System.nanoTime();
         int savedCount = 0;
         int errorCount = 0;
         
@@ -166,6 +234,52 @@ public final class HomeDataManager {
         
         this.plugin.getLogger().info(String.format(
             "Player data save complete: %d saved, %d errors", savedCount, errorCount));
+        this.plugin.getOperationWatchdog().recordOperation("save-all-data", null, startNanos);
+    }
+
+    /**
+     * Adds the estimated heap used by the cached player data to a memory report
+     * @param usage the report to add to
+     */
+    public void accountMemory(final @NotNull MemoryUsage usage) {
+        for (final Map.Entry<UUID, PlayerHomeData> entry : this.playerDataCache.entrySet()) {
+            usage.add(MemoryUsage.Subsystem.ICONS, entry.getKey(), this.estimateRetainedBytes(entry.getValue()));
+        }
+    }
+
+    /**
+     * Estimates the heap retained by one player's cached data
+     * @param playerData the player's data
+     * @return the estimated bytes
+     */
+    private long estimateRetainedBytes(final @NotNull PlayerHomeData playerData) {
+        long bytes = MemoryEstimates.MAP_ENTRY + MemoryEstimates.UUID
+            + MemoryEstimates.align(MemoryEstimates.HEADER + 2 * MemoryEstimates.REFERENCE + 9L)
+            + MemoryEstimates.MAP;
+        for (final Map.Entry<String, String> icon : playerData.getHomeIcons().entrySet()) {
+            bytes += MemoryEstimates.MAP_ENTRY
+                + MemoryEstimates.string(icon.getKey())
+                + MemoryEstimates.string(icon.getValue());
+        }
+        return bytes;
+    }
+
+    /**
+     * Removes a player from the cache without saving, used when their data file is deleted
+     * @param playerUuid the player's UUID
+     * @return the estimated heap the cached data retained, 0 if it was not cached
+     */
+    public long discardPlayer(final @NotNull UUID playerUuid) {
+        final PlayerHomeData playerData = this.playerDataCache.remove(playerUuid);
+        return playerData != null ? this.estimateRetainedBytes(playerData) : 0L;
+    }
+
+    /**
+     * Records the current time as a player's last-seen stamp, saved with their data
+     * @param playerUuid the player's UUID
+     */
+    public void markSeen(final @NotNull UUID playerUuid) {
+        this.getPlayerData(playerUuid).markSeen(System.currentTimeMillis());
     }
 
     /**
@@ -220,6 +334,7 @@ public final class HomeDataManager {
     public void setHomeIcon(final @NotNull UUID playerUuid, final @NotNull String homeName, 
                            final @NotNull String iconMaterial) {
         this.getPlayerData(playerUuid).setHomeIcon(homeName, iconMaterial);
+        this.plugin.getHomeManager().markHomesChanged(playerUuid);
     }
 
     /**
@@ -232,6 +347,81 @@ public final class HomeDataManager {
         return this.getPlayerData(playerUuid).removeHomeIcon(homeName);
     }
 
+    /**
+     * Removes a player's custom icon for a home only if the player's data is already cached
+     * Never loads the player from disk
+     * @param playerUuid the player's UUID
+     * @param homeName the home name
+     * @return true if the player was cached and the icon handled in memory, false if the file must be updated instead
+     */
+    public boolean removeCachedHomeIcon(final @NotNull UUID playerUuid, final @NotNull String homeName) {
+        final PlayerHomeData playerData = this.playerDataCache.get(playerUuid);
+        if (playerData == null) {
+            return false;
+        }
+        
+        playerData.removeHomeIcon(homeName);
+        return true;
+    }
+
+    /**
+     * Removes custom icons from a player's data file without loading the player into the cache
+     * Runs off the main thread; if the player was loaded in the meantime, the icons are removed from memory instead
+     * @param playerUuid the player's UUID
+     * @param homeNames the home names whose icons to remove
+     */
+    public void removeStoredHomeIcons(final @NotNull UUID playerUuid, final @NotNull Collection<String> homeNames) {
+        if (this.playerDataCache.containsKey(playerUuid)) {
+            this.removeCachedHomeIconsLater(playerUuid, homeNames);
+            return;
+        }
+        
+        final File playerFile = this.getPlayerDataFile(playerUuid);
+        if (!playerFile.exists()) {
+            return;
+        }
+        
+        final long startNanos = System.nanoTime();
+        try {
+            final YamlConfiguration config = YamlConfiguration.loadConfiguration(playerFile);
+            boolean changed = false;
+            for (final String homeName : homeNames) {
+                final String path = "home-icons." + homeName.toLowerCase();
+                if (config.contains(path)) {
+                    config.set(path, null);
+                    changed = true;
+                }
+            }
+            
+            if (changed) {
+                config.save(playerFile);
+            }
+        } catch (final IOException exception) {
+            this.plugin.getLogger().log(Level.WARNING, 
+                "Failed to remove icons from data file of player " + playerUuid, exception);
+        } finally {
+            this.plugin.getOperationWatchdog().recordIo("player-data-save", playerUuid, startNanos);
+        }
+        
+        // Loaded from the old file while it was being rewritten
+        if (this.playerDataCache.containsKey(playerUuid)) {
+            this.removeCachedHomeIconsLater(playerUuid, homeNames);
+        }
+    }
+
+    /**
+     * Removes custom icons from a cached player's data on the main thread
+     * @param playerUuid the player's UUID
+     * @param homeNames the home names whose icons to remove
+     */
+    private void removeCachedHomeIconsLater(final @NotNull UUID playerUuid, final @NotNull Collection<String> homeNames) {
+        this.plugin.getServer().getScheduler().runTask(this.plugin, () -> {
+            for (final String homeName : homeNames) {
+                this.removeCachedHomeIcon(playerUuid, homeName);
+            }
+        });
+    }
+
     /**
      * Renames a home's icon mapping
      * @param playerUuid the player's UUID
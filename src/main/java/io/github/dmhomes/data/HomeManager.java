@@ -2,8 +2,15 @@ package io.github.dmhomes.data;
 
 import io.github.dmhomes.DMHomesPlugin;
 import io.github.dmhomes.exceptions.DMHomesException;
+import io.github.dmhomes.metrics.Counter;
+import io.github.dmhomes.metrics.LatencyHistogram;
+import io.github.dmhomes.metrics.MemoryEstimates;
+import io.github.dmhomes.metrics.MemoryUsage;
+import io.github.dmhomes.metrics.MetricsRegistry;
+import lombok.Getter;
 import lombok.RequiredArgsConstructor;
 import org.bukkit.Location;
+import org.bukkit.World;
 import org.bukkit.configuration.file.YamlConfiguration;
 import org.bukkit.entity.Player;
 import org.jetbrains.annotations.NotNull;
@@ -13,6 +20,7 @@ import java.io.File;
 import java.io.IOException;
 import java.util.*;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.logging.Level;
 import java.util.regex.Pattern;
 
@@ -24,18 +32,47 @@ public final class HomeManager {
 
     private final DMHomesPlugin plugin;
     private final Map<UUID, Map<String, Home>> playerHomes = new ConcurrentHashMap<>();
+    
+    // Snapshot version per player, changes whenever the player's homes or icons change
+    private final Map<UUID, Long> homeVersions = new ConcurrentHashMap<>();
+    private final AtomicLong versionCounter = new AtomicLong();
+
+    @Getter
+    private final WorldHomeIndex worldIndex = new WorldHomeIndex();
+
+    @Getter
+    private final SpatialHomeIndex spatialIndex = new SpatialHomeIndex();
     private Pattern namePattern;
 
+    private LatencyHistogram loadTimings;
+    private LatencyHistogram saveTimings;
+    private Counter createdHomes;
+    private Counter deletedHomes;
+    private Counter renamedHomes;
+
     /**
      * Initializes the home manager
      * @throws DMHomesException if initialization fails
      */
     public void initialize() throws DMHomesException {
+        this.initializeMetrics();
         this.loadNamePattern();
         this.createHomesDirectory();
         this.loadAllHomes();
     }
 
+    /**
+     * Creates the metrics recorded by this manager
+     */
+    private void initializeMetrics() {
+        final MetricsRegistry metrics = this.plugin.getMetrics();
+        this.loadTimings = metrics.histogram("home_load_seconds", "Time to load one player's homes file");
+        this.saveTimings = metrics.histogram("home_save_seconds", "Time to save one player's homes file");
+        this.createdHomes = metrics.counter("homes_created_total", "Homes created");
+        this.deletedHomes = metrics.counter("homes_deleted_total", "Homes deleted");
+        this.renamedHomes = metrics.counter("homes_renamed_total", "Homes renamed");
+    }
+
     /**
      * Loads the home name validation pattern from config
      */
@@ -102,6 +139,7 @@ public final class HomeManager {
             return; // No homes file for this player
         }
 
+        final long startNanos = System.nanoTime();
         try {
             final YamlConfiguration config = YamlConfiguration.loadConfiguration(playerFile);
             final Map<String, Home> homes = new HashMap<>();
@@ -129,9 +167,13 @@ public final class HomeManager {
 
             if (!homes.isEmpty()) {
                 this.playerHomes.put(playerUuid, homes);
+                homes.values().forEach(this::indexHome);
             }
         } catch (final Exception exception) {
             throw new DMHomesException("Failed to load homes for player " + playerUuid, exception);
+        } finally {
+            this.loadTimings.recordSince(startNanos);
+            this.plugin.getOperationWatchdog().recordIo("home-load", playerUuid, startNanos);
         }
     }
 
@@ -142,13 +184,25 @@ public final class HomeManager {
      */
     private void savePlayerHomes(final @NotNull UUID playerUuid) throws DMHomesException {
         final Map<String, Home> homes = this.playerHomes.get(playerUuid);
+        this.writePlayerHomes(playerUuid, homes != null ? homes.values() : List.of());
+    }
+
+    /**
+     * Writes a snapshot of a player's homes to their homes file
+     * Safe to call off the main thread as long as the snapshot is not shared with the live map
+     * @param playerUuid the player's UUID
+     * @param homes the homes to write
+     * @throws DMHomesException if saving fails
+     */
+    public void writePlayerHomes(final @NotNull UUID playerUuid, final @NotNull Collection<Home> homes) throws DMHomesException {
         final File playerFile = this.getPlayerHomesFile(playerUuid);
 
+        final long startNanos = System.nanoTime();
         try {
             final YamlConfiguration config = new YamlConfiguration();
 
-            if (homes != null && !homes.isEmpty()) {
-                for (final Home home : homes.values()) {
+            if (!homes.isEmpty()) {
+                for (final Home home : homes) {
                     final String homeName = home.getName();
                     config.set(homeName + ".location", home.getLocation());
                     config.set(homeName + ".created-at", home.getCreatedAt());
@@ -163,6 +217,9 @@ public final class HomeManager {
             config.save(playerFile);
         } catch (final IOException exception) {
             throw new DMHomesException("Failed to save homes for player " + playerUuid, exception);
+        } finally {
+            this.saveTimings.recordSince(startNanos);
+            this.plugin.getOperationWatchdog().recordIo("home-save", playerUuid, startNanos);
         }
     }
 
@@ -216,6 +273,9 @@ public final class HomeManager {
 
         final Home home = new Home(playerUuid, homeName, location);
         homes.put(homeName.toLowerCase(), home);
+        this.indexHome(home);
+        this.markHomesChanged(playerUuid);
+        this.createdHomes.increment();
 
         this.savePlayerHomes(playerUuid);
         return true;
@@ -241,6 +301,9 @@ public final class HomeManager {
 
         final Home removed = homes.remove(homeName.toLowerCase());
         if (removed != null) {
+            this.unindexHome(removed);
+            this.markHomesChanged(playerUuid);
+            this.deletedHomes.increment();
             this.savePlayerHomes(playerUuid);
 
             // Also remove custom icon
@@ -397,6 +460,10 @@ public final class HomeManager {
         // Create new home with new name
         final Home newHome = new Home(playerUuid, newName, oldHome.getLocation(), oldHome.getCreatedAt());
         homes.put(newName.toLowerCase(), newHome);
+        this.unindexHome(oldHome);
+        this.indexHome(newHome);
+        this.markHomesChanged(playerUuid);
+        this.renamedHomes.increment();
 
         this.savePlayerHomes(playerUuid);
 
@@ -406,11 +473,321 @@ public final class HomeManager {
         return true;
     }
 
+    /**
+     * Checks if a home name matches the configured name pattern
+     * @param homeName the home name
+     * @return true if the name is valid
+     */
+    public boolean isValidHomeName(final @NotNull String homeName) {
+        return this.namePattern.matcher(homeName).matches();
+    }
+
+    /**
+     * Merges imported homes into a player's homes without saving
+     * Skips the per-home limits and world blacklist, imports are administrative migrations.
+     * Must be called from the main thread, the caller writes the result with {@link #writePlayerHomes}
+     * @param playerUuid the player's UUID
+     * @param imported the homes to merge
+     * @param overwrite whether imported homes replace existing homes with the same name
+     * @return the number of homes merged
+     */
+    public int mergeImportedHomes(final @NotNull UUID playerUuid, final @NotNull Collection<Home> imported,
+                                  final boolean overwrite) {
+        final Map<String, Home> homes = this.playerHomes.computeIfAbsent(playerUuid, k -> new HashMap<>());
+
+        int merged = 0;
+        for (final Home home : imported) {
+            final String key = home.getName().toLowerCase();
+            if (overwrite || !homes.containsKey(key)) {
+                homes.put(key, home);
+                this.indexHome(home);
+                merged++;
+            }
+        }
+
+        if (homes.isEmpty()) {
+            this.playerHomes.remove(playerUuid, homes);
+        }
+        if (merged > 0) {
+            this.markHomesChanged(playerUuid);
+        }
+        return merged;
+    }
+
+    /**
+     * Gets a copy of a player's homes that can be handed to another thread
+     * @param playerUuid the player's UUID
+     * @return the copied homes
+     */
+    public @NotNull List<Home> snapshotHomes(final @NotNull UUID playerUuid) {
+        final Map<String, Home> homes = this.playerHomes.get(playerUuid);
+        return homes != null ? List.copyOf(homes.values()) : List.of();
+    }
+
+    /**
+     * Gets the number of players with homes in memory
+     * @return the player count
+     */
+    public int getLoadedPlayerCount() {
+        return this.playerHomes.size();
+    }
+
+    /**
+     * Gets the number of homes in memory across all players
+     * @return the home count
+     */
+    public int getLoadedHomeCount() {
+        int count = 0;
+        for (final Map<String, Home> homes : this.playerHomes.values()) {
+            count += homes.size();
+        }
+        return count;
+    }
+
+    /**
+     * Adds the estimated heap used by the loaded homes to a memory report
+     * @param usage the report to add to
+     */
+    public void accountMemory(final @NotNull MemoryUsage usage) {
+        for (final Map.Entry<UUID, Map<String, Home>> entry : this.playerHomes.entrySet()) {
+            usage.add(MemoryUsage.Subsystem.HOMES, entry.getKey(), this.estimateRetainedBytes(entry.getValue()));
+        }
+
+        this.worldIndex.accountMemory(usage);
+        this.spatialIndex.accountMemory(usage);
+
+        // Snapshot versions: entry, UUID key (shared) and boxed long
+        for (final UUID playerUuid : this.homeVersions.keySet()) {
+            usage.add(MemoryUsage.Subsystem.HOMES, playerUuid, MemoryEstimates.MAP_ENTRY + 16L);
+        }
+    }
+
+    /**
+     * Estimates the heap retained by one player's homes
+     * @param playerUuid the player's UUID
+     * @return the estimated bytes, 0 if the player has no homes loaded
+     */
+    public long estimateRetainedBytes(final @NotNull UUID playerUuid) {
+        final Map<String, Home> homes = this.playerHomes.get(playerUuid);
+        return homes != null ? this.estimateRetainedBytes(homes) : 0L;
+    }
+
+    /**
+     * Estimates the heap retained by one player's homes map
+     * @param homes the player's homes
+     * @return the estimated bytes
+     */
+    private long estimateRetainedBytes(final @NotNull Map<String, Home> homes) {
+        long bytes = MemoryEstimates.MAP_ENTRY + MemoryEstimates.UUID + MemoryEstimates.MAP;
+        for (final Map.Entry<String, Home> homeEntry : homes.entrySet()) {
+            final String name = homeEntry.getValue().getName();
+            bytes += MemoryEstimates.MAP_ENTRY
+                + MemoryEstimates.string(homeEntry.getKey())
+                + MemoryEstimates.align(MemoryEstimates.HEADER + 3 * MemoryEstimates.REFERENCE + 8L)
+                + (name.equals(homeEntry.getKey()) ? 0L : MemoryEstimates.string(name))
+                + MemoryEstimates.LOCATION;
+        }
+        return bytes;
+    }
+
+    /**
+     * Removes a player's homes from memory without touching their homes file
+     * Used when the file is deleted separately, e.g. by the inactive player purge
+     * @param playerUuid the player's UUID
+     * @return the removed homes and their estimated heap, or null if the player had no homes loaded
+     */
+    public @Nullable UnloadedHomes unloadPlayerHomes(final @NotNull UUID playerUuid) {
+        final Map<String, Home> homes = this.playerHomes.remove(playerUuid);
+        final Long version = this.homeVersions.remove(playerUuid);
+        if (homes == null) {
+            return null;
+        }
+        homes.values().forEach(this::unindexHome);
+
+        final long bytes = this.estimateRetainedBytes(homes) + (version != null ? MemoryEstimates.MAP_ENTRY + 16L : 0L);
+        return new UnloadedHomes(homes.size(), bytes);
+    }
+
+    /**
+     * Homes removed from memory by {@link #unloadPlayerHomes}
+     * @param homeCount the number of homes
+     * @param estimatedBytes the estimated heap they retained
+     */
+    public record UnloadedHomes(int homeCount, long estimatedBytes) {
+    }
+
+    /**
+     * Adds a home to the secondary indexes
+     * @param home the home
+     */
+    private void indexHome(final @NotNull Home home) {
+        this.worldIndex.add(home);
+        this.spatialIndex.add(home);
+    }
+
+    /**
+     * Removes a home from the secondary indexes
+     * @param home the home
+     */
+    private void unindexHome(final @NotNull Home home) {
+        this.worldIndex.remove(home);
+        this.spatialIndex.remove(home);
+    }
+
+    /**
+     * Gets all homes in a world using the world index
+     * @param world the world
+     * @return the homes in the world
+     */
+    public @NotNull List<Home> getHomesInWorld(final @NotNull World world) {
+        final List<WorldHomeIndex.HomeRef> refs = this.worldIndex.get(world.getUID());
+        final List<Home> homes = new ArrayList<>(refs.size());
+        for (final WorldHomeIndex.HomeRef ref : refs) {
+            final Map<String, Home> ownerHomes = this.playerHomes.get(ref.playerUuid());
+            final Home home = ownerHomes != null ? ownerHomes.get(ref.homeKey()) : null;
+            if (home != null) {
+                homes.add(home);
+            }
+        }
+        return homes;
+    }
+
+    /**
+     * Finds the homes within a horizontal distance of a location using the spatial index
+     * @param center the centre of the search
+     * @param radius the maximum horizontal distance in blocks
+     * @return the homes in range, nearest first
+     */
+    public @NotNull List<Home> getHomesNear(final @NotNull Location center, final double radius) {
+        if (!center.isWorldLoaded()) {
+            return new ArrayList<>();
+        }
+
+        final List<SpatialHomeIndex.HomePoint> points = this.spatialIndex.queryRadius(
+            center.getWorld().getUID(), center.getX(), center.getZ(), radius);
+        points.sort(Comparator.comparingDouble(point ->
+            (point.x() - center.getX()) * (point.x() - center.getX()) + (point.z() - center.getZ()) * (point.z() - center.getZ())));
+
+        final List<Home> homes = new ArrayList<>(points.size());
+        for (final SpatialHomeIndex.HomePoint point : points) {
+            final Map<String, Home> ownerHomes = this.playerHomes.get(point.ref().playerUuid());
+            final Home home = ownerHomes != null ? ownerHomes.get(point.ref().homeKey()) : null;
+            if (home != null) {
+                homes.add(home);
+            }
+        }
+        return homes;
+    }
+
+    /**
+     * Deletes every home in a world, e.g. before the world is reset
+     * Must be called from the main thread, the affected players' files are written asynchronously
+     * Icons of players whose data isn't cached are removed from their data files by the same async task
+     * @param world the world
+     * @return the number of homes deleted
+     */
+    public int deleteHomesInWorld(final @NotNull World world) {
+        final Set<UUID> changedPlayers = new HashSet<>();
+        final Map<UUID, List<String>> storedIcons = new HashMap<>();
+        int deleted = 0;
+        for (final Home home : this.getHomesInWorld(world)) {
+            final Map<String, Home> homes = this.playerHomes.get(home.getPlayerUuid());
+            if (homes != null && homes.remove(home.getName().toLowerCase(), home)) {
+                this.unindexHome(home);
+                if (!this.plugin.getHomeDataManager().removeCachedHomeIcon(home.getPlayerUuid(), home.getName())) {
+                    storedIcons.computeIfAbsent(home.getPlayerUuid(), uuid -> new ArrayList<>()).add(home.getName());
+                }
+                this.deletedHomes.increment();
+                changedPlayers.add(home.getPlayerUuid());
+                deleted++;
+            }
+        }
+
+        this.saveChangedPlayersAsync(changedPlayers, storedIcons);
+        return deleted;
+    }
+
+    /**
+     * Moves every home in a world to another location, keeping names and creation times
+     * Must be called from the main thread, the affected players' files are written asynchronously
+     * @param world the world
+     * @param target the new location of the homes
+     * @return the number of homes moved
+     */
+    public int relocateHomesInWorld(final @NotNull World world, final @NotNull Location target) {
+        final Set<UUID> changedPlayers = new HashSet<>();
+        int moved = 0;
+        for (final Home home : this.getHomesInWorld(world)) {
+            final Map<String, Home> homes = this.playerHomes.get(home.getPlayerUuid());
+            final Home relocated = new Home(home.getPlayerUuid(), home.getName(), target, home.getCreatedAt());
+            if (homes != null && homes.replace(home.getName().toLowerCase(), home, relocated)) {
+                this.unindexHome(home);
+                this.indexHome(relocated);
+                changedPlayers.add(home.getPlayerUuid());
+                moved++;
+            }
+        }
+
+        this.saveChangedPlayersAsync(changedPlayers, Map.of());
+        return moved;
+    }
+
+    /**
+     * Marks players' homes as changed and writes snapshots of them off the main thread
+     * @param playerUuids the changed players
+     * @param storedIcons icons to remove from the data files of players that aren't cached, by player
+     */
+    private void saveChangedPlayersAsync(final @NotNull Set<UUID> playerUuids,
+                                         final @NotNull Map<UUID, List<String>> storedIcons) {
+        final Map<UUID, List<Home>> snapshots = new HashMap<>();
+        for (final UUID playerUuid : playerUuids) {
+            this.markHomesChanged(playerUuid);
+            snapshots.put(playerUuid, this.snapshotHomes(playerUuid));
+        }
+
+        this.plugin.getServer().getScheduler().runTaskAsynchronously(this.plugin, () -> {
+            for (final Map.Entry<UUID, List<Home>> entry : snapshots.entrySet()) {
+                try {
+                    this.writePlayerHomes(entry.getKey(), entry.getValue());
+                } catch (final DMHomesException exception) {
+                    this.plugin.getLogger().log(Level.WARNING,
+                            "Failed to save homes for player " + entry.getKey(), exception);
+                }
+
+                final List<String> icons = storedIcons.get(entry.getKey());
+                if (icons != null) {
+                    this.plugin.getHomeDataManager().removeStoredHomeIcons(entry.getKey(), icons);
+                }
+            }
+        });
+    }
+
+    /**
+     * Gets the snapshot version of a player's homes
+     * Versions are unique per change, so caches keyed by them never see a reused value
+     * @param playerUuid the player's UUID
+     * @return the current version
+     */
+    public long getHomesVersion(final @NotNull UUID playerUuid) {
+        return this.homeVersions.computeIfAbsent(playerUuid, uuid -> this.versionCounter.incrementAndGet());
+    }
+
+    /**
+     * Marks a player's homes as changed, invalidating caches built from the previous snapshot
+     * and pushing a refresh to the GUI the player has open
+     * @param playerUuid the player's UUID
+     */
+    public void markHomesChanged(final @NotNull UUID playerUuid) {
+        this.homeVersions.put(playerUuid, this.versionCounter.incrementAndGet());
+        this.plugin.getGuiSessionRegistry().notifyHomesChanged(playerUuid);
+    }
+
     /**
      * Saves all player homes
      */
     public void saveAllHomes() {
         this.plugin.getLogger().info("Saving all player homes...");
+        final long startNanos = System.nanoTime();
         int savedCount = 0;
         int errorCount = 0;
 
@@ -427,6 +804,7 @@ public final class HomeManager {
 
         this.plugin.getLogger().info(String.format(
                 "Home save complete: %d saved, %d errors", savedCount, errorCount));
+        this.plugin.getOperationWatchdog().recordOperation("save-all-homes", null, startNanos);
     }
 
     /**
@@ -441,8 +819,12 @@ public final class HomeManager {
 
         // Clear cache and reload
         this.playerHomes.clear();
+        this.homeVersions.clear();
+        this.worldIndex.clear();
+        this.spatialIndex.clear();
         this.loadNamePattern();
         this.loadAllHomes();
+        this.plugin.getGuiSessionRegistry().notifyAllHomesChanged();
 
         this.plugin.getLogger().info("Player homes reloaded successfully!");
     }
@@ -0,0 +1,482 @@
+package io.github.dmhomes.data;
+
+import io.github.dmhomes.DMHomesPlugin;
+import io.github.dmhomes.metrics.Counter;
+import net.kyori.adventure.text.Component;
+import org.bukkit.OfflinePlayer;
+import org.bukkit.command.CommandSender;
+import org.bukkit.entity.Player;
+import org.bukkit.scheduler.BukkitTask;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Supplier;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+/**
+ * Deletes the homes and icon data of players who have not joined for a configured time
+ * The homes directory is streamed on an async task in small batches. Each batch is first written from disk to its
+ * own closed undo archive; its players are then deleted and unloaded one at a time on the main thread at a throttled
+ * rate, skipping anyone who joined meanwhile, so neither a crash, a failed archive nor a join loses homes. Dry runs only report.
+ */
+public final class InactivePlayerPurge {
+
+    private static final int BATCH_SIZE = 50;
+    private static final DateTimeFormatter FILE_TIMESTAMP = DateTimeFormatter.ofPattern("yyyyMMdd-HHmmss");
+
+    private final DMHomesPlugin plugin;
+    private final Counter purgedPlayers;
+    private final AtomicBoolean running = new AtomicBoolean();
+    private volatile boolean cancelled;
+    private BukkitTask scheduleTask;
+
+    /**
+     * Creates a new InactivePlayerPurge instance
+     * @param plugin the plugin instance
+     */
+    public InactivePlayerPurge(final @NotNull DMHomesPlugin plugin) {
+        this.plugin = Objects.requireNonNull(plugin, "Plugin cannot be null");
+        this.purgedPlayers = plugin.getMetrics().counter("players_purged_total", "Inactive players whose homes were purged");
+    }
+
+    /**
+     * Starts or restarts the scheduled purge according to the configuration
+     */
+    public void reload() {
+        if (this.scheduleTask != null) {
+            this.scheduleTask.cancel();
+            this.scheduleTask = null;
+        }
+
+        if (!this.plugin.getConfigManager().getConfig().getBoolean("purge.schedule.enabled", false)) {
+            return;
+        }
+
+        final long inactiveDays = Math.max(1L, this.plugin.getConfigManager().getConfig().getLong("purge.schedule.inactive-days", 365L));
+        final long intervalTicks = 20L * 60L * 60L * Math.max(1L,
+            this.plugin.getConfigManager().getConfig().getLong("purge.schedule.interval-hours", 24L));
+        this.scheduleTask = this.plugin.getServer().getScheduler().runTaskTimer(this.plugin,
+            () -> this.start(Duration.ofDays(inactiveDays), false, this.plugin.getServer().getConsoleSender()),
+            intervalTicks, intervalTicks);
+    }
+
+    /**
+     * Stops the schedule and any running purge, e.g. on shutdown
+     */
+    public void stop() {
+        if (this.scheduleTask != null) {
+            this.scheduleTask.cancel();
+            this.scheduleTask = null;
+        }
+        this.cancelled = true;
+    }
+
+    /**
+     * Checks if a purge is running
+     * @return true if a purge is running
+     */
+    public boolean isRunning() {
+        return this.running.get();
+    }
+
+    /**
+     * Asks the running purge to stop after the current player
+     * @return true if a purge was running
+     */
+    public boolean cancel() {
+        if (!this.running.get()) {
+            return false;
+        }
+        this.cancelled = true;
+        return true;
+    }
+
+    /**
+     * Starts a purge in the background
+     * @param inactiveFor how long a player must have been away to be purged
+     * @param dryRun whether to only report what would be purged
+     * @param sender who receives the report
+     * @return false if a purge is already running
+     */
+    public boolean start(final @NotNull Duration inactiveFor, final boolean dryRun, final @NotNull CommandSender sender) {
+        if (!this.running.compareAndSet(false, true)) {
+            return false;
+        }
+
+        this.cancelled = false;
+        this.plugin.getServer().getScheduler().runTaskAsynchronously(this.plugin, () -> {
+            try {
+                this.run(inactiveFor, dryRun, sender);
+            } finally {
+                this.running.set(false);
+            }
+        });
+        return true;
+    }
+
+    /**
+     * Scans the homes directory and purges inactive players
+     * @param inactiveFor how long a player must have been away to be purged
+     * @param dryRun whether to only report what would be purged
+     * @param sender who receives the report
+     */
+    private void run(final @NotNull Duration inactiveFor, final boolean dryRun, final @NotNull CommandSender sender) {
+        final Path dataFolder = this.plugin.getDataFolder().toPath();
+        final Path archiveDirectory = dataFolder.resolve("purges").resolve("purge-" + LocalDateTime.now().format(FILE_TIMESTAMP));
+        final long cutoff = System.currentTimeMillis() - inactiveFor.toMillis();
+        final long deleteDelayMillis = 1000L / Math.max(1L,
+            this.plugin.getConfigManager().getConfig().getLong("purge.deletes-per-second", 20L));
+        final Report report = new Report();
+
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(dataFolder.resolve("homes"), "*.yml")) {
+            final List<UUID> batch = new ArrayList<>(BATCH_SIZE);
+            for (final Path homesFile : files) {
+                if (this.cancelled) {
+                    break;
+                }
+                report.scanned++;
+
+                final String fileName = homesFile.getFileName().toString();
+                final UUID playerUuid;
+                try {
+                    playerUuid = UUID.fromString(fileName.substring(0, fileName.length() - 4));
+                } catch (final IllegalArgumentException exception) {
+                    continue;
+                }
+
+                if (this.getLastSeen(playerUuid) >= cutoff) {
+                    continue;
+                }
+
+                batch.add(playerUuid);
+                if (batch.size() == BATCH_SIZE) {
+                    this.purgeBatch(batch, dryRun, deleteDelayMillis, archiveDirectory, report);
+                    batch.clear();
+                }
+            }
+
+            if (!batch.isEmpty() && !this.cancelled) {
+                this.purgeBatch(batch, dryRun, deleteDelayMillis, archiveDirectory, report);
+            }
+        } catch (final IOException | TimeoutException | ExecutionException exception) {
+            this.plugin.getLogger().warning("Purge stopped: " + exception.getMessage());
+            report.errors++;
+        } catch (final InterruptedException exception) {
+            Thread.currentThread().interrupt();
+        }
+
+        this.send(sender, Component.text(String.format("%s §f%d §7of §f%d §7players inactive for §f%d §7days, §f%d §7homes, §f%.1f KB §7disk, ~§f%.1f KB §7heap%s",
+            dryRun ? "§6Purge dry run: would remove" : (this.cancelled ? "§ePurge cancelled after removing" : "§aPurge removed"),
+            report.players, report.scanned, inactiveFor.toDays(), report.homes,
+            report.diskBytes / 1024.0, report.heapBytes / 1024.0,
+            report.errors > 0 ? " §c(" + report.errors + " errors)" : "")));
+        if (report.archives > 0) {
+            this.send(sender, Component.text("§7Undo archives: §f" + report.archives + " §7in §f" + dataFolder.relativize(archiveDirectory)
+                + " §7(extract each into the plugin folder and restart to restore)"));
+        }
+    }
+
+    /**
+     * Archives a batch of players' files, then deletes and unloads them one at a time on the main thread at the throttled rate
+     * @param batch the candidates
+     * @param dryRun whether to only report
+     * @param deleteDelayMillis the pause after each deleted player
+     * @param archiveDirectory the directory receiving one undo archive per batch
+     * @param report the report to add to
+     */
+    private void purgeBatch(final @NotNull List<UUID> batch, final boolean dryRun, final long deleteDelayMillis,
+                            final @NotNull Path archiveDirectory, final @NotNull Report report)
+        throws IOException, InterruptedException, ExecutionException, TimeoutException {
+        final Path dataFolder = this.plugin.getDataFolder().toPath();
+        if (dryRun) {
+            final List<Unloaded> candidates = this.callSync(() -> {
+                final List<Unloaded> result = new ArrayList<>(batch.size());
+                for (final UUID playerUuid : batch) {
+                    if (this.plugin.getServer().getPlayer(playerUuid) == null) {
+                        result.add(new Unloaded(playerUuid, this.plugin.getHomeManager().snapshotHomes(playerUuid).size(),
+                            this.plugin.getHomeManager().estimateRetainedBytes(playerUuid),
+                            this.sizeOf(this.getHomesFile(dataFolder, playerUuid)) + this.sizeOf(this.getDataFile(dataFolder, playerUuid))));
+                    }
+                }
+                return result;
+            });
+            for (final Unloaded player : candidates) {
+                this.count(player, report);
+            }
+            return;
+        }
+
+        // Joined since the scan read their last-seen stamp
+        final List<UUID> offline = this.callSync(() -> {
+            final List<UUID> result = new ArrayList<>(batch.size());
+            for (final UUID playerUuid : batch) {
+                if (this.plugin.getServer().getPlayer(playerUuid) == null) {
+                    result.add(playerUuid);
+                }
+            }
+            return result;
+        });
+        if (offline.isEmpty()) {
+            return;
+        }
+
+        // Archived from disk while the players are still loaded, so a failed archive leaves them untouched
+        if (this.writeArchive(archiveDirectory.resolve(String.format("batch-%04d.zip", report.archives + 1)), offline, dataFolder)) {
+            report.archives++;
+        }
+
+        for (final UUID playerUuid : offline) {
+            final Unloaded purged;
+            try {
+                purged = this.callSync(() -> this.unloadAndDelete(playerUuid, dataFolder));
+            } catch (final ExecutionException exception) {
+                if (!(exception.getCause() instanceof UncheckedIOException failure)) {
+                    throw exception;
+                }
+                this.plugin.getLogger().warning("Failed to delete files of " + playerUuid + ": " + failure.getCause().getMessage());
+                report.errors++;
+                continue;
+            }
+
+            if (purged != null) {
+                this.count(purged, report);
+                this.purgedPlayers.increment();
+            }
+
+            if (this.cancelled) {
+                break;
+            }
+            TimeUnit.MILLISECONDS.sleep(deleteDelayMillis);
+        }
+    }
+
+    /**
+     * Deletes an offline player's files and unloads them, on the main thread so a join can't slip in between
+     * A player who joined since their batch was archived keeps their files and loaded homes
+     * @param playerUuid the player's UUID
+     * @param dataFolder the plugin's data folder
+     * @return the purged player, or null if they are online
+     * @throws UncheckedIOException if the homes file can't be deleted, the player then stays loaded
+     */
+    private @Nullable Unloaded unloadAndDelete(final @NotNull UUID playerUuid, final @NotNull Path dataFolder) {
+        if (this.plugin.getServer().getPlayer(playerUuid) != null) {
+            return null;
+        }
+
+        final Path homesFile = this.getHomesFile(dataFolder, playerUuid);
+        final Path dataFile = this.getDataFile(dataFolder, playerUuid);
+        final long diskBytes = this.sizeOf(homesFile) + this.sizeOf(dataFile);
+        try {
+            Files.deleteIfExists(homesFile);
+            Files.deleteIfExists(dataFile);
+        } catch (final IOException exception) {
+            throw new UncheckedIOException(exception);
+        }
+
+        final HomeManager.UnloadedHomes homes = this.plugin.getHomeManager().unloadPlayerHomes(playerUuid);
+        final long dataBytes = this.plugin.getHomeDataManager().discardPlayer(playerUuid);
+        return new Unloaded(playerUuid, homes != null ? homes.homeCount() : 0,
+            (homes != null ? homes.estimatedBytes() : 0L) + dataBytes, diskBytes);
+    }
+
+    /**
+     * Gets when a player was last on the server
+     * Uses the later of the server's record and the stamp written to the player's data on quit.
+     * Players with neither, e.g. imported players who never joined, are stamped now, so their inactivity
+     * counts from the first purge that sees them
+     * @param playerUuid the player's UUID
+     * @return the last-seen timestamp in epoch milliseconds
+     */
+    private long getLastSeen(final @NotNull UUID playerUuid) {
+        final OfflinePlayer player = this.plugin.getServer().getOfflinePlayer(playerUuid);
+        final long now = System.currentTimeMillis();
+        if (player.isOnline()) {
+            return now;
+        }
+
+        final long lastSeen = Math.max(player.getLastSeen(), this.plugin.getHomeDataManager().getStoredLastSeen(playerUuid));
+        if (lastSeen > 0L) {
+            return lastSeen;
+        }
+
+        this.plugin.getHomeDataManager().stampFirstSeen(playerUuid, now);
+        return now;
+    }
+
+    /**
+     * Adds a purged player to the report
+     * @param player the player
+     * @param report the report to add to
+     */
+    private void count(final @NotNull Unloaded player, final @NotNull Report report) {
+        report.players++;
+        report.homes += player.homeCount();
+        report.heapBytes += player.estimatedBytes();
+        report.diskBytes += player.diskBytes();
+    }
+
+    /**
+     * Writes the files of a batch to an undo archive through a temporary file, closing it before returning
+     * @param archive the archive path
+     * @param players the players whose files to archive
+     * @param dataFolder the plugin's data folder
+     * @return true if the archive was written, false if none of the players had files
+     * @throws IOException if writing fails
+     */
+    private boolean writeArchive(final @NotNull Path archive, final @NotNull List<UUID> players,
+                                 final @NotNull Path dataFolder) throws IOException {
+        Files.createDirectories(archive.getParent());
+        final Path temporary = archive.resolveSibling(archive.getFileName() + ".tmp");
+
+        int entries = 0;
+        try (ZipOutputStream undo = new ZipOutputStream(Files.newOutputStream(temporary))) {
+            for (final UUID playerUuid : players) {
+                entries += this.archive(undo, this.getHomesFile(dataFolder, playerUuid), "homes/");
+                entries += this.archive(undo, this.getDataFile(dataFolder, playerUuid), "playerdata/");
+            }
+        } catch (final IOException exception) {
+            Files.deleteIfExists(temporary);
+            throw exception;
+        }
+
+        if (entries == 0) {
+            Files.deleteIfExists(temporary);
+            return false;
+        }
+
+        try {
+            Files.move(temporary, archive, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        } catch (final AtomicMoveNotSupportedException exception) {
+            Files.move(temporary, archive, StandardCopyOption.REPLACE_EXISTING);
+        }
+        return true;
+    }
+
+    /**
+     * Copies a file into an undo archive, if it exists
+     * @param undo the undo archive
+     * @param file the file to copy
+     * @param directory the directory inside the archive
+     * @return the number of entries written, 0 or 1
+     * @throws IOException if writing fails
+     */
+    private int archive(final @NotNull ZipOutputStream undo, final @NotNull Path file, final @NotNull String directory) throws IOException {
+        if (!Files.exists(file)) {
+            return 0;
+        }
+        undo.putNextEntry(new ZipEntry(directory + file.getFileName()));
+        Files.copy(file, undo);
+        undo.closeEntry();
+        return 1;
+    }
+
+    /**
+     * Gets the homes file of a player
+     * @param dataFolder the plugin's data folder
+     * @param playerUuid the player's UUID
+     * @return the homes file
+     */
+    private @NotNull Path getHomesFile(final @NotNull Path dataFolder, final @NotNull UUID playerUuid) {
+        return dataFolder.resolve("homes").resolve(playerUuid + ".yml");
+    }
+
+    /**
+     * Gets the icon data file of a player
+     * @param dataFolder the plugin's data folder
+     * @param playerUuid the player's UUID
+     * @return the data file
+     */
+    private @NotNull Path getDataFile(final @NotNull Path dataFolder, final @NotNull UUID playerUuid) {
+        return dataFolder.resolve("playerdata").resolve(playerUuid + ".yml");
+    }
+
+    /**
+     * Gets the size of a file
+     * @param file the file
+     * @return the size in bytes, 0 if the file doesn't exist
+     */
+    private long sizeOf(final @NotNull Path file) {
+        try {
+            return Files.exists(file) ? Files.size(file) : 0L;
+        } catch (final IOException exception) {
+            return 0L;
+        }
+    }
+
+    /**
+     * Runs a task on the main thread and waits for its result
+     * @param task the task
+     * @param <T> the result type
+     * @return the task's result
+     */
+    private <T> T callSync(final @NotNull Supplier<T> task)
+        throws InterruptedException, ExecutionException, TimeoutException {
+        final CompletableFuture<T> future = new CompletableFuture<>();
+        this.plugin.getServer().getScheduler().runTask(this.plugin, () -> {
+            try {
+                future.complete(task.get());
+            } catch (final RuntimeException exception) {
+                future.completeExceptionally(exception);
+            }
+        });
+        return future.get(30L, TimeUnit.SECONDS);
+    }
+
+    /**
+     * Sends a message on the main thread to the sender if still online, and to the console
+     * @param sender the command sender
+     * @param message the message
+     */
+    private void send(final @NotNull CommandSender sender, final @NotNull Component message) {
+        this.plugin.getServer().getScheduler().runTask(this.plugin, () -> {
+            final CommandSender console = this.plugin.getServer().getConsoleSender();
+            if (sender != console && (!(sender instanceof Player player) || player.isOnline())) {
+                sender.sendMessage(message);
+            }
+            console.sendMessage(message);
+        });
+    }
+
+    /**
+     * A player taken out of memory by a purge batch, or who would be in a dry run
+     * @param playerUuid the player's UUID
+     * @param homeCount the number of homes removed
+     * @param estimatedBytes the estimated heap reclaimed
+     * @param diskBytes the size of the player's files
+     */
+    private record Unloaded(@NotNull UUID playerUuid, int homeCount, long estimatedBytes, long diskBytes) {
+    }
+
+    /**
+     * Totals of one purge run, only touched by the purge thread
+     */
+    private static final class Report {
+        private int archives;
+        private long scanned;
+        private long players;
+        private long homes;
+        private long diskBytes;
+        private long heapBytes;
+        private long errors;
+    }
+}
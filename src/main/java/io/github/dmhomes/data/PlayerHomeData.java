@@ -17,6 +17,9 @@ public final class PlayerHomeData {
 
     private final UUID playerUuid;
     private final Map<String, String> homeIcons = new HashMap<>();
+    
+    // When the player last left the server in epoch milliseconds, 0 if never recorded
+    private volatile long lastSeen;
     private boolean modified = false;
 
     /**
@@ -84,6 +87,15 @@ public final class PlayerHomeData {
         return false;
     }
 
+    /**
+     * Records when the player was last on the server
+     * @param timestamp the timestamp in epoch milliseconds
+     */
+    public void markSeen(final long timestamp) {
+        this.lastSeen = timestamp;
+        this.modified = true;
+    }
+
     /**
      * Checks if the player has any custom home icons
      * @return true if the player has custom icons, false otherwise
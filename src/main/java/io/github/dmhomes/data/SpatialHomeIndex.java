@@ -0,0 +1,211 @@
+package io.github.dmhomes.data;
+
+import io.github.dmhomes.metrics.MemoryEstimates;
+import io.github.dmhomes.metrics.MemoryUsage;
+import org.bukkit.Location;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Per-world grid of home positions, keyed by chunk
+ * Each chunk cell holds the homes' primitive coordinates, so radius and box queries only visit the cells
+ * overlapping the query and never touch Location objects. Cells are replaced on every change, which lets
+ * queries run from any thread while {@link HomeManager} mutates the index on the main thread.
+ */
+public final class SpatialHomeIndex {
+
+    private static final HomePoint[] EMPTY = new HomePoint[0];
+
+    private final Map<UUID, Map<Long, HomePoint[]>> cellsByWorld = new ConcurrentHashMap<>();
+
+    // Reverse mapping, so removal works without the home's location after its world unloaded
+    private final Map<WorldHomeIndex.HomeRef, HomePoint> pointsByHome = new ConcurrentHashMap<>();
+
+    /**
+     * Adds a home to the index, replacing any home with the same owner and name
+     * @param home the home
+     */
+    void add(final @NotNull Home home) {
+        final Location location = home.getLocation();
+        final WorldHomeIndex.HomeRef ref = new WorldHomeIndex.HomeRef(home.getPlayerUuid(), home.getName().toLowerCase());
+        this.remove(ref);
+
+        if (!location.isWorldLoaded()) {
+            return;
+        }
+
+        final HomePoint point = new HomePoint(location.getWorld().getUID(), ref,
+            location.getX(), location.getY(), location.getZ());
+        this.pointsByHome.put(ref, point);
+        this.cellsByWorld.computeIfAbsent(point.worldUuid(), uuid -> new ConcurrentHashMap<>())
+            .compute(cellKey(point.x(), point.z()), (key, cell) -> {
+                final HomePoint[] current = cell != null ? cell : EMPTY;
+                final HomePoint[] updated = Arrays.copyOf(current, current.length + 1);
+                updated[current.length] = point;
+                return updated;
+            });
+    }
+
+    /**
+     * Removes a home from the index
+     * @param home the home
+     */
+    void remove(final @NotNull Home home) {
+        this.remove(new WorldHomeIndex.HomeRef(home.getPlayerUuid(), home.getName().toLowerCase()));
+    }
+
+    private void remove(final @NotNull WorldHomeIndex.HomeRef ref) {
+        final HomePoint point = this.pointsByHome.remove(ref);
+        if (point == null) {
+            return;
+        }
+
+        final Map<Long, HomePoint[]> cells = this.cellsByWorld.get(point.worldUuid());
+        if (cells == null) {
+            return;
+        }
+
+        cells.computeIfPresent(cellKey(point.x(), point.z()), (key, cell) -> {
+            for (int i = 0; i < cell.length; i++) {
+                if (cell[i] == point) {
+                    if (cell.length == 1) {
+                        return null;
+                    }
+                    final HomePoint[] updated = new HomePoint[cell.length - 1];
+                    System.arraycopy(cell, 0, updated, 0, i);
+                    System.arraycopy(cell, i + 1, updated, i, cell.length - i - 1);
+                    return updated;
+                }
+            }
+            return cell;
+        });
+    }
+
+    /**
+     * Empties the index
+     */
+    void clear() {
+        this.cellsByWorld.clear();
+        this.pointsByHome.clear();
+    }
+
+    /**
+     * Finds the homes within a horizontal distance of a point
+     * @param worldUuid the world's UUID
+     * @param x the centre x coordinate
+     * @param z the centre z coordinate
+     * @param radius the maximum horizontal distance in blocks
+     * @return the homes in range, in no particular order
+     */
+    public @NotNull List<HomePoint> queryRadius(final @NotNull UUID worldUuid, final double x, final double z, final double radius) {
+        final double radiusSquared = radius * radius;
+        final List<HomePoint> result = new ArrayList<>();
+        for (final HomePoint point : this.queryBox(worldUuid, x - radius, z - radius, x + radius, z + radius)) {
+            final double dx = point.x() - x;
+            final double dz = point.z() - z;
+            if (dx * dx + dz * dz <= radiusSquared) {
+                result.add(point);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Finds the homes inside a horizontal box, bounds inclusive
+     * @param worldUuid the world's UUID
+     * @param minX the minimum x coordinate
+     * @param minZ the minimum z coordinate
+     * @param maxX the maximum x coordinate
+     * @param maxZ the maximum z coordinate
+     * @return the homes in the box, in no particular order
+     */
+    public @NotNull List<HomePoint> queryBox(final @NotNull UUID worldUuid, final double minX, final double minZ,
+                                             final double maxX, final double maxZ) {
+        final Map<Long, HomePoint[]> cells = this.cellsByWorld.get(worldUuid);
+        final List<HomePoint> result = new ArrayList<>();
+        if (cells == null || minX > maxX || minZ > maxZ) {
+            return result;
+        }
+
+        final long minChunkX = (long) Math.floor(minX) >> 4;
+        final long maxChunkX = (long) Math.floor(maxX) >> 4;
+        final long minChunkZ = (long) Math.floor(minZ) >> 4;
+        final long maxChunkZ = (long) Math.floor(maxZ) >> 4;
+        final long cellsInBox = (maxChunkX - minChunkX + 1) * (maxChunkZ - minChunkZ + 1);
+
+        if (cellsInBox > cells.size()) {
+            // Sparse world or huge box: walking the occupied cells is cheaper than probing every chunk
+            for (final Map.Entry<Long, HomePoint[]> entry : cells.entrySet()) {
+                final long chunkX = entry.getKey() >> 32;
+                final long chunkZ = (int) entry.getKey().longValue();
+                if (chunkX >= minChunkX && chunkX <= maxChunkX && chunkZ >= minChunkZ && chunkZ <= maxChunkZ) {
+                    this.collect(entry.getValue(), minX, minZ, maxX, maxZ, result);
+                }
+            }
+            return result;
+        }
+
+        for (long chunkX = minChunkX; chunkX <= maxChunkX; chunkX++) {
+            for (long chunkZ = minChunkZ; chunkZ <= maxChunkZ; chunkZ++) {
+                final HomePoint[] cell = cells.get((chunkX << 32) | (chunkZ & 0xFFFFFFFFL));
+                if (cell != null) {
+                    this.collect(cell, minX, minZ, maxX, maxZ, result);
+                }
+            }
+        }
+        return result;
+    }
+
+    private void collect(final @NotNull HomePoint[] cell, final double minX, final double minZ,
+                         final double maxX, final double maxZ, final @NotNull List<HomePoint> result) {
+        for (final HomePoint point : cell) {
+            if (point.x() >= minX && point.x() <= maxX && point.z() >= minZ && point.z() <= maxZ) {
+                result.add(point);
+            }
+        }
+    }
+
+    /**
+     * Adds the estimated heap used by the index to a memory report
+     * @param usage the report to add to
+     */
+    void accountMemory(final @NotNull MemoryUsage usage) {
+        // Reverse map entry, the point itself (ref shared with the reverse map key) and its slot in a cell
+        final long bytes = MemoryEstimates.MAP_ENTRY
+            + MemoryEstimates.align(MemoryEstimates.HEADER + 2 * MemoryEstimates.REFERENCE + 3 * 8L)
+            + MemoryEstimates.align(MemoryEstimates.HEADER + 2 * MemoryEstimates.REFERENCE)
+            + MemoryEstimates.REFERENCE;
+        for (final WorldHomeIndex.HomeRef ref : this.pointsByHome.keySet()) {
+            usage.add(MemoryUsage.Subsystem.HOMES, ref.playerUuid(), bytes);
+        }
+    }
+
+    /**
+     * Gets the cell key of a position
+     * @param x the x coordinate
+     * @param z the z coordinate
+     * @return the chunk coordinates packed into one long
+     */
+    private static long cellKey(final double x, final double z) {
+        final long chunkX = (long) Math.floor(x) >> 4;
+        final long chunkZ = (long) Math.floor(z) >> 4;
+        return (chunkX << 32) | (chunkZ & 0xFFFFFFFFL);
+    }
+
+    /**
+     * A home's position in the index
+     * @param worldUuid the world's UUID
+     * @param ref the home
+     * @param x the x coordinate
+     * @param y the y coordinate
+     * @param z the z coordinate
+     */
+    public record HomePoint(@NotNull UUID worldUuid, @NotNull WorldHomeIndex.HomeRef ref, double x, double y, double z) {
+    }
+}
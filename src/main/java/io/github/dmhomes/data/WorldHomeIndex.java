@@ -0,0 +1,111 @@
+package io.github.dmhomes.data;
+
+import io.github.dmhomes.metrics.MemoryEstimates;
+import io.github.dmhomes.metrics.MemoryUsage;
+import org.bukkit.Location;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Secondary index of homes by world UUID
+ * Kept in step with every home mutation in {@link HomeManager}, so world-wide queries cost
+ * time proportional to the homes in that world rather than a scan of all players
+ */
+public final class WorldHomeIndex {
+
+    private final Map<UUID, Set<HomeRef>> homesByWorld = new ConcurrentHashMap<>();
+
+    // Reverse mapping, so removal works without the home's location after its world unloaded
+    private final Map<HomeRef, UUID> worldByHome = new ConcurrentHashMap<>();
+
+    /**
+     * Adds a home to the index, replacing any home with the same owner and name
+     * @param home the home
+     */
+    void add(final @NotNull Home home) {
+        final Location location = home.getLocation();
+        final HomeRef ref = new HomeRef(home.getPlayerUuid(), home.getName().toLowerCase());
+        this.remove(ref);
+
+        if (location.isWorldLoaded()) {
+            final UUID worldUuid = location.getWorld().getUID();
+            this.worldByHome.put(ref, worldUuid);
+            this.homesByWorld.computeIfAbsent(worldUuid, uuid -> ConcurrentHashMap.newKeySet()).add(ref);
+        }
+    }
+
+    /**
+     * Removes a home from the index
+     * @param home the home
+     */
+    void remove(final @NotNull Home home) {
+        this.remove(new HomeRef(home.getPlayerUuid(), home.getName().toLowerCase()));
+    }
+
+    private void remove(final @NotNull HomeRef ref) {
+        final UUID worldUuid = this.worldByHome.remove(ref);
+        if (worldUuid == null) {
+            return;
+        }
+
+        this.homesByWorld.computeIfPresent(worldUuid, (uuid, refs) -> {
+            refs.remove(ref);
+            return refs.isEmpty() ? null : refs;
+        });
+    }
+
+    /**
+     * Empties the index
+     */
+    void clear() {
+        this.homesByWorld.clear();
+        this.worldByHome.clear();
+    }
+
+    /**
+     * Gets the homes in a world
+     * @param worldUuid the world's UUID
+     * @return a copy of the references to the homes in the world
+     */
+    public @NotNull List<HomeRef> get(final @NotNull UUID worldUuid) {
+        final Set<HomeRef> refs = this.homesByWorld.get(worldUuid);
+        return refs != null ? List.copyOf(refs) : List.of();
+    }
+
+    /**
+     * Gets the number of homes in a world
+     * @param worldUuid the world's UUID
+     * @return the home count
+     */
+    public int count(final @NotNull UUID worldUuid) {
+        final Set<HomeRef> refs = this.homesByWorld.get(worldUuid);
+        return refs != null ? refs.size() : 0;
+    }
+
+    /**
+     * Adds the estimated heap used by the index to a memory report
+     * @param usage the report to add to
+     */
+    void accountMemory(final @NotNull MemoryUsage usage) {
+        // Set entry plus reverse map entry, sharing one ref
+        final long bytes = 2 * MemoryEstimates.MAP_ENTRY + MemoryEstimates.align(MemoryEstimates.HEADER + 2 * MemoryEstimates.REFERENCE);
+        for (final Set<HomeRef> refs : this.homesByWorld.values()) {
+            for (final HomeRef ref : refs) {
+                usage.add(MemoryUsage.Subsystem.HOMES, ref.playerUuid(), bytes);
+            }
+        }
+    }
+
+    /**
+     * Reference to a home in the index
+     * @param playerUuid the owner's UUID
+     * @param homeKey the lower-case home name
+     */
+    public record HomeRef(@NotNull UUID playerUuid, @NotNull String homeKey) {
+    }
+}
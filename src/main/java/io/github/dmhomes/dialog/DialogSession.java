@@ -0,0 +1,45 @@
+package io.github.dmhomes.dialog;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import net.kyori.adventure.key.Key;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.UUID;
+
+/**
+ * An open dialog waiting for a player's button click
+ */
+@Getter
+@RequiredArgsConstructor
+public final class DialogSession {
+
+    private final @NotNull Key key;
+    private final @NotNull UUID playerUuid;
+    private final @NotNull Type type;
+    private final @Nullable String homeName;
+    private final long expiresAt;
+
+    /**
+     * Checks if the session has outlived its TTL
+     * @param now the current time in milliseconds
+     * @return true if the session is expired
+     */
+    public boolean isExpired(final long now) {
+        return now >= this.expiresAt;
+    }
+
+    /**
+     * The kind of dialog a session belongs to
+     */
+    @Getter
+    @RequiredArgsConstructor
+    public enum Type {
+        CREATE("create_home"),
+        DELETE("delete_home"),
+        RENAME("rename_home");
+
+        private final @NotNull String path;
+    }
+}
@@ -0,0 +1,143 @@
+package io.github.dmhomes.dialog;
+
+import io.github.dmhomes.metrics.MemoryEstimates;
+import io.github.dmhomes.metrics.MemoryUsage;
+import net.kyori.adventure.key.Key;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.Map;
+import java.util.Objects;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Registry of open dialog sessions, keyed by the click action key of each dialog
+ * Every key carries the player's UUID and a random nonce, so concurrent dialogs never share state
+ */
+public final class DialogSessionRegistry {
+
+    public static final String NAMESPACE = "dmhomes";
+
+    private final Map<Key, DialogSession> sessionsByKey = new ConcurrentHashMap<>();
+    private final Map<UUID, DialogSession> sessionsByPlayer = new ConcurrentHashMap<>();
+    private volatile long ttlMillis;
+
+    /**
+     * Creates a new DialogSessionRegistry instance
+     * @param ttlMillis how long an unanswered dialog stays valid
+     */
+    public DialogSessionRegistry(final long ttlMillis) {
+        this.ttlMillis = ttlMillis;
+    }
+
+    /**
+     * Opens a new session for a player, replacing any dialog they still had open
+     * @param playerUuid the player's UUID
+     * @param type the dialog type
+     * @param homeName the home the dialog acts on, if any
+     * @return the new session
+     */
+    public @NotNull DialogSession open(final @NotNull UUID playerUuid,
+                                       final @NotNull DialogSession.Type type,
+                                       final @Nullable String homeName) {
+        Objects.requireNonNull(playerUuid, "Player UUID cannot be null");
+        Objects.requireNonNull(type, "Type cannot be null");
+
+        final String nonce = Long.toHexString(ThreadLocalRandom.current().nextLong());
+        final Key key = Key.key(NAMESPACE, type.getPath() + "/" + playerUuid + "/" + nonce);
+        final DialogSession session = new DialogSession(key, playerUuid, type, homeName,
+            System.currentTimeMillis() + this.ttlMillis);
+
+        final DialogSession previous = this.sessionsByPlayer.put(playerUuid, session);
+        if (previous != null) {
+            this.sessionsByKey.remove(previous.getKey());
+        }
+        this.sessionsByKey.put(key, session);
+
+        return session;
+    }
+
+    /**
+     * Resolves and removes the session for a click key
+     * @param identifier the click key
+     * @param playerUuid the UUID of the clicking player
+     * @return the session or null if unknown, expired or owned by another player
+     */
+    public @Nullable DialogSession consume(final @NotNull Key identifier, final @NotNull UUID playerUuid) {
+        // Normalize, the event key may be a different Key implementation with its own hashCode
+        final Key key = Key.key(identifier.namespace(), identifier.value());
+        final DialogSession session = this.sessionsByKey.get(key);
+
+        if (session == null || !session.getPlayerUuid().equals(playerUuid)) {
+            return null;
+        }
+
+        this.sessionsByKey.remove(key);
+        this.sessionsByPlayer.remove(playerUuid, session);
+
+        return session.isExpired(System.currentTimeMillis()) ? null : session;
+    }
+
+    /**
+     * Removes any open session of a player
+     * @param playerUuid the player's UUID
+     */
+    public void invalidate(final @NotNull UUID playerUuid) {
+        final DialogSession session = this.sessionsByPlayer.remove(playerUuid);
+        if (session != null) {
+            this.sessionsByKey.remove(session.getKey());
+        }
+    }
+
+    /**
+     * Removes all sessions that outlived their TTL
+     * @return the number of evicted sessions
+     */
+    public int evictExpired() {
+        final long now = System.currentTimeMillis();
+        int evicted = 0;
+
+        for (final DialogSession session : this.sessionsByKey.values()) {
+            if (session.isExpired(now) && this.sessionsByKey.remove(session.getKey(), session)) {
+                this.sessionsByPlayer.remove(session.getPlayerUuid(), session);
+                evicted++;
+            }
+        }
+
+        return evicted;
+    }
+
+    /**
+     * Adds the estimated heap used by the open sessions to a memory report
+     * @param usage the report to add to
+     */
+    public void accountMemory(final @NotNull MemoryUsage usage) {
+        for (final DialogSession session : this.sessionsByKey.values()) {
+            // Indexed twice, by key and by player
+            usage.add(MemoryUsage.Subsystem.DIALOG_SESSIONS, session.getPlayerUuid(),
+                2 * MemoryEstimates.MAP_ENTRY
+                    + MemoryEstimates.align(MemoryEstimates.HEADER + 4 * MemoryEstimates.REFERENCE + 8L)
+                    + MemoryEstimates.align(MemoryEstimates.HEADER + 2 * MemoryEstimates.REFERENCE)
+                    + MemoryEstimates.string(session.getKey().value())
+                    + MemoryEstimates.string(session.getHomeName()));
+        }
+    }
+
+    /**
+     * Sets the TTL used for new sessions
+     * @param ttlMillis the TTL in milliseconds
+     */
+    public void setTtlMillis(final long ttlMillis) {
+        this.ttlMillis = ttlMillis;
+    }
+
+    /**
+     * Gets the number of open sessions
+     * @return the session count
+     */
+    public int size() {
+        return this.sessionsByKey.size();
+    }
+}
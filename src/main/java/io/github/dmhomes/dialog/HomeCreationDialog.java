@@ -3,28 +3,53 @@ package io.github.dmhomes.dialog;
 import io.github.dmhomes.DMHomesPlugin;
 import io.github.dmhomes.exceptions.DMHomesException;
 import io.papermc.paper.dialog.Dialog;
-import lombok.RequiredArgsConstructor;
+import lombok.Getter;
 import net.kyori.adventure.text.Component;
 import net.kyori.adventure.text.format.NamedTextColor;
-import net.kyori.adventure.text.format.TextDecoration;
 import org.bukkit.entity.Player;
 import org.jetbrains.annotations.NotNull;
 
 import java.util.Objects;
-import java.util.function.Consumer;
 
 /**
  * Manages home creation using Paper Dialog API
  */
-@RequiredArgsConstructor
 public final class HomeCreationDialog {
 
     private final DMHomesPlugin plugin;
     
-    // Store pending callbacks for text input handling
-    private Consumer<String> pendingCallback;
-    private Consumer<String> pendingRenameCallback;
-    private Runnable pendingDeletionCallback;
+    // Open dialogs per player, resolved by DialogClickListener from the click key
+    @Getter
+    private final DialogSessionRegistry sessionRegistry;
+    
+    // Dialog templates compiled once per reload
+    private final HomeDialogBuilder dialogBuilder;
+
+    /**
+     * Creates a new HomeCreationDialog instance
+     * @param plugin the plugin instance
+     */
+    public HomeCreationDialog(final @NotNull DMHomesPlugin plugin) {
+        this.plugin = Objects.requireNonNull(plugin, "Plugin cannot be null");
+        this.sessionRegistry = new DialogSessionRegistry(this.getSessionTtlMillis());
+        this.dialogBuilder = new HomeDialogBuilder(plugin);
+    }
+
+    /**
+     * Reloads settings that depend on the configuration
+     */
+    public void reload() {
+        this.sessionRegistry.setTtlMillis(this.getSessionTtlMillis());
+        this.dialogBuilder.reload();
+    }
+
+    /**
+     * Gets the configured TTL for unanswered dialogs
+     * @return the TTL in milliseconds
+     */
+    private long getSessionTtlMillis() {
+        return this.plugin.getConfigManager().getConfig().getLong("dialogs.session-ttl-seconds", 300L) * 1000L;
+    }
 
     /**
      * Opens the home creation dialog for a player
@@ -40,14 +65,11 @@ public final class HomeCreationDialog {
         }
         
         try {
-            final HomeDialogBuilder dialogBuilder = new HomeDialogBuilder(this.plugin);
+            // Register the session BEFORE showing the dialog
+            final DialogSession session = this.sessionRegistry.open(
+                player.getUniqueId(), DialogSession.Type.CREATE, null);
             
-            // Store callback for click handler BEFORE creating dialog
-            this.setPendingCallback(homeName -> this.handleHomeCreation(player, homeName));
-            
-            final Dialog dialog = dialogBuilder.createHomeCreationDialog(player, homeName -> {
-                this.handleHomeCreation(player, homeName);
-            });
+            final Dialog dialog = this.dialogBuilder.createHomeCreationDialog(player, session.getKey());
             
             player.showDialog(dialog);
             
@@ -67,13 +89,10 @@ public final class HomeCreationDialog {
         Objects.requireNonNull(homeName, "Home name cannot be null");
         
         try {
-            final HomeDialogBuilder dialogBuilder = new HomeDialogBuilder(this.plugin);
-            final Dialog dialog = dialogBuilder.createHomeDeletionDialog(player, homeName, () -> {
-                this.handleHomeDeletion(player, homeName);
-            });
+            final DialogSession session = this.sessionRegistry.open(
+                player.getUniqueId(), DialogSession.Type.DELETE, homeName);
             
-            // Store callback for click handler
-            this.setPendingDeletionCallback(() -> this.handleHomeDeletion(player, homeName));
+            final Dialog dialog = this.dialogBuilder.createHomeDeletionDialog(player, homeName, session.getKey());
             
             player.showDialog(dialog);
             
@@ -93,13 +112,10 @@ public final class HomeCreationDialog {
         Objects.requireNonNull(oldHomeName, "Old home name cannot be null");
         
         try {
-            final HomeDialogBuilder dialogBuilder = new HomeDialogBuilder(this.plugin);
-            final Dialog dialog = dialogBuilder.createHomeRenameDialog(player, oldHomeName, newHomeName -> {
-                this.handleHomeRename(player, oldHomeName, newHomeName);
-            });
+            final DialogSession session = this.sessionRegistry.open(
+                player.getUniqueId(), DialogSession.Type.RENAME, oldHomeName);
             
-            // Store callback for click handler
-            this.setPendingRenameCallback(newHomeName -> this.handleHomeRename(player, oldHomeName, newHomeName));
+            final Dialog dialog = this.dialogBuilder.createHomeRenameDialog(player, oldHomeName, session.getKey());
             
             player.showDialog(dialog);
             
@@ -109,70 +125,12 @@ public final class HomeCreationDialog {
         }
     }
 
-    /**
-     * Handles the home creation from dialog input
-     * @param player the player
-     * @param homeName the home name
-     */
-    private void handleHomeCreation(final @NotNull Player player, final @NotNull String homeName) {
-        Objects.requireNonNull(player, "Player cannot be null");
-        Objects.requireNonNull(homeName, "Home name cannot be null");
-        
-        // Clean the home name
-        final String cleanName = homeName.trim();
-        
-        // Validate home name
-        if (cleanName.isEmpty() || cleanName.length() > 16) {
-            player.sendMessage(this.plugin.getMessageManager().getMessage("error-invalid-name"));
-            return;
-        }
-        
-        try {
-            final boolean success = this.plugin.getHomeManager()
-                .createHome(player, cleanName, player.getLocation());
-            
-            if (success) {
-                // Send success message with nice formatting
-                player.sendMessage(Component.empty());
-                player.sendMessage(Component.text("✓ Dom został utworzony pomyślnie!")
-                    .color(NamedTextColor.GREEN)
-                    .decorate(TextDecoration.BOLD));
-                player.sendMessage(Component.text("Nazwa: ")
-                    .color(NamedTextColor.GRAY)
-                    .append(Component.text(cleanName).color(NamedTextColor.WHITE)));
-                player.sendMessage(Component.text("Lokalizacja: ")
-                    .color(NamedTextColor.GRAY)
-                    .append(Component.text(player.getLocation().getBlockX() + ", " + 
-                        player.getLocation().getBlockY() + ", " + 
-                        player.getLocation().getBlockZ()).color(NamedTextColor.WHITE)));
-                player.sendMessage(Component.empty());
-            } else {
-                // Check specific failure reasons
-                if (this.plugin.getHomeManager().hasHome(player, cleanName)) {
-                    player.sendMessage(Component.text("✗ Dom o tej nazwie już istnieje!")
-                        .color(NamedTextColor.RED));
-                } else if (!this.plugin.getHomeManager().canCreateHome(player)) {
-                    player.sendMessage(this.plugin.getMessageManager()
-                        .getMessage("error-max-homes"));
-                } else {
-                    player.sendMessage(this.plugin.getMessageManager()
-                        .getMessage("error-invalid-name"));
-                }
-            }
-        } catch (final DMHomesException exception) {
-            this.plugin.getLogger().warning("Failed to create home for player " 
-                + player.getName() + ": " + exception.getMessage());
-            player.sendMessage(Component.text("✗ Wystąpił błąd podczas tworzenia domu!")
-                .color(NamedTextColor.RED));
-        }
-    }
-
     /**
      * Handles home deletion from dialog
      * @param player the player
      * @param homeName the home name to delete
      */
-    private void handleHomeDeletion(final @NotNull Player player, final @NotNull String homeName) {
+    public void handleHomeDeletion(final @NotNull Player player, final @NotNull String homeName) {
         Objects.requireNonNull(player, "Player cannot be null");
         Objects.requireNonNull(homeName, "Home name cannot be null");
         
@@ -202,7 +160,7 @@ public final class HomeCreationDialog {
      * @param oldHomeName the old home name
      * @param newHomeName the new home name
      */
-    private void handleHomeRename(final @NotNull Player player, final @NotNull String oldHomeName, final @NotNull String newHomeName) {
+    public void handleHomeRename(final @NotNull Player player, final @NotNull String oldHomeName, final @NotNull String newHomeName) {
         Objects.requireNonNull(player, "Player cannot be null");
         Objects.requireNonNull(oldHomeName, "Old home name cannot be null");
         Objects.requireNonNull(newHomeName, "New home name cannot be null");
@@ -241,63 +199,6 @@ public final class HomeCreationDialog {
      * @return the dialog builder
      */
     public HomeDialogBuilder getDialogBuilder() {
-        return new HomeDialogBuilder(this.plugin);
-    }
-
-    /**
-     * Sets the pending callback for home creation
-     * @param callback the callback to set
-     */
-    public void setPendingCallback(final Consumer<String> callback) {
-        this.pendingCallback = callback;
-    }
-
-    /**
-     * Sets the pending callback for home renaming
-     * @param callback the callback to set
-     */
-    public void setPendingRenameCallback(final Consumer<String> callback) {
-        this.pendingRenameCallback = callback;
-    }
-
-    /**
-     * Sets the pending callback for home deletion
-     * @param callback the callback to set
-     */
-    public void setPendingDeletionCallback(final Runnable callback) {
-        this.pendingDeletionCallback = callback;
-    }
-
-    /**
-     * Gets the pending callback for home creation
-     * @return the pending callback
-     */
-    public Consumer<String> getPendingCallback() {
-        return this.pendingCallback;
-    }
-
-    /**
-     * Gets the pending callback for home renaming
-     * @return the pending rename callback
-     */
-    public Consumer<String> getPendingRenameCallback() {
-        return this.pendingRenameCallback;
-    }
-
-    /**
-     * Gets the pending callback for home deletion
-     * @return the pending deletion callback
-     */
-    public Runnable getPendingDeletionCallback() {
-        return this.pendingDeletionCallback;
-    }
-
-    /**
-     * Clears the pending callbacks
-     */
-    public void clearPendingCallbacks() {
-        this.pendingCallback = null;
-        this.pendingRenameCallback = null;
-        this.pendingDeletionCallback = null;
+        return this.dialogBuilder;
     }
 }
\ No newline at end of file
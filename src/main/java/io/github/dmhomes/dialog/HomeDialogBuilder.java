@@ -10,208 +10,266 @@ import io.papermc.paper.registry.data.dialog.input.DialogInput;
 import io.papermc.paper.registry.data.dialog.type.DialogType;
 import net.kyori.adventure.key.Key;
 import net.kyori.adventure.text.Component;
-import net.kyori.adventure.text.format.NamedTextColor;
-import net.kyori.adventure.text.format.TextColor;
-import net.kyori.adventure.text.format.TextDecoration;
+import net.kyori.adventure.text.TextReplacementConfig;
 import net.kyori.adventure.text.minimessage.MiniMessage;
+import org.bukkit.configuration.file.FileConfiguration;
 import org.bukkit.entity.Player;
 import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
 
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Objects;
-import java.util.UUID;
 
 /**
  * Builder for creating home-related dialogs using Paper Dialog API
+ * The static parts of each dialog are compiled once per reload, only the action key
+ * and the {home_name} placeholder are filled in when a dialog is opened
  */
 @SuppressWarnings("UnstableApiUsage")
 public final class HomeDialogBuilder {
 
+    private static final String HOME_NAME_PLACEHOLDER = "{home_name}";
+
     private final DMHomesPlugin plugin;
     private final MiniMessage miniMessage = MiniMessage.miniMessage();
 
+    private DialogTemplate creationTemplate;
+    private DialogTemplate deletionTemplate;
+    private DialogTemplate renameTemplate;
+
     public HomeDialogBuilder(final @NotNull DMHomesPlugin plugin) {
         this.plugin = Objects.requireNonNull(plugin, "Plugin cannot be null");
+        this.reload();
+    }
+
+    /**
+     * Recompiles all dialog templates from the configuration
+     */
+    public void reload() {
+        this.creationTemplate = this.compileTemplate("create-home",
+            "<gold><bold>Tworzenie nowego domu</bold></gold>",
+            new String[] {
+                "<white>Wprowadź nazwę dla swojego nowego domu:</white>",
+                null,
+                "<gray>• Nazwa może zawierać tylko litery, cyfry i _</gray>",
+                "<gray>• Maksymalna długość: 16 znaków</gray>"
+            },
+            "home_name", "<green>Nazwa domu</green>",
+            "create", "<green>Utwórz dom</green>", "<gray>Kliknij aby utworzyć dom</gray>",
+            "<red>Anuluj</red>", "<gray>Kliknij aby anulować</gray>");
+
+        this.deletionTemplate = this.compileTemplate("delete-home",
+            "<red><bold>Usuwanie domu</bold></red>",
+            new String[] {
+                "<white>Czy na pewno chcesz usunąć dom '{home_name}'?</white>",
+                null,
+                "<red><bold>⚠ Ta akcja jest nieodwracalna!</bold></red>"
+            },
+            null, null,
+            "confirm", "<red>Tak, usuń</red>", "<gray>Kliknij aby potwierdzić usunięcie</gray>",
+            "<green>Nie, anuluj</green>", "<gray>Kliknij aby anulować</gray>");
+
+        this.renameTemplate = this.compileTemplate("rename-home",
+            "<yellow><bold>Zmiana nazwy domu</bold></yellow>",
+            new String[] {
+                "<white>Wprowadź nową nazwę dla domu '{home_name}':</white>",
+                null,
+                "<gray>• Nazwa może zawierać tylko litery, cyfry i _</gray>",
+                "<gray>• Maksymalna długość: 16 znaków</gray>"
+            },
+            "new_home_name", "<green>Nowa nazwa</green>",
+            "confirm", "<yellow>Zmień nazwę</yellow>", "<gray>Kliknij aby zmienić nazwę</gray>",
+            "<red>Anuluj</red>", "<gray>Kliknij aby anulować</gray>");
     }
 
     /**
      * Creates a home creation dialog with text input
      * @param player the player
-     * @param callback the callback when input is received
+     * @param actionKey the session key sent back when the player confirms
      * @return the created dialog
      */
-    public @NotNull Dialog createHomeCreationDialog(final @NotNull Player player, 
-                                                   final @NotNull java.util.function.Consumer<String> callback) {
+    public @NotNull Dialog createHomeCreationDialog(final @NotNull Player player,
+                                                   final @NotNull Key actionKey) {
         Objects.requireNonNull(player, "Player cannot be null");
-        Objects.requireNonNull(callback, "Callback cannot be null");
-
-        final UUID playerId = player.getUniqueId();
-        
-        // Create dialog body
-        final List<DialogBody> body = new ArrayList<>();
-        body.add(DialogBody.plainMessage(this.miniMessage.deserialize(
-            this.plugin.getConfigManager().getConfig().getString("dialogs.create-home.body.0", 
-                "<white>Wprowadź nazwę dla swojego nowego domu:</white>"))));
-        body.add(DialogBody.plainMessage(Component.empty()));
-        body.add(DialogBody.plainMessage(this.miniMessage.deserialize(
-            this.plugin.getConfigManager().getConfig().getString("dialogs.create-home.body.1", 
-                "<gray>• Nazwa może zawierać tylko litery, cyfry i _</gray>"))));
-        body.add(DialogBody.plainMessage(this.miniMessage.deserialize(
-            this.plugin.getConfigManager().getConfig().getString("dialogs.create-home.body.2", 
-                "<gray>• Maksymalna długość: 16 znaków</gray>"))));
+        Objects.requireNonNull(actionKey, "Action key cannot be null");
 
-        return Dialog.create(factory -> factory.empty()
-            .base(DialogBase.builder(this.miniMessage.deserialize(
-                this.plugin.getConfigManager().getConfig().getString("dialogs.create-home.title", 
-                    "<gold><bold>Tworzenie nowego domu</bold></gold>")))
-                .canCloseWithEscape(true)
-                .body(body)
-                .inputs(List.of(
-                    DialogInput.text("home_name", this.miniMessage.deserialize(
-                        this.plugin.getConfigManager().getConfig().getString("dialogs.create-home.input.placeholder", 
-                            "<green>Nazwa domu</green>")))
-                        .maxLength(16)
-                        .build()
-                ))
-                .build()
-            )
-            .type(DialogType.confirmation(
-                ActionButton.builder(this.miniMessage.deserialize(
-                    this.plugin.getConfigManager().getConfig().getString("dialogs.create-home.buttons.create.text", 
-                        "<green>Utwórz dom</green>")))
-                    .tooltip(this.miniMessage.deserialize(
-                        this.plugin.getConfigManager().getConfig().getString("dialogs.create-home.buttons.create.tooltip", 
-                            "<gray>Kliknij aby utworzyć dom</gray>")))
-                    .action(DialogAction.customClick(Key.key("dmhomes:create_home/" + playerId), null))
-                    .build(),
-                ActionButton.builder(this.miniMessage.deserialize(
-                    this.plugin.getConfigManager().getConfig().getString("dialogs.create-home.buttons.cancel.text", 
-                        "<red>Anuluj</red>")))
-                    .tooltip(this.miniMessage.deserialize(
-                        this.plugin.getConfigManager().getConfig().getString("dialogs.create-home.buttons.cancel.tooltip", 
-                            "<gray>Kliknij aby anulować</gray>")))
-                    .action(null) // null action closes the dialog
-                    .build()
-            ))
-        );
+        return this.buildDialog(this.creationTemplate, null, actionKey);
     }
 
     /**
      * Creates a home deletion confirmation dialog
      * @param player the player
      * @param homeName the home name to delete
-     * @param callback the callback when confirmed
+     * @param actionKey the session key sent back when the player confirms
      * @return the created dialog
      */
-    public @NotNull Dialog createHomeDeletionDialog(final @NotNull Player player, 
+    public @NotNull Dialog createHomeDeletionDialog(final @NotNull Player player,
                                                    final @NotNull String homeName,
-                                                   final @NotNull Runnable callback) {
+                                                   final @NotNull Key actionKey) {
         Objects.requireNonNull(player, "Player cannot be null");
         Objects.requireNonNull(homeName, "Home name cannot be null");
-        Objects.requireNonNull(callback, "Callback cannot be null");
+        Objects.requireNonNull(actionKey, "Action key cannot be null");
 
-        final UUID playerId = player.getUniqueId();
-        
-        return Dialog.create(factory -> factory.empty()
-            .base(DialogBase.builder(this.miniMessage.deserialize(
-                this.plugin.getConfigManager().getConfig().getString("dialogs.delete-home.title", 
-                    "<red><bold>Usuwanie domu</bold></red>")))
-                .canCloseWithEscape(true)
-                .body(List.of(
-                    DialogBody.plainMessage(this.miniMessage.deserialize(
-                        this.plugin.getConfigManager().getConfig().getString("dialogs.delete-home.body.0", 
-                            "<white>Czy na pewno chcesz usunąć dom '{home_name}'?</white>")
-                            .replace("{home_name}", homeName))),
-                    DialogBody.plainMessage(Component.empty()),
-                    DialogBody.plainMessage(this.miniMessage.deserialize(
-                        this.plugin.getConfigManager().getConfig().getString("dialogs.delete-home.body.1", 
-                            "<red><bold>⚠ Ta akcja jest nieodwracalna!</bold></red>")))
-                ))
-                .build()
-            )
-            .type(DialogType.confirmation(
-                ActionButton.builder(this.miniMessage.deserialize(
-                    this.plugin.getConfigManager().getConfig().getString("dialogs.delete-home.buttons.confirm.text", 
-                        "<red>Tak, usuń</red>")))
-                    .tooltip(this.miniMessage.deserialize(
-                        this.plugin.getConfigManager().getConfig().getString("dialogs.delete-home.buttons.confirm.tooltip", 
-                            "<gray>Kliknij aby potwierdzić usunięcie</gray>")))
-                    .action(DialogAction.customClick(Key.key("dmhomes:delete_home/" + playerId), null))
-                    .build(),
-                ActionButton.builder(this.miniMessage.deserialize(
-                    this.plugin.getConfigManager().getConfig().getString("dialogs.delete-home.buttons.cancel.text", 
-                        "<green>Nie, anuluj</green>")))
-                    .tooltip(this.miniMessage.deserialize(
-                        this.plugin.getConfigManager().getConfig().getString("dialogs.delete-home.buttons.cancel.tooltip", 
-                            "<gray>Kliknij aby anulować</gray>")))
-                    .action(null) // null action closes the dialog
-                    .build()
-            ))
-        );
+        return this.buildDialog(this.deletionTemplate, homeName, actionKey);
     }
 
     /**
      * Creates a home rename dialog with text input
      * @param player the player
      * @param oldHomeName the current home name
-     * @param callback the callback when new name is received
+     * @param actionKey the session key sent back when the player confirms
      * @return the created dialog
      */
-    public @NotNull Dialog createHomeRenameDialog(final @NotNull Player player, 
+    public @NotNull Dialog createHomeRenameDialog(final @NotNull Player player,
                                                  final @NotNull String oldHomeName,
-                                                 final @NotNull java.util.function.Consumer<String> callback) {
+                                                 final @NotNull Key actionKey) {
         Objects.requireNonNull(player, "Player cannot be null");
         Objects.requireNonNull(oldHomeName, "Old home name cannot be null");
-        Objects.requireNonNull(callback, "Callback cannot be null");
+        Objects.requireNonNull(actionKey, "Action key cannot be null");
 
-        final UUID playerId = player.getUniqueId();
-        
+        return this.buildDialog(this.renameTemplate, oldHomeName, actionKey);
+    }
+
+    /**
+     * Builds a dialog from a compiled template
+     * @param template the template
+     * @param homeName the value for the {home_name} placeholder, if any
+     * @param actionKey the key sent back by the confirm button
+     * @return the created dialog
+     */
+    private @NotNull Dialog buildDialog(final @NotNull DialogTemplate template,
+                                        final @Nullable String homeName,
+                                        final @NotNull Key actionKey) {
+        final List<DialogBody> body = new ArrayList<>(template.body().size());
+        final TextReplacementConfig replacement = homeName == null ? null : TextReplacementConfig.builder()
+            .matchLiteral(HOME_NAME_PLACEHOLDER)
+            .replacement(homeName)
+            .build();
+
+        for (final BodyLine line : template.body()) {
+            if (line.hasHomeName() && replacement != null) {
+                body.add(DialogBody.plainMessage(line.component().replaceText(replacement)));
+            } else {
+                body.add(line.body());
+            }
+        }
+
+        final DialogBase.Builder base = DialogBase.builder(template.title())
+            .canCloseWithEscape(true)
+            .body(body);
+        if (template.input() != null) {
+            base.inputs(List.of(template.input()));
+        }
+
+        final ActionButton confirmButton = ActionButton.builder(template.confirmText())
+            .tooltip(template.confirmTooltip())
+            .action(DialogAction.customClick(actionKey, null))
+            .build();
+
+        final DialogBase dialogBase = base.build();
         return Dialog.create(factory -> factory.empty()
-            .base(DialogBase.builder(this.miniMessage.deserialize(
-                this.plugin.getConfigManager().getConfig().getString("dialogs.rename-home.title", 
-                    "<yellow><bold>Zmiana nazwy domu</bold></yellow>")))
-                .canCloseWithEscape(true)
-                .body(List.of(
-                    DialogBody.plainMessage(this.miniMessage.deserialize(
-                        this.plugin.getConfigManager().getConfig().getString("dialogs.rename-home.body.0", 
-                            "<white>Wprowadź nową nazwę dla domu '{home_name}':</white>")
-                            .replace("{home_name}", oldHomeName))),
-                    DialogBody.plainMessage(Component.empty()),
-                    DialogBody.plainMessage(this.miniMessage.deserialize(
-                        this.plugin.getConfigManager().getConfig().getString("dialogs.rename-home.body.1", 
-                            "<gray>• Nazwa może zawierać tylko litery, cyfry i _</gray>"))),
-                    DialogBody.plainMessage(this.miniMessage.deserialize(
-                        this.plugin.getConfigManager().getConfig().getString("dialogs.rename-home.body.2", 
-                            "<gray>• Maksymalna długość: 16 znaków</gray>")))
-                ))
-                .inputs(List.of(
-                    DialogInput.text("new_home_name", this.miniMessage.deserialize(
-                        this.plugin.getConfigManager().getConfig().getString("dialogs.rename-home.input.placeholder", 
-                            "<green>Nowa nazwa</green>")))
-                        .maxLength(16)
-                        .build()
-                ))
-                .build()
-            )
-            .type(DialogType.confirmation(
-                ActionButton.builder(this.miniMessage.deserialize(
-                    this.plugin.getConfigManager().getConfig().getString("dialogs.rename-home.buttons.confirm.text", 
-                        "<yellow>Zmień nazwę</yellow>")))
-                    .tooltip(this.miniMessage.deserialize(
-                        this.plugin.getConfigManager().getConfig().getString("dialogs.rename-home.buttons.confirm.tooltip", 
-                            "<gray>Kliknij aby zmienić nazwę</gray>")))
-                    .action(DialogAction.customClick(Key.key("dmhomes:rename_home/" + playerId), null))
-                    .build(),
-                ActionButton.builder(this.miniMessage.deserialize(
-                    this.plugin.getConfigManager().getConfig().getString("dialogs.rename-home.buttons.cancel.text", 
-                        "<red>Anuluj</red>")))
-                    .tooltip(this.miniMessage.deserialize(
-                        this.plugin.getConfigManager().getConfig().getString("dialogs.rename-home.buttons.cancel.tooltip", 
-                            "<gray>Kliknij aby anulować</gray>")))
-                    .action(null) // null action closes the dialog
-                    .build()
-            ))
+            .base(dialogBase)
+            .type(DialogType.confirmation(confirmButton, template.cancelButton()))
         );
     }
-}
\ No newline at end of file
+
+    /**
+     * Compiles the static parts of a dialog from its configuration section
+     * @param dialogName the dialog name under "dialogs"
+     * @param defaultTitle the default title
+     * @param defaultBody the default body lines, null entries are fixed empty lines
+     * @param inputId the text input id or null if the dialog has no input
+     * @param defaultInputLabel the default input label
+     * @param confirmButtonName the confirm button name under "buttons"
+     * @param defaultConfirmText the default confirm button text
+     * @param defaultConfirmTooltip the default confirm button tooltip
+     * @param defaultCancelText the default cancel button text
+     * @param defaultCancelTooltip the default cancel button tooltip
+     * @return the compiled template
+     */
+    private @NotNull DialogTemplate compileTemplate(final @NotNull String dialogName,
+                                                    final @NotNull String defaultTitle,
+                                                    final @Nullable String[] defaultBody,
+                                                    final @Nullable String inputId,
+                                                    final @Nullable String defaultInputLabel,
+                                                    final @NotNull String confirmButtonName,
+                                                    final @NotNull String defaultConfirmText,
+                                                    final @NotNull String defaultConfirmTooltip,
+                                                    final @NotNull String defaultCancelText,
+                                                    final @NotNull String defaultCancelTooltip) {
+        final String path = "dialogs." + dialogName + ".";
+
+        final List<BodyLine> body = new ArrayList<>(defaultBody.length);
+        int configLine = 0;
+        for (final String defaultLine : defaultBody) {
+            if (defaultLine == null) {
+                body.add(new BodyLine(Component.empty(), DialogBody.plainMessage(Component.empty()), false));
+                continue;
+            }
+
+            final String raw = this.getString(path + "body." + configLine++, defaultLine);
+            final Component component = this.miniMessage.deserialize(raw);
+            body.add(new BodyLine(component, DialogBody.plainMessage(component), raw.contains(HOME_NAME_PLACEHOLDER)));
+        }
+
+        DialogInput input = null;
+        if (inputId != null) {
+            input = DialogInput.text(inputId, this.parse(path + "input.placeholder", defaultInputLabel))
+                .maxLength(this.plugin.getConfigManager().getConfig().getInt(path + "input.max-length", 16))
+                .build();
+        }
+
+        final ActionButton cancelButton = ActionButton.builder(this.parse(path + "buttons.cancel.text", defaultCancelText))
+            .tooltip(this.parse(path + "buttons.cancel.tooltip", defaultCancelTooltip))
+            .action(null) // null action closes the dialog
+            .build();
+
+        return new DialogTemplate(
+            this.parse(path + "title", defaultTitle),
+            List.copyOf(body),
+            input,
+            this.parse(path + "buttons." + confirmButtonName + ".text", defaultConfirmText),
+            this.parse(path + "buttons." + confirmButtonName + ".tooltip", defaultConfirmTooltip),
+            cancelButton
+        );
+    }
+
+    /**
+     * Reads and parses a MiniMessage string from the configuration
+     * @param path the configuration path
+     * @param defaultValue the default value
+     * @return the parsed component
+     */
+    private @NotNull Component parse(final @NotNull String path, final @NotNull String defaultValue) {
+        return this.miniMessage.deserialize(this.getString(path, defaultValue));
+    }
+
+    /**
+     * Reads a string from the configuration
+     * @param path the configuration path
+     * @param defaultValue the default value
+     * @return the configured string or the default
+     */
+    private @NotNull String getString(final @NotNull String path, final @NotNull String defaultValue) {
+        final FileConfiguration config = this.plugin.getConfigManager().getConfig();
+        return config.getString(path, defaultValue);
+    }
+
+    /**
+     * Pre-parsed static parts of a dialog
+     */
+    private record DialogTemplate(@NotNull Component title,
+                                  @NotNull List<BodyLine> body,
+                                  @Nullable DialogInput input,
+                                  @NotNull Component confirmText,
+                                  @NotNull Component confirmTooltip,
+                                  @NotNull ActionButton cancelButton) {
+    }
+
+    /**
+     * A pre-parsed body line, lines with {home_name} are rebuilt when the dialog opens
+     */
+    private record BodyLine(@NotNull Component component, @NotNull DialogBody body, boolean hasHomeName) {
+    }
+}
@@ -1,30 +1,86 @@
 package io.github.dmhomes.gui;
 
 import io.github.dmhomes.DMHomesPlugin;
+import io.github.dmhomes.metrics.MemoryEstimates;
+import io.github.dmhomes.utils.ActionRateLimiter;
+import lombok.AccessLevel;
 import lombok.Getter;
 import net.kyori.adventure.text.Component;
 import net.kyori.adventure.text.minimessage.MiniMessage;
 import org.bukkit.Bukkit;
 import org.bukkit.entity.Player;
+import org.bukkit.event.inventory.ClickType;
 import org.bukkit.inventory.Inventory;
 import org.bukkit.inventory.InventoryHolder;
+import org.bukkit.inventory.ItemStack;
 import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
 
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Objects;
 
 /**
  * Base class for all GUI implementations
+ * Subclasses render into a virtual slot model; only slots whose content changed are sent to the inventory
+ * Click handlers are bound per slot while rendering and take effect together with the rendered content
+ * Rendering runs in two phases: the slot model and title are prepared (off the main thread when
+ * guis.async-render is enabled), then applied to the inventory on the main thread
+ * Everything a render reads from Bukkit or the data managers is captured by {@link #snapshot()} on the main thread first
  */
 @Getter
 public abstract class BaseGUI implements InventoryHolder {
 
     protected final DMHomesPlugin plugin;
     protected final Player player;
-    protected final Inventory inventory;
+    protected final int size;
+    private final String title;
     private final MiniMessage miniMessage = MiniMessage.miniMessage();
+    
+    // Created on the main thread by the first apply
+    @Getter(AccessLevel.NONE)
+    private Inventory inventory;
+    
+    // Deserialized by the first prepare phase
+    @Getter(AccessLevel.NONE)
+    private volatile Component titleComponent;
+    
+    // Guards the render state of subclasses, renders may run on an async thread
+    @Getter(AccessLevel.NONE)
+    private final Object renderLock = new Object();
+    
+    // Last content applied to the inventory, per slot
+    @Getter(AccessLevel.NONE)
+    private final ItemStack[] renderedSlots;
+    
+    // Click handlers of the applied frame, per slot
+    @Getter(AccessLevel.NONE)
+    private SlotHandler[] slotHandlers = new SlotHandler[0];
+    
+    // Content and handlers being rendered by the current prepare phase, null outside of a render
+    @Getter(AccessLevel.NONE)
+    private ItemStack[] frame;
+    
+    @Getter(AccessLevel.NONE)
+    private SlotHandler[] frameHandlers;
+    
+    // Main-thread side effects queued by the current prepare phase, run once its frame is applied
+    @Getter(AccessLevel.NONE)
+    private List<Runnable> frameEffects;
+    
+    // Frames are numbered when prepared so that a slow render never overwrites a newer one
+    @Getter(AccessLevel.NONE)
+    private long preparedFrames;
+    
+    @Getter(AccessLevel.NONE)
+    private long appliedFrame;
+    
+    @Getter(AccessLevel.NONE)
+    private volatile boolean rendered;
 
     /**
      * Creates a new BaseGUI instance
+     * The inventory itself is only created when the GUI is first applied on the main thread
      * @param plugin the plugin instance
      * @param player the player viewing the GUI
      * @param title the GUI title
@@ -36,35 +92,278 @@ public abstract class BaseGUI implements InventoryHolder {
                      final int size) {
         this.plugin = Objects.requireNonNull(plugin, "Plugin cannot be null");
         this.player = Objects.requireNonNull(player, "Player cannot be null");
-        Objects.requireNonNull(title, "Title cannot be null");
+        this.title = Objects.requireNonNull(title, "Title cannot be null");
         
         if (size <= 0 || size % 9 != 0 || size > 54) {
             throw new IllegalArgumentException("Invalid GUI size: " + size);
         }
         
-        final Component titleComponent = this.miniMessage.deserialize(title);
-        this.inventory = Bukkit.createInventory(this, size, titleComponent);
+        this.size = size;
+        this.renderedSlots = new ItemStack[size];
+    }
+
+    /**
+     * Renders the GUI content into the slot model using {@link #setSlot(int, ItemStack, SlotHandler)}
+     * Slots that are not set are rendered empty and ignore clicks
+     * May run off the main thread, implementations must only read the state captured by {@link #snapshot()}
+     * and queue Bukkit side effects with {@link #runAfterApply(Runnable)}
+     */
+    protected abstract void render();
+
+    /**
+     * Captures the player and home state the next render reads
+     * Always called on the main thread before the prepare phase
+     */
+    protected void snapshot() {
+        // Default implementation captures nothing
+    }
+
+    /**
+     * Dispatches a click to the handler bound to the slot by the applied frame
+     * Repeated clicks within the configured click interval are dropped
+     * @param player the clicking player
+     * @param slot the clicked slot
+     * @param click the click type
+     */
+    public final void handleClick(final @NotNull Player player, final int slot, final @NotNull ClickType click) {
+        final SlotHandler[] handlers = this.slotHandlers;
+        final SlotHandler handler = slot >= 0 && slot < handlers.length ? handlers[slot] : null;
         
-        this.setupGUI();
+        if (handler != null && this.tryAction(player, ActionRateLimiter.Action.CLICK)) {
+            handler.onClick(player, click);
+        }
     }
 
     /**
-     * Sets up the GUI with initial items
-     * This method should be overridden by subclasses to populate the GUI
+     * Checks the player's rate limit for an action, recording it if allowed
+     * @param clicker the acting player
+     * @param action the action type
+     * @return true if the action may proceed
      */
-    protected abstract void setupGUI();
+    protected final boolean tryAction(final @NotNull Player clicker, final @NotNull ActionRateLimiter.Action action) {
+        return this.plugin.getActionRateLimiter().tryAcquire(clicker.getUniqueId(), action);
+    }
 
     /**
      * Refreshes the GUI content
-     * This method should be overridden by subclasses to update the GUI
+     * Renders a fresh slot model and applies only the slots that changed
      */
-    public abstract void refresh();
+    public final void refresh() {
+        this.renderAndApply(false);
+    }
 
     /**
-     * Opens the GUI for the player
+     * Opens the GUI for the player, rendering it first if it was never rendered or is stale
      */
     public final void open() {
+        if (this.rendered && !this.isStale()) {
+            this.openInventory();
+            return;
+        }
+        
+        this.renderAndApply(true);
+    }
+
+    /**
+     * Checks if the applied content no longer matches the data it was rendered from
+     * Override this method so that reopening a GUI, e.g. a parent menu, renders it again
+     * @return true if the GUI must be rendered before it is opened again
+     */
+    protected boolean isStale() {
+        return false;
+    }
+
+    /**
+     * Called on the main thread when the homes of the player viewing this GUI changed while it is open
+     * Override this method to refresh the parts of the GUI that show homes
+     */
+    public void onHomesChanged() {
+        // Default implementation does nothing
+    }
+
+    /**
+     * Opens the inventory and records this GUI as the player's open session
+     */
+    private void openInventory() {
         this.player.openInventory(this.inventory);
+        this.plugin.getGuiSessionRegistry().register(this);
+    }
+
+    /**
+     * Runs the prepare phase and hands the result to the main thread for the apply phase
+     * @param openAfterApply whether to open the inventory once applied
+     */
+    private void renderAndApply(final boolean openAfterApply) {
+        try {
+            this.snapshot();
+        } catch (final Exception exception) {
+            this.plugin.getLogger().severe("Error capturing " + this.getClass().getSimpleName() 
+                + " state for player " + this.player.getName() + ": " + exception.getMessage());
+        }
+        
+        if (!this.plugin.getConfigManager().isAsyncGuiRendering()) {
+            this.apply(this.prepare(), openAfterApply);
+            return;
+        }
+        
+        this.plugin.getServer().getScheduler().runTaskAsynchronously(this.plugin, () -> {
+            final PreparedFrame prepared = this.prepare();
+            final long handoffStart = System.nanoTime();
+            
+            this.plugin.getServer().getScheduler().runTask(this.plugin, () -> {
+                this.plugin.getGuiRenderTimings().record(GuiRenderTimings.Phase.HANDOFF, System.nanoTime() - handoffStart);
+                
+                if (this.player.isOnline()) {
+                    this.apply(prepared, openAfterApply);
+                }
+            });
+        });
+    }
+
+    /**
+     * Prepare phase: renders a fresh slot model and deserializes the title if needed
+     * @return the prepared frame
+     */
+    private @NotNull PreparedFrame prepare() {
+        final long start = System.nanoTime();
+        
+        if (this.titleComponent == null) {
+            this.titleComponent = this.miniMessage.deserialize(this.title);
+        }
+        
+        final PreparedFrame prepared;
+        synchronized (this.renderLock) {
+            this.frame = new ItemStack[this.size];
+            this.frameHandlers = new SlotHandler[this.size];
+            this.frameEffects = new ArrayList<>(0);
+            
+            try {
+                this.render();
+            } catch (final Exception exception) {
+                this.plugin.getLogger().severe("Error refreshing " + this.getClass().getSimpleName() 
+                    + " for player " + this.player.getName() + ": " + exception.getMessage());
+            }
+            
+            prepared = new PreparedFrame(++this.preparedFrames, this.frame, this.frameHandlers, this.frameEffects);
+            this.frame = null;
+            this.frameHandlers = null;
+            this.frameEffects = null;
+        }
+        
+        this.plugin.getGuiRenderTimings().record(GuiRenderTimings.Phase.PREPARE, System.nanoTime() - start);
+        return prepared;
+    }
+
+    /**
+     * Apply phase: creates the inventory if needed, applies the changed slots and optionally opens it
+     * Must run on the main thread
+     * @param prepared the prepared frame
+     * @param openAfterApply whether to open the inventory once applied
+     */
+    private void apply(final @NotNull PreparedFrame prepared, final boolean openAfterApply) {
+        final long start = System.nanoTime();
+        
+        if (this.inventory == null) {
+            this.inventory = Bukkit.createInventory(this, this.size, this.titleComponent);
+        }
+        
+        if (prepared.sequence() > this.appliedFrame) {
+            this.appliedFrame = prepared.sequence();
+            this.applyFrame(prepared.slots());
+            this.slotHandlers = prepared.handlers();
+            this.rendered = true;
+            prepared.effects().forEach(Runnable::run);
+        }
+        
+        if (openAfterApply) {
+            this.openInventory();
+        }
+        
+        this.plugin.getGuiRenderTimings().record(GuiRenderTimings.Phase.APPLY, System.nanoTime() - start);
+    }
+
+    /**
+     * Runs a task against the render state, off the main thread when async rendering is enabled
+     * @param task the task, run while holding the render lock
+     */
+    protected final void runRenderTask(final @NotNull Runnable task) {
+        final Runnable locked = () -> {
+            synchronized (this.renderLock) {
+                task.run();
+            }
+        };
+        
+        if (this.plugin.getConfigManager().isAsyncGuiRendering()) {
+            this.plugin.getServer().getScheduler().runTaskAsynchronously(this.plugin, locked);
+        } else {
+            this.plugin.getServer().getScheduler().runTask(this.plugin, locked);
+        }
+    }
+
+    /**
+     * Estimates the heap retained by this GUI
+     * Counts the inventory contents and the last rendered slot model, subclasses add their own caches
+     * @return the estimated bytes
+     */
+    public long estimateRetainedBytes() {
+        long bytes = 2 * MemoryEstimates.referenceArray(this.size) + MemoryEstimates.referenceArray(this.slotHandlers.length);
+        for (final ItemStack item : this.renderedSlots) {
+            // The inventory holds its own copy of every rendered item
+            bytes += 2 * MemoryEstimates.itemStack(item);
+        }
+        return bytes;
+    }
+
+    /**
+     * Sets the content of a slot in the slot model being rendered, without a click handler
+     * @param slot the slot number
+     * @param item the item or null for an empty slot
+     */
+    protected final void setSlot(final int slot, final @Nullable ItemStack item) {
+        this.setSlot(slot, item, null);
+    }
+
+    /**
+     * Sets the content and click handler of a slot in the slot model being rendered
+     * @param slot the slot number
+     * @param item the item or null for an empty slot
+     * @param handler the click handler or null if the slot ignores clicks
+     */
+    protected final void setSlot(final int slot, final @Nullable ItemStack item, final @Nullable SlotHandler handler) {
+        if (this.frame == null) {
+            throw new IllegalStateException("Slots can only be set while rendering");
+        }
+        
+        if (this.isValidSlot(slot)) {
+            this.frame[slot] = item;
+            this.frameHandlers[slot] = handler;
+        }
+    }
+
+    /**
+     * Queues a side effect, such as a sound, to run on the main thread once the frame being rendered is applied
+     * @param effect the side effect
+     */
+    protected final void runAfterApply(final @NotNull Runnable effect) {
+        if (this.frameEffects == null) {
+            throw new IllegalStateException("Side effects can only be queued while rendering");
+        }
+        
+        this.frameEffects.add(effect);
+    }
+
+    /**
+     * Applies a rendered slot model, updating only the slots whose content changed
+     * @param frame the rendered slot model
+     */
+    private void applyFrame(final @NotNull ItemStack[] frame) {
+        for (int slot = 0; slot < frame.length; slot++) {
+            final ItemStack item = frame[slot];
+            if (!Objects.equals(this.renderedSlots[slot], item)) {
+                this.inventory.setItem(slot, item);
+                this.renderedSlots[slot] = item;
+            }
+        }
     }
 
     /**
@@ -80,7 +379,7 @@ public abstract class BaseGUI implements InventoryHolder {
      * @return true if the inventory belongs to this GUI
      */
     public final boolean isThisInventory(final @NotNull Inventory inventory) {
-        return this.inventory.equals(inventory);
+        return this.inventory != null && this.inventory.equals(inventory);
     }
 
     /**
@@ -109,7 +408,7 @@ public abstract class BaseGUI implements InventoryHolder {
      * @return true if valid
      */
     protected final boolean isValidSlot(final int slot) {
-        return slot >= 0 && slot < this.inventory.getSize();
+        return slot >= 0 && slot < this.size;
     }
 
     /**
@@ -122,6 +421,20 @@ public abstract class BaseGUI implements InventoryHolder {
 
     @Override
     public @NotNull Inventory getInventory() {
+        if (this.inventory == null) {
+            throw new IllegalStateException("GUI inventory has not been created yet");
+        }
         return this.inventory;
     }
+
+    /**
+     * A slot model produced by the prepare phase
+     * @param sequence the order in which the frame was prepared
+     * @param slots the rendered slots
+     * @param handlers the click handlers per slot
+     * @param effects the side effects to run once the frame is applied
+     */
+    private record PreparedFrame(long sequence, @Nullable ItemStack @NotNull [] slots,
+                                 @Nullable SlotHandler @NotNull [] handlers, @NotNull List<Runnable> effects) {
+    }
 }
\ No newline at end of file
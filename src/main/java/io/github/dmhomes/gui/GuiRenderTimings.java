@@ -0,0 +1,88 @@
+package io.github.dmhomes.gui;
+
+import io.github.dmhomes.metrics.LatencyHistogram;
+import io.github.dmhomes.metrics.MetricsRegistry;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.Locale;
+
+/**
+ * Timings of the GUI rendering pipeline, per phase
+ * Each phase is backed by a latency histogram in the metrics registry
+ * Safe to record from any thread
+ */
+public final class GuiRenderTimings {
+
+    private final LatencyHistogram[] histograms = new LatencyHistogram[Phase.values().length];
+
+    /**
+     * Creates a new GuiRenderTimings instance
+     * @param metrics the registry to create the phase histograms in
+     */
+    public GuiRenderTimings(final @NotNull MetricsRegistry metrics) {
+        for (final Phase phase : Phase.values()) {
+            this.histograms[phase.ordinal()] = metrics.histogram(
+                "gui_" + phase.name().toLowerCase(Locale.ROOT) + "_seconds",
+                "Duration of the GUI render " + phase.name().toLowerCase(Locale.ROOT) + " phase"
+            );
+        }
+    }
+
+    /**
+     * Records the duration of a phase
+     * @param phase the phase
+     * @param nanos the duration in nanoseconds
+     */
+    public void record(final @NotNull Phase phase, final long nanos) {
+        this.histograms[phase.ordinal()].record(nanos);
+    }
+
+    /**
+     * Gets the number of recorded runs of a phase
+     * @param phase the phase
+     * @return the count
+     */
+    public long getCount(final @NotNull Phase phase) {
+        return this.histograms[phase.ordinal()].getCount();
+    }
+
+    /**
+     * Gets the average duration of a phase
+     * @param phase the phase
+     * @return the average in milliseconds, or 0 if nothing was recorded
+     */
+    public double getAverageMillis(final @NotNull Phase phase) {
+        return this.histograms[phase.ordinal()].getMeanMillis();
+    }
+
+    /**
+     * Gets a percentile of the durations of a phase
+     * @param phase the phase
+     * @param quantile the quantile between 0 and 1
+     * @return the percentile in milliseconds
+     */
+    public double getPercentileMillis(final @NotNull Phase phase, final double quantile) {
+        return this.histograms[phase.ordinal()].getQuantileMillis(quantile);
+    }
+
+    /**
+     * Gets the longest recorded duration of a phase
+     * @param phase the phase
+     * @return the maximum in milliseconds
+     */
+    public double getMaxMillis(final @NotNull Phase phase) {
+        return this.histograms[phase.ordinal()].getMaxMillis();
+    }
+
+    /**
+     * Phases of a GUI render
+     */
+    public enum Phase {
+        /** Building the slot model and title, off the main thread when async rendering is enabled */
+        PREPARE,
+        /** Waiting for the main thread after an async prepare */
+        HANDOFF,
+        /** Applying the slot model to the inventory and opening it, always on the main thread */
+        APPLY
+    }
+}
@@ -0,0 +1,115 @@
+package io.github.dmhomes.gui;
+
+import io.github.dmhomes.DMHomesPlugin;
+import io.github.dmhomes.metrics.MemoryEstimates;
+import io.github.dmhomes.metrics.MemoryUsage;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Registry of the GUI each player currently has open
+ * Home changes are pushed to the affected player's open GUI only, coalesced to one refresh per tick
+ */
+public final class GuiSessionRegistry {
+
+    private final DMHomesPlugin plugin;
+    private final Map<UUID, BaseGUI> openSessions = new ConcurrentHashMap<>();
+    private final Set<UUID> pendingRefreshes = ConcurrentHashMap.newKeySet();
+
+    /**
+     * Creates a new GuiSessionRegistry instance
+     * @param plugin the plugin instance
+     */
+    public GuiSessionRegistry(final @NotNull DMHomesPlugin plugin) {
+        this.plugin = Objects.requireNonNull(plugin, "Plugin cannot be null");
+    }
+
+    /**
+     * Records a GUI as the one its player has open
+     * @param gui the opened GUI
+     */
+    public void register(final @NotNull BaseGUI gui) {
+        this.openSessions.put(gui.getPlayer().getUniqueId(), gui);
+    }
+
+    /**
+     * Removes a GUI if it is still the one its player has open
+     * @param gui the closed GUI
+     */
+    public void unregister(final @NotNull BaseGUI gui) {
+        this.openSessions.remove(gui.getPlayer().getUniqueId(), gui);
+    }
+
+    /**
+     * Removes the open GUI of a player
+     * @param playerUuid the player's UUID
+     */
+    public void invalidate(final @NotNull UUID playerUuid) {
+        this.openSessions.remove(playerUuid);
+        this.pendingRefreshes.remove(playerUuid);
+    }
+
+    /**
+     * Gets the GUI a player has open
+     * @param playerUuid the player's UUID
+     * @return the open GUI or null if the player has none
+     */
+    public @Nullable BaseGUI getOpenGui(final @NotNull UUID playerUuid) {
+        return this.openSessions.get(playerUuid);
+    }
+
+    /**
+     * Notifies the player's open GUI that their homes changed
+     * The refresh runs on the next tick, after the whole mutation (including icon data) is done
+     * @param playerUuid the player's UUID
+     */
+    public void notifyHomesChanged(final @NotNull UUID playerUuid) {
+        if (!this.openSessions.containsKey(playerUuid) || !this.pendingRefreshes.add(playerUuid)) {
+            return;
+        }
+
+        this.plugin.getServer().getScheduler().runTask(this.plugin, () -> {
+            this.pendingRefreshes.remove(playerUuid);
+
+            final BaseGUI gui = this.openSessions.get(playerUuid);
+            if (gui != null) {
+                gui.onHomesChanged();
+            }
+        });
+    }
+
+    /**
+     * Notifies every open GUI that homes changed, e.g. after a reload
+     */
+    public void notifyAllHomesChanged() {
+        for (final UUID playerUuid : this.openSessions.keySet()) {
+            this.notifyHomesChanged(playerUuid);
+        }
+    }
+
+    /**
+     * Adds the estimated heap used by the open GUIs to a memory report
+     * Must be called from the main thread
+     * @param usage the report to add to
+     */
+    public void accountMemory(final @NotNull MemoryUsage usage) {
+        for (final Map.Entry<UUID, BaseGUI> entry : this.openSessions.entrySet()) {
+            usage.add(MemoryUsage.Subsystem.GUI_SESSIONS, entry.getKey(),
+                MemoryEstimates.MAP_ENTRY + entry.getValue().estimateRetainedBytes());
+        }
+    }
+
+    /**
+     * Gets the number of open GUI sessions
+     * @return the session count
+     */
+    public int size() {
+        return this.openSessions.size();
+    }
+}
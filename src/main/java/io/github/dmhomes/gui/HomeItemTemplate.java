@@ -0,0 +1,250 @@
+package io.github.dmhomes.gui;
+
+import io.github.dmhomes.DMHomesPlugin;
+import io.github.dmhomes.data.Home;
+import io.github.dmhomes.metrics.MemoryEstimates;
+import io.github.dmhomes.metrics.MemoryUsage;
+import io.github.dmhomes.utils.ItemBuilder;
+import net.kyori.adventure.text.Component;
+import net.kyori.adventure.text.TextReplacementConfig;
+import org.bukkit.configuration.ConfigurationSection;
+import org.bukkit.inventory.ItemStack;
+import org.bukkit.inventory.meta.ItemMeta;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.regex.Pattern;
+
+/**
+ * Pre-parsed occupied-slot item of the main menu
+ * Name and lore are parsed once per reload; custom icons only swap the base item, which is cached per icon ID
+ * Rendered items are cached per player until the player's homes or the configuration change
+ */
+public final class HomeItemTemplate {
+
+    private static final String GUI_NAME = "main-menu";
+    private static final Pattern PLACEHOLDER_PATTERN = Pattern.compile("\\{(home_name|home_world|home_x|home_y|home_z)}");
+
+    private final DMHomesPlugin plugin;
+
+    // Base items without meta, per icon ID
+    private final Map<String, ItemStack> baseItems = new ConcurrentHashMap<>();
+    
+    // Rendered items per player, valid for one home snapshot version and config generation
+    private final Map<UUID, PlayerItems> playerItems = new ConcurrentHashMap<>();
+
+    private volatile Template template;
+
+    /**
+     * Creates a new HomeItemTemplate instance
+     * @param plugin the plugin instance
+     */
+    public HomeItemTemplate(final @NotNull DMHomesPlugin plugin) {
+        this.plugin = Objects.requireNonNull(plugin, "Plugin cannot be null");
+        this.reload();
+    }
+
+    /**
+     * Parses the occupied-slot configuration again and drops the cached base items
+     */
+    public void reload() {
+        this.baseItems.clear();
+
+        final ConfigurationSection itemConfig = this.plugin.getConfigManager()
+            .getItemSection(GUI_NAME, "occupied-slot");
+        if (itemConfig == null) {
+            this.plugin.getLogger().warning("Missing occupied-slot configuration for main-menu GUI");
+            this.template = null;
+            return;
+        }
+
+        final String name = itemConfig.getString("name");
+        final List<Component> lore = new ArrayList<>();
+        for (final String loreLine : itemConfig.getStringList("lore")) {
+            lore.add(ItemBuilder.parseItemText(loreLine));
+        }
+
+        this.template = new Template(
+            itemConfig.getString("material", "minecraft:BLUE_BED"),
+            name != null ? ItemBuilder.parseItemText(name) : null,
+            List.copyOf(lore)
+        );
+    }
+
+    /**
+     * Gets the item of a player's home, rendering it only if the cached one is stale
+     * The returned item is shared and must not be modified
+     * @param playerUuid the owner's UUID
+     * @param version the version of the home snapshot the home was taken from
+     * @param home the home
+     * @param iconId the home's custom icon or null for the configured material
+     * @return the item or null if the occupied-slot item is not configured
+     */
+    public @Nullable ItemStack getItem(final @NotNull UUID playerUuid, final long version, final @NotNull Home home,
+                                       final @Nullable String iconId) {
+        final int generation = this.plugin.getConfigManager().getGeneration();
+        
+        PlayerItems items = this.playerItems.get(playerUuid);
+        if (items != null && version < items.version()) {
+            // Rendered from a snapshot older than the cached items, which must not be replaced by it
+            return this.render(home, iconId);
+        }
+        
+        if (items == null || items.version() != version || items.generation() != generation) {
+            items = new PlayerItems(version, generation, new ConcurrentHashMap<>());
+            this.playerItems.put(playerUuid, items);
+        }
+        
+        final String homeKey = home.getName().toLowerCase();
+        final CachedItem cached = items.items().get(homeKey);
+        if (cached != null && Objects.equals(cached.iconId(), iconId)) {
+            return cached.item();
+        }
+        
+        final ItemStack item = this.render(home, iconId);
+        if (item != null) {
+            items.items().put(homeKey, new CachedItem(iconId, item));
+        }
+        return item;
+    }
+
+    /**
+     * Drops the rendered items of a player
+     * @param playerUuid the player's UUID
+     */
+    public void invalidate(final @NotNull UUID playerUuid) {
+        this.playerItems.remove(playerUuid);
+    }
+
+    /**
+     * Adds the estimated heap used by the cached items to a memory report
+     * @param usage the report to add to
+     */
+    public void accountMemory(final @NotNull MemoryUsage usage) {
+        for (final Map.Entry<UUID, PlayerItems> entry : this.playerItems.entrySet()) {
+            long bytes = MemoryEstimates.MAP_ENTRY
+                + MemoryEstimates.align(MemoryEstimates.HEADER + MemoryEstimates.REFERENCE + 12L)
+                + MemoryEstimates.MAP;
+            for (final Map.Entry<String, CachedItem> item : entry.getValue().items().entrySet()) {
+                bytes += MemoryEstimates.MAP_ENTRY
+                    + MemoryEstimates.string(item.getKey())
+                    + MemoryEstimates.align(MemoryEstimates.HEADER + 2 * MemoryEstimates.REFERENCE)
+                    + MemoryEstimates.itemStack(item.getValue().item());
+            }
+            usage.add(MemoryUsage.Subsystem.ITEM_CACHE, entry.getKey(), bytes);
+        }
+
+        for (final Map.Entry<String, ItemStack> entry : this.baseItems.entrySet()) {
+            usage.add(MemoryUsage.Subsystem.SHARED, null, MemoryEstimates.MAP_ENTRY
+                + MemoryEstimates.string(entry.getKey()) + MemoryEstimates.itemStack(entry.getValue()));
+        }
+    }
+
+    /**
+     * Renders the item of a home
+     * @param home the home
+     * @param iconId the home's custom icon or null for the configured material
+     * @return the item or null if the occupied-slot item is not configured
+     */
+    public @Nullable ItemStack render(final @NotNull Home home, final @Nullable String iconId) {
+        Objects.requireNonNull(home, "Home cannot be null");
+
+        final Template current = this.template;
+        if (current == null) {
+            return null;
+        }
+
+        ItemStack base = iconId != null ? this.getBaseItem(iconId) : null;
+        if (base == null) {
+            base = this.getBaseItem(current.material());
+        }
+        if (base == null) {
+            return null;
+        }
+
+        final ItemStack item = base.clone();
+        final ItemMeta meta = item.getItemMeta();
+        if (meta == null) {
+            return item;
+        }
+
+        final TextReplacementConfig replacement = this.createReplacement(home);
+        if (current.name() != null) {
+            meta.displayName(current.name().replaceText(replacement));
+        }
+
+        if (!current.lore().isEmpty()) {
+            final List<Component> lore = new ArrayList<>(current.lore().size());
+            for (final Component loreLine : current.lore()) {
+                lore.add(loreLine.replaceText(replacement));
+            }
+            meta.lore(lore);
+        }
+
+        item.setItemMeta(meta);
+        return item;
+    }
+
+    /**
+     * Gets the cached base item for an icon ID
+     * @param iconId the icon ID
+     * @return the base item or null if the icon is invalid
+     */
+    private @Nullable ItemStack getBaseItem(final @NotNull String iconId) {
+        return this.baseItems.computeIfAbsent(iconId, ItemBuilder::createBase);
+    }
+
+    /**
+     * Creates the placeholder replacement for a home
+     * @param home the home
+     * @return the replacement config
+     */
+    private @NotNull TextReplacementConfig createReplacement(final @NotNull Home home) {
+        final String homeWorld = home.getLocation().getWorld() != null
+            ? home.getLocation().getWorld().getName() : "unknown";
+        final Map<String, String> values = Map.of(
+            "home_name", home.getName(),
+            "home_world", homeWorld,
+            "home_x", String.valueOf(home.getLocation().getBlockX()),
+            "home_y", String.valueOf(home.getLocation().getBlockY()),
+            "home_z", String.valueOf(home.getLocation().getBlockZ())
+        );
+
+        return TextReplacementConfig.builder()
+            .match(PLACEHOLDER_PATTERN)
+            .replacement((result, builder) -> builder.content(values.get(result.group(1))))
+            .build();
+    }
+
+    /**
+     * Parsed parts of the occupied-slot item
+     * @param material the default material
+     * @param name the name or null if none is configured
+     * @param lore the lore lines
+     */
+    private record Template(@NotNull String material, @Nullable Component name, @NotNull List<Component> lore) {
+    }
+
+    /**
+     * Rendered items of one player
+     * @param version the home snapshot version the items were rendered for
+     * @param generation the config generation the items were rendered with
+     * @param items the items by lowercased home name
+     */
+    private record PlayerItems(long version, int generation, @NotNull Map<String, CachedItem> items) {
+    }
+
+    /**
+     * A rendered home item
+     * @param iconId the icon it was rendered with
+     * @param item the item
+     */
+    private record CachedItem(@Nullable String iconId, @NotNull ItemStack item) {
+    }
+}
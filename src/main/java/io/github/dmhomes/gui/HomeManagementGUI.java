@@ -2,7 +2,6 @@ package io.github.dmhomes.gui;
 
 import io.github.dmhomes.DMHomesPlugin;
 import io.github.dmhomes.data.Home;
-import io.github.dmhomes.utils.GUIUtils;
 import io.github.dmhomes.utils.ItemBuilder;
 import lombok.Getter;
 import org.bukkit.configuration.ConfigurationSection;
@@ -48,24 +47,19 @@ public final class HomeManagementGUI extends BaseGUI {
     }
 
     @Override
-    protected void setupGUI() {
-        this.refresh();
+    public void onHomesChanged() {
+        // The managed home was renamed or deleted elsewhere, fall back to the refreshed main menu
+        if (!this.plugin.getHomeManager().hasHome(this.player, this.home.getName())) {
+            this.parentGUI.open();
+        }
     }
 
     @Override
-    public void refresh() {
-        // Clear the inventory first
-        this.inventory.clear();
-        
-        try {
-            this.addRenameButton();
-            this.addDeleteButton();
-            this.addChangeIconButton();
-            this.addBackButton();
-        } catch (final Exception exception) {
-            this.plugin.getLogger().severe("Error refreshing HomeManagementGUI for player " 
-                + this.player.getName() + ": " + exception.getMessage());
-        }
+    protected void render() {
+        this.addRenameButton();
+        this.addDeleteButton();
+        this.addChangeIconButton();
+        this.addBackButton();
     }
 
     /**
@@ -83,9 +77,8 @@ public final class HomeManagementGUI extends BaseGUI {
         final int slot = renameConfig.getInt("slot", 2);
         final ItemStack renameButton = ItemBuilder.createFromConfig(renameConfig);
         
-        if (renameButton != null) {
-            GUIUtils.setItem(this.inventory, slot, renameButton);
-        }
+        this.setSlot(slot, renameButton, (clicker, click) ->
+            this.plugin.getHomeCreationDialog().openRenameDialog(clicker, this.home.getName()));
     }
 
     /**
@@ -103,9 +96,8 @@ public final class HomeManagementGUI extends BaseGUI {
         final int slot = deleteConfig.getInt("slot", 4);
         final ItemStack deleteButton = ItemBuilder.createFromConfig(deleteConfig);
         
-        if (deleteButton != null) {
-            GUIUtils.setItem(this.inventory, slot, deleteButton);
-        }
+        this.setSlot(slot, deleteButton, (clicker, click) ->
+            this.plugin.getHomeCreationDialog().openDeletionDialog(clicker, this.home.getName()));
     }
 
     /**
@@ -123,9 +115,8 @@ public final class HomeManagementGUI extends BaseGUI {
         final int slot = iconConfig.getInt("slot", 6);
         final ItemStack iconButton = ItemBuilder.createFromConfig(iconConfig);
         
-        if (iconButton != null) {
-            GUIUtils.setItem(this.inventory, slot, iconButton);
-        }
+        this.setSlot(slot, iconButton, (clicker, click) ->
+            new IconSelectionGUI(this.plugin, clicker, this.home, this).open());
     }
 
     /**
@@ -143,72 +134,6 @@ public final class HomeManagementGUI extends BaseGUI {
         final int slot = backConfig.getInt("slot", 8);
         final ItemStack backButton = ItemBuilder.createFromConfig(backConfig);
         
-        if (backButton != null) {
-            GUIUtils.setItem(this.inventory, slot, backButton);
-        }
-    }
-
-    /**
-     * Checks if a slot represents the rename button
-     * @param slot the slot number
-     * @return true if the slot is the rename button
-     */
-    public boolean isRenameButton(final int slot) {
-        final ConfigurationSection renameConfig = this.plugin.getConfigManager()
-            .getItemSection(GUI_NAME, "rename-button");
-        
-        if (renameConfig == null) {
-            return false;
-        }
-        
-        return slot == renameConfig.getInt("slot", 2);
-    }
-
-    /**
-     * Checks if a slot represents the delete button
-     * @param slot the slot number
-     * @return true if the slot is the delete button
-     */
-    public boolean isDeleteButton(final int slot) {
-        final ConfigurationSection deleteConfig = this.plugin.getConfigManager()
-            .getItemSection(GUI_NAME, "delete-button");
-        
-        if (deleteConfig == null) {
-            return false;
-        }
-        
-        return slot == deleteConfig.getInt("slot", 4);
-    }
-
-    /**
-     * Checks if a slot represents the change icon button
-     * @param slot the slot number
-     * @return true if the slot is the change icon button
-     */
-    public boolean isChangeIconButton(final int slot) {
-        final ConfigurationSection iconConfig = this.plugin.getConfigManager()
-            .getItemSection(GUI_NAME, "change-icon-button");
-        
-        if (iconConfig == null) {
-            return false;
-        }
-        
-        return slot == iconConfig.getInt("slot", 6);
-    }
-
-    /**
-     * Checks if a slot represents the back button
-     * @param slot the slot number
-     * @return true if the slot is the back button
-     */
-    public boolean isBackButton(final int slot) {
-        final ConfigurationSection backConfig = this.plugin.getConfigManager()
-            .getItemSection(GUI_NAME, "back-button");
-        
-        if (backConfig == null) {
-            return false;
-        }
-        
-        return slot == backConfig.getInt("slot", 8);
+        this.setSlot(slot, backButton, (clicker, click) -> this.parentGUI.open());
     }
-}
\ No newline at end of file
+}
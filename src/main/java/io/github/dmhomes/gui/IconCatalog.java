@@ -0,0 +1,276 @@
+package io.github.dmhomes.gui;
+
+import io.github.dmhomes.DMHomesPlugin;
+import io.github.dmhomes.metrics.MemoryEstimates;
+import io.github.dmhomes.metrics.MemoryUsage;
+import io.github.dmhomes.utils.ItemBuilder;
+import org.bukkit.configuration.ConfigurationSection;
+import org.bukkit.inventory.ItemStack;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Shared pages of the icon selection menu
+ * Icon pages are the same for every player, so they are built once per reload and only copied into inventories
+ */
+public final class IconCatalog {
+
+    private static final String GUI_NAME = "icon-menu";
+    private static final int[] DEFAULT_ICON_SLOTS = {1, 2, 3, 4, 5, 6, 7, 10, 11, 12, 13, 14, 15, 16, 19, 20, 21, 22, 23, 24, 25};
+
+    private final DMHomesPlugin plugin;
+
+    // Replaced as a whole on reload, so readers always see a complete set of pages
+    private volatile List<IconPage> pages = List.of();
+
+    /**
+     * Creates a new IconCatalog instance
+     * @param plugin the plugin instance
+     */
+    public IconCatalog(final @NotNull DMHomesPlugin plugin) {
+        this.plugin = Objects.requireNonNull(plugin, "Plugin cannot be null");
+        this.reload();
+    }
+
+    /**
+     * Rebuilds all icon pages from the configuration
+     */
+    public void reload() {
+        final int[] iconSlots = this.plugin.getConfigManager().getLayoutSlots(GUI_NAME, "icon-slots", DEFAULT_ICON_SLOTS);
+        final int previousPageSlot = this.plugin.getConfigManager().getLayoutSlot(GUI_NAME, "previous-page-slot", 27);
+        final int nextPageSlot = this.plugin.getConfigManager().getLayoutSlot(GUI_NAME, "next-page-slot", 35);
+
+        final List<String> materials = new ArrayList<>();
+        final List<ItemStack> items = new ArrayList<>();
+        for (final String iconMaterial : this.plugin.getConfigManager().getAvailableIcons()) {
+            final ItemStack iconItem = this.createIconItem(iconMaterial);
+            if (iconItem != null) {
+                materials.add(iconMaterial);
+                items.add(iconItem);
+            }
+        }
+
+        if (items.isEmpty()) {
+            this.plugin.getLogger().warning("No available icons configured for icon-menu GUI");
+        }
+
+        final int pageCount = Math.max(1, (items.size() + iconSlots.length - 1) / iconSlots.length);
+        final List<IconPage> builtPages = new ArrayList<>(pageCount);
+
+        for (int pageIndex = 0; pageIndex < pageCount; pageIndex++) {
+            final ItemStack[] pageItems = new ItemStack[iconSlots.length];
+            final String[] pageMaterials = new String[iconSlots.length];
+            final int offset = pageIndex * iconSlots.length;
+
+            for (int i = 0; i < iconSlots.length && offset + i < items.size(); i++) {
+                pageItems[i] = items.get(offset + i);
+                pageMaterials[i] = materials.get(offset + i);
+            }
+
+            builtPages.add(new IconPage(
+                pageIndex,
+                iconSlots.clone(),
+                pageItems,
+                pageMaterials,
+                pageIndex > 0 ? this.createPageButton("previous-page", pageIndex, pageCount) : null,
+                previousPageSlot,
+                pageIndex < pageCount - 1 ? this.createPageButton("next-page", pageIndex, pageCount) : null,
+                nextPageSlot
+            ));
+        }
+
+        this.pages = List.copyOf(builtPages);
+    }
+
+    /**
+     * Gets the number of icon pages
+     * @return the page count, at least 1
+     */
+    public int getPageCount() {
+        return this.pages.size();
+    }
+
+    /**
+     * Gets an icon page
+     * @param pageIndex the page index, clamped to the available pages
+     * @return the page
+     */
+    public @NotNull IconPage getPage(final int pageIndex) {
+        final List<IconPage> currentPages = this.pages;
+        return currentPages.get(Math.max(0, Math.min(pageIndex, currentPages.size() - 1)));
+    }
+
+    /**
+     * Adds the estimated heap used by the icon pages to a memory report
+     * @param usage the report to add to
+     */
+    public void accountMemory(final @NotNull MemoryUsage usage) {
+        for (final IconPage page : this.pages) {
+            long bytes = 3 * MemoryEstimates.referenceArray(page.size())
+                + MemoryEstimates.itemStack(page.getPreviousButton())
+                + MemoryEstimates.itemStack(page.getNextButton());
+            for (int position = 0; position < page.size(); position++) {
+                bytes += MemoryEstimates.itemStack(page.getItem(position));
+            }
+            usage.add(MemoryUsage.Subsystem.SHARED, null, bytes);
+        }
+    }
+
+    /**
+     * Creates a page navigation button
+     * @param itemName the item name in the configuration
+     * @param pageIndex the page the button is shown on
+     * @param pageCount the number of pages
+     * @return the button or null if it is not configured
+     */
+    private @Nullable ItemStack createPageButton(final @NotNull String itemName, final int pageIndex, final int pageCount) {
+        final ConfigurationSection buttonConfig = this.plugin.getConfigManager().getItemSection(GUI_NAME, itemName);
+        if (buttonConfig == null) {
+            this.plugin.getLogger().warning("Missing " + itemName + " configuration for icon-menu GUI");
+            return null;
+        }
+
+        return ItemBuilder.createFromConfigWithPlaceholders(buttonConfig,
+            "page", String.valueOf(pageIndex + 1),
+            "pages", String.valueOf(pageCount)
+        );
+    }
+
+    /**
+     * Creates an icon item from a material string
+     * Vanilla and ItemsAdder IDs are resolved by {@link ItemBuilder#createBase(String)}, like the home items
+     * @param materialString the material string
+     * @return the created item or null if invalid
+     */
+    private @Nullable ItemStack createIconItem(final @NotNull String materialString) {
+        Objects.requireNonNull(materialString, "Material string cannot be null");
+
+        final ItemStack base = ItemBuilder.createBase(materialString);
+        if (base == null) {
+            this.plugin.getLogger().warning("Invalid icon material: " + materialString);
+            return null;
+        }
+
+        return ItemBuilder.create(base.getType(),
+            "<!italic><yellow>" + this.formatIconName(materialString) + "</yellow>",
+            "<!italic><gray>Click to select this icon</gray>");
+    }
+
+    /**
+     * Formats an icon ID for display, without its namespace
+     * @param materialString the material string
+     * @return the formatted name
+     */
+    private @NotNull String formatIconName(final @NotNull String materialString) {
+        return materialString.substring(materialString.lastIndexOf(':') + 1).toLowerCase().replace("_", " ");
+    }
+
+    /**
+     * One prebuilt page of icons, shared by all players
+     * The items are never modified, inventories receive copies when they are set
+     */
+    public static final class IconPage {
+
+        private final int index;
+        private final int[] slots;
+        private final ItemStack[] items;
+        private final String[] materials;
+        private final ItemStack previousButton;
+        private final int previousButtonSlot;
+        private final ItemStack nextButton;
+        private final int nextButtonSlot;
+
+        private IconPage(final int index, final int @NotNull [] slots, final @Nullable ItemStack @NotNull [] items,
+                         final @Nullable String @NotNull [] materials,
+                         final @Nullable ItemStack previousButton, final int previousButtonSlot,
+                         final @Nullable ItemStack nextButton, final int nextButtonSlot) {
+            this.index = index;
+            this.slots = slots;
+            this.items = items;
+            this.materials = materials;
+            this.previousButton = previousButton;
+            this.previousButtonSlot = previousButtonSlot;
+            this.nextButton = nextButton;
+            this.nextButtonSlot = nextButtonSlot;
+        }
+
+        /**
+         * Gets the index of this page
+         * @return the page index
+         */
+        public int getIndex() {
+            return this.index;
+        }
+
+        /**
+         * Gets the number of icon positions on this page
+         * @return the number of positions
+         */
+        public int size() {
+            return this.slots.length;
+        }
+
+        /**
+         * Gets the inventory slot of an icon position
+         * @param position the icon position
+         * @return the slot number
+         */
+        public int getSlot(final int position) {
+            return this.slots[position];
+        }
+
+        /**
+         * Gets the icon item at a position
+         * @param position the icon position
+         * @return the item or null if the position is empty
+         */
+        public @Nullable ItemStack getItem(final int position) {
+            return this.items[position];
+        }
+
+        /**
+         * Gets the material string of the icon at a position
+         * @param position the icon position
+         * @return the material string or null if the position is empty
+         */
+        public @Nullable String getMaterial(final int position) {
+            return this.materials[position];
+        }
+
+        /**
+         * Gets the previous page button
+         * @return the button or null on the first page
+         */
+        public @Nullable ItemStack getPreviousButton() {
+            return this.previousButton;
+        }
+
+        /**
+         * Gets the slot of the previous page button
+         * @return the slot number
+         */
+        public int getPreviousButtonSlot() {
+            return this.previousButtonSlot;
+        }
+
+        /**
+         * Gets the next page button
+         * @return the button or null on the last page
+         */
+        public @Nullable ItemStack getNextButton() {
+            return this.nextButton;
+        }
+
+        /**
+         * Gets the slot of the next page button
+         * @return the slot number
+         */
+        public int getNextButtonSlot() {
+            return this.nextButtonSlot;
+        }
+    }
+}
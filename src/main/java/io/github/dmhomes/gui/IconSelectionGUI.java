@@ -2,21 +2,19 @@ package io.github.dmhomes.gui;
 
 import io.github.dmhomes.DMHomesPlugin;
 import io.github.dmhomes.data.Home;
-import io.github.dmhomes.utils.GUIUtils;
+import io.github.dmhomes.utils.ActionRateLimiter;
 import io.github.dmhomes.utils.ItemBuilder;
 import lombok.Getter;
-import org.bukkit.Material;
 import org.bukkit.configuration.ConfigurationSection;
 import org.bukkit.entity.Player;
 import org.bukkit.inventory.ItemStack;
 import org.jetbrains.annotations.NotNull;
-import org.jetbrains.annotations.Nullable;
 
-import java.util.List;
 import java.util.Objects;
 
 /**
  * GUI for selecting custom icons for homes
+ * Icon pages come prebuilt from the shared {@link IconCatalog}
  */
 public final class IconSelectionGUI extends BaseGUI {
 
@@ -27,6 +25,12 @@ public final class IconSelectionGUI extends BaseGUI {
     
     @Getter
     private final HomeManagementGUI parentGUI;
+    
+    @Getter
+    private volatile int page;
+    
+    // Set on the main thread, read by the next render
+    private volatile int requestedPage;
 
     /**
      * Creates a new IconSelectionGUI instance
@@ -51,103 +55,50 @@ public final class IconSelectionGUI extends BaseGUI {
     }
 
     @Override
-    protected void setupGUI() {
-        this.refresh();
+    public void onHomesChanged() {
+        // The home was renamed or deleted elsewhere, fall back to the refreshed main menu
+        if (!this.plugin.getHomeManager().hasHome(this.player, this.home.getName())) {
+            this.parentGUI.getParentGUI().open();
+        }
     }
 
     @Override
-    public void refresh() {
-        // Clear the inventory first
-        this.inventory.clear();
-        
-        try {
-            this.populateIcons();
-            this.addBackButton();
-        } catch (final Exception exception) {
-            this.plugin.getLogger().severe("Error refreshing IconSelectionGUI for player " 
-                + this.player.getName() + ": " + exception.getMessage());
-        }
+    protected void render() {
+        this.populateIcons();
+        this.addBackButton();
     }
 
     /**
-     * Populates the GUI with available icons
+     * Shows a page of icons
+     * @param page the page index, clamped to the available pages
      */
-    private void populateIcons() {
-        final List<String> availableIcons = this.plugin.getConfigManager().getAvailableIcons();
-        
-        if (availableIcons.isEmpty()) {
-            this.plugin.getLogger().warning("No available icons configured for icon-menu GUI");
-            return;
-        }
-        
-        // Define the specific slots where icons should be placed
-        final int[] iconSlots = {1, 2, 3, 4, 5, 6, 7, 10, 11, 12, 13, 14, 15, 16, 19, 20, 21, 22, 23, 24, 25};
-        int iconIndex = 0;
-        
-        for (final String iconMaterial : availableIcons) {
-            if (iconIndex >= iconSlots.length) {
-                // TODO: Implement pagination if needed
-                this.plugin.getLogger().info("More icons available than can fit in GUI, consider implementing pagination");
-                break;
-            }
-            
-            final ItemStack iconItem = this.createIconItem(iconMaterial);
-            if (iconItem != null) {
-                this.inventory.setItem(iconSlots[iconIndex++], iconItem);
-            }
-        }
+    public void showPage(final int page) {
+        this.requestedPage = page;
+        this.refresh();
     }
 
     /**
-     * Creates an icon item from a material string
-     * @param materialString the material string
-     * @return the created item or null if invalid
+     * Copies the current shared icon page into the GUI
      */
-    private @Nullable ItemStack createIconItem(final @NotNull String materialString) {
-        Objects.requireNonNull(materialString, "Material string cannot be null");
+    private void populateIcons() {
+        final IconCatalog.IconPage iconPage = this.plugin.getIconCatalog().getPage(this.requestedPage);
+        this.page = iconPage.getIndex();
         
-        final Material material = this.parseMaterial(materialString);
-        if (material == null) {
-            this.plugin.getLogger().warning("Invalid icon material: " + materialString);
-            return null;
+        for (int i = 0; i < iconPage.size(); i++) {
+            final String iconMaterial = iconPage.getMaterial(i);
+            this.setSlot(iconPage.getSlot(i), iconPage.getItem(i),
+                iconMaterial != null ? (clicker, click) -> this.selectIcon(clicker, iconMaterial) : null);
         }
         
-        return ItemBuilder.create(material, 
-            "<!italic><yellow>" + this.formatMaterialName(material.name()) + "</yellow>",
-            "<!italic><gray>Click to select this icon</gray>");
-    }
-
-    /**
-     * Parses a material string, supporting both vanilla and ItemsAdder formats
-     * @param materialString the material string
-     * @return the parsed Material or null if invalid
-     */
-    private @Nullable Material parseMaterial(final @NotNull String materialString) {
-        try {
-            // Handle ItemsAdder items
-            if (materialString.contains(":")) {
-                if (materialString.startsWith("itemsadder:")) {
-                    // TODO: Implement ItemsAdder support
-                    return Material.BARRIER; // Fallback for now
-                } else if (materialString.startsWith("minecraft:")) {
-                    return Material.matchMaterial(materialString.substring(10));
-                }
-            }
-            
-            // Try to parse as vanilla material
-            return Material.matchMaterial(materialString);
-        } catch (final Exception exception) {
-            return null;
+        final int currentPage = this.page;
+        if (iconPage.getPreviousButton() != null) {
+            this.setSlot(iconPage.getPreviousButtonSlot(), iconPage.getPreviousButton(),
+                (clicker, click) -> this.changePage(clicker, currentPage - 1));
+        }
+        if (iconPage.getNextButton() != null) {
+            this.setSlot(iconPage.getNextButtonSlot(), iconPage.getNextButton(),
+                (clicker, click) -> this.changePage(clicker, currentPage + 1));
         }
-    }
-
-    /**
-     * Formats a material name for display
-     * @param materialName the material name
-     * @return the formatted name
-     */
-    private @NotNull String formatMaterialName(final @NotNull String materialName) {
-        return materialName.toLowerCase().replace("_", " ");
     }
 
     /**
@@ -162,57 +113,42 @@ public final class IconSelectionGUI extends BaseGUI {
             return;
         }
         
-        final int slot = backConfig.getInt("slot", this.inventory.getSize() - 1);
+        final int slot = backConfig.getInt("slot", this.size - 1);
         final ItemStack backButton = ItemBuilder.createFromConfig(backConfig);
         
-        if (backButton != null) {
-            GUIUtils.setItem(this.inventory, slot, backButton);
-        }
+        this.setSlot(slot, backButton, (clicker, click) -> this.parentGUI.open());
     }
 
     /**
-     * Checks if a slot represents the back button
-     * @param slot the slot number
-     * @return true if the slot is the back button
+     * Switches to another page if the player's page rate limit allows it
+     * @param clicker the clicking player
+     * @param targetPage the page to show
      */
-    public boolean isBackButton(final int slot) {
-        final ConfigurationSection backConfig = this.plugin.getConfigManager()
-            .getItemSection(GUI_NAME, "back-button");
-        
-        if (backConfig == null) {
-            return false;
+    private void changePage(final @NotNull Player clicker, final int targetPage) {
+        if (this.tryAction(clicker, ActionRateLimiter.Action.PAGE)) {
+            this.showPage(targetPage);
         }
-        
-        final int backButtonSlot = backConfig.getInt("slot", 31);
-        return slot == backButtonSlot;
     }
 
     /**
-     * Gets the material string for a clicked icon slot
-     * @param slot the clicked slot
-     * @return the material string or null if not an icon slot
+     * Applies the selected icon to the home and returns to a fresh main menu
+     * @param clicker the clicking player
+     * @param iconMaterial the selected icon material
      */
-    public @Nullable String getIconMaterial(final int slot) {
-        if (!this.isValidSlot(slot) || this.isBackButton(slot)) {
-            return null;
+    private void selectIcon(final @NotNull Player clicker, final @NotNull String iconMaterial) {
+        if (!this.tryAction(clicker, ActionRateLimiter.Action.ICON_CHANGE)) {
+            return;
         }
         
-        final ItemStack item = this.inventory.getItem(slot);
-        if (item == null) {
-            return null;
-        }
+        this.plugin.getHomeDataManager().setHomeIcon(clicker.getUniqueId(), this.home.getName(), iconMaterial);
         
-        // Define the specific slots where icons are placed
-        final int[] iconSlots = {1, 2, 3, 4, 5, 6, 7, 10, 11, 12, 13, 14, 15, 16, 19, 20, 21, 22, 23, 24, 25};
-        final List<String> availableIcons = this.plugin.getConfigManager().getAvailableIcons();
+        clicker.sendMessage(this.plugin.getMessageManager()
+            .getMessage("home-icon-changed", "home_name", this.home.getName()));
         
-        // Find which icon slot this is
-        for (int i = 0; i < iconSlots.length; i++) {
-            if (iconSlots[i] == slot && i < availableIcons.size()) {
-                return availableIcons.get(i);
-            }
-        }
+        this.close();
         
-        return null;
+        // Schedule GUI refresh for next tick to ensure proper closing
+        this.plugin.getServer().getScheduler().runTask(this.plugin, () ->
+            new MainHomesGUI(this.plugin, clicker).open());
     }
-}
\ No newline at end of file
+}
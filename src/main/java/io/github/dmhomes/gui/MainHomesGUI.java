@@ -3,22 +3,51 @@ package io.github.dmhomes.gui;
 import io.github.dmhomes.DMHomesPlugin;
 import io.github.dmhomes.data.PlayerHomeData;
 import io.github.dmhomes.data.Home;
-import io.github.dmhomes.utils.GUIUtils;
+import io.github.dmhomes.metrics.MemoryEstimates;
+import io.github.dmhomes.utils.ActionRateLimiter;
 import io.github.dmhomes.utils.ItemBuilder;
+import lombok.Getter;
 import org.bukkit.configuration.ConfigurationSection;
 import org.bukkit.entity.Player;
 import org.bukkit.inventory.ItemStack;
 import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
 
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
+import java.util.UUID;
 
 /**
  * Main homes GUI that displays all player homes and available slots
+ * Homes are laid out in the configured slots and split into pages when they do not fit
  */
 public final class MainHomesGUI extends BaseGUI {
 
     private static final String GUI_NAME = "main-menu";
+    private static final int[] DEFAULT_HOME_SLOTS = {1, 2, 3, 4, 5, 6, 7};
+    
+    // Layout, read once when the GUI is created
+    private final int[] homeSlots;
+    private final int previousPageSlot;
+    private final int nextPageSlot;
+    
+    // Inputs of the next render, captured on the main thread
+    private volatile HomesSnapshot snapshot;
+    private volatile int requestedPage;
+    
+    // Pages built for the current home snapshot, keyed by page index
+    private final Map<Integer, HomePage> pageCache = new HashMap<>();
+    private HomesSnapshot cachedSnapshot;
+    private volatile long renderedVersion = -1L;
+    private List<SlotAction> entries = List.of();
+    private boolean prefetchScheduled;
+    
+    @Getter
+    private volatile int page;
 
     /**
      * Creates a new MainHomesGUI instance
@@ -32,128 +61,268 @@ public final class MainHomesGUI extends BaseGUI {
             plugin.getConfigManager().getGuiTitle(GUI_NAME),
             plugin.getConfigManager().getGuiSize(GUI_NAME)
         );
+        
+        this.homeSlots = plugin.getConfigManager().getLayoutSlots(GUI_NAME, "home-slots", DEFAULT_HOME_SLOTS);
+        this.previousPageSlot = plugin.getConfigManager().getLayoutSlot(GUI_NAME, "previous-page-slot", 12);
+        this.nextPageSlot = plugin.getConfigManager().getLayoutSlot(GUI_NAME, "next-page-slot", 14);
     }
 
     @Override
-    protected void setupGUI() {
-        this.refresh();
+    protected void render() {
+        this.populateHomes();
+        this.addPageButtons();
+        this.addCloseButton();
     }
 
     @Override
-    public void refresh() {
-        // Clear the inventory first
-        this.inventory.clear();
+    protected void snapshot() {
+        final UUID playerUuid = this.player.getUniqueId();
+        final List<Home> homes = this.plugin.getHomeManager().getHomes(this.player);
+        final PlayerHomeData playerData = this.plugin.getHomeDataManager().getPlayerData(this.player);
         
-        try {
-            this.populateHomes();
-            this.addCloseButton();
-        } catch (final Exception exception) {
-            this.plugin.getLogger().severe("Error refreshing MainHomesGUI for player " 
-                + this.player.getName() + ": " + exception.getMessage());
+        final Map<String, String> icons = new HashMap<>();
+        for (final Home home : homes) {
+            final String icon = playerData.getHomeIcon(home.getName());
+            if (icon != null) {
+                icons.put(home.getName().toLowerCase(), icon);
+            }
         }
+        
+        this.snapshot = new HomesSnapshot(
+            this.plugin.getHomeManager().getHomesVersion(playerUuid),
+            List.copyOf(homes),
+            this.plugin.getHomeManager().getMaxHomes(this.player),
+            this.plugin.getHomeManager().getMaxGuiSlots(this.player),
+            this.player.hasPermission("dmhomes.admin"),
+            Map.copyOf(icons),
+            this.requestedPage
+        );
+    }
+
+    @Override
+    protected boolean isStale() {
+        return this.plugin.getHomeManager().getHomesVersion(this.player.getUniqueId()) != this.renderedVersion;
+    }
+
+    @Override
+    public void onHomesChanged() {
+        // Only the home slots whose content changed are sent to the client
+        this.refresh();
+    }
+
+    @Override
+    public long estimateRetainedBytes() {
+        // Cached pages reference the shared home items, only the page arrays are retained here
+        final long pageBytes = MemoryEstimates.MAP_ENTRY + 2 * MemoryEstimates.referenceArray(this.homeSlots.length);
+        return super.estimateRetainedBytes()
+            + this.pageCache.size() * pageBytes
+            + MemoryEstimates.referenceArray(this.entries.size());
+    }
+
+    /**
+     * Shows a page of the GUI
+     * @param page the page index, clamped to the available pages
+     */
+    public void showPage(final int page) {
+        this.requestedPage = page;
+        this.refresh();
     }
 
     /**
-     * Populates the GUI with home slots (both occupied and available)
-     * Only uses slots 1-7 for homes
+     * Gets the number of pages for the last rendered home snapshot
+     * @return the page count
+     */
+    public int getPageCount() {
+        return Math.max(1, (this.entries.size() + this.homeSlots.length - 1) / this.homeSlots.length);
+    }
+
+    /**
+     * Populates the layout's home slots with the current page
+     * Only the current page is built here, neighbouring pages are prefetched by a separate render task
      */
     private void populateHomes() {
-        final List<Home> playerHomes = this.plugin.getHomeManager().getHomes(this.player);
-        final int maxHomes = this.plugin.getHomeManager().getMaxHomes(this.player);
-        final int maxGuiSlots = 7; // Fixed to 7 slots for homes
-        final PlayerHomeData playerData = this.plugin.getHomeDataManager().getPlayerData(this.player);
+        this.validateSnapshot();
+        this.renderedVersion = this.cachedSnapshot.version();
+        this.page = Math.max(0, Math.min(this.cachedSnapshot.page(), this.getPageCount() - 1));
+        
+        final HomePage current = this.getPage(this.page);
+        for (int i = 0; i < this.homeSlots.length; i++) {
+            final SlotAction action = current.actions()[i];
+            this.setSlot(this.homeSlots[i], current.items()[i], action != null ? this.createHandler(action) : null);
+        }
         
-        // Add occupied home slots (slots 1-7)
-        if (playerHomes != null) {
-            for (int i = 0; i < Math.min(playerHomes.size(), 7); i++) {
-                final Home home = playerHomes.get(i);
-                final ItemStack homeItem = this.createOccupiedSlotItem(home, playerData);
-                if (homeItem != null) {
-                    this.inventory.setItem(i + 1, homeItem); // Slots 1-7
-                }
-            }
+        this.schedulePrefetch();
+    }
+
+    /**
+     * Drops cached pages if the player's homes, icons or limits changed since they were built
+     */
+    private void validateSnapshot() {
+        final HomesSnapshot current = Objects.requireNonNull(this.snapshot, "Render before snapshot");
+        if (this.cachedSnapshot != null && current.hasSameContent(this.cachedSnapshot)) {
+            this.cachedSnapshot = current;
+            return;
         }
         
-        // Add available slots (slots 1-7)
-        final int currentHomes = playerHomes != null ? playerHomes.size() : 0;
-        final int playerMaxSlots = Math.min(maxGuiSlots, maxHomes == -1 ? maxGuiSlots : maxHomes);
-        final int availableSlots = Math.max(0, playerMaxSlots - currentHomes);
+        this.pageCache.clear();
+        this.cachedSnapshot = current;
+        this.entries = this.buildEntries(current);
+    }
+
+    /**
+     * Builds the ordered list of home entries: homes, then available slots, then locked slots
+     * @param input the captured homes and limits
+     * @return the entries
+     */
+    private @NotNull List<SlotAction> buildEntries(final @NotNull HomesSnapshot input) {
+        final int maxHomes = input.maxHomes();
+        final int maxGuiSlots = input.maxGuiSlots();
+        final List<Home> homes = new ArrayList<>(input.homes());
+        homes.sort(Comparator.comparingLong(Home::getCreatedAt)
+            .thenComparing(Home::getName, String.CASE_INSENSITIVE_ORDER));
+        
+        final List<SlotAction> result = new ArrayList<>(Math.max(homes.size(), maxGuiSlots) + 1);
+        for (final Home home : homes) {
+            result.add(SlotAction.teleport(home));
+        }
+        
+        // Unlimited players get the remaining visible slots, with at least one to create a home from
+        final int availableSlots = maxHomes == -1
+            ? Math.max(1, maxGuiSlots - homes.size())
+            : Math.max(0, maxHomes - homes.size());
+        for (int i = 0; i < availableSlots; i++) {
+            result.add(SlotAction.CREATE);
+        }
         
-        for (int i = 0; i < availableSlots && (currentHomes + i) < 7; i++) {
-            final ItemStack availableSlotItem = this.createAvailableSlotItem();
-            if (availableSlotItem != null) {
-                this.inventory.setItem(currentHomes + i + 1, availableSlotItem); // Slots 1-7
+        if (!input.admin()) {
+            while (result.size() < maxGuiSlots) {
+                result.add(SlotAction.LOCKED);
             }
         }
         
-        // Add unavailable slots (slots 1-7)
-        if (!this.player.hasPermission("dmhomes.admin")) {
-            final int totalUsedSlots = currentHomes + availableSlots;
-            final int unavailableSlots = Math.min(7, 7) - totalUsedSlots; // Show up to 7 total slots
+        return result;
+    }
+
+    /**
+     * Gets a page from the cache, building it if needed
+     * @param pageIndex the page index
+     * @return the page
+     */
+    private @NotNull HomePage getPage(final int pageIndex) {
+        return this.pageCache.computeIfAbsent(pageIndex, this::buildPage);
+    }
+
+    /**
+     * Builds the items and actions of a page
+     * @param pageIndex the page index
+     * @return the page
+     */
+    private @NotNull HomePage buildPage(final int pageIndex) {
+        final ItemStack[] items = new ItemStack[this.homeSlots.length];
+        final SlotAction[] actions = new SlotAction[this.homeSlots.length];
+        final HomesSnapshot input = this.cachedSnapshot;
+        
+        final int offset = pageIndex * this.homeSlots.length;
+        for (int i = 0; i < this.homeSlots.length && offset + i < this.entries.size(); i++) {
+            final SlotAction entry = this.entries.get(offset + i);
+            final ItemStack item = switch (entry.type()) {
+                case TELEPORT_HOME -> this.createOccupiedSlotItem(Objects.requireNonNull(entry.home()), input);
+                case CREATE -> this.createAvailableSlotItem();
+                case LOCKED -> this.createUnavailableSlotItem();
+            };
             
-            for (int i = 0; i < unavailableSlots && (totalUsedSlots + i) < 7; i++) {
-                final ItemStack unavailableSlotItem = this.createUnavailableSlotItem();
-                if (unavailableSlotItem != null) {
-                    this.inventory.setItem(totalUsedSlots + i + 1, unavailableSlotItem); // Slots 1-7
-                }
+            if (item != null) {
+                items[i] = item;
+                actions[i] = entry;
             }
         }
+        
+        return new HomePage(items, actions);
     }
 
     /**
-     * Creates an item for an occupied home slot
-     * @param home the home
-     * @param playerData the player's data
-     * @return the item stack
+     * Schedules building the neighbouring pages if they are not cached yet
      */
-    private ItemStack createOccupiedSlotItem(final @NotNull Home home, final @NotNull PlayerHomeData playerData) {
-        Objects.requireNonNull(home, "Home cannot be null");
-        Objects.requireNonNull(playerData, "Player data cannot be null");
-        
-        final ConfigurationSection itemConfig = this.plugin.getConfigManager()
-            .getItemSection(GUI_NAME, "occupied-slot");
-        
-        if (itemConfig == null) {
-            this.plugin.getLogger().warning("Missing occupied-slot configuration for main-menu GUI");
-            return null;
+    private void schedulePrefetch() {
+        if (this.prefetchScheduled
+            || (this.isPageCachedOrMissing(this.page - 1) && this.isPageCachedOrMissing(this.page + 1))) {
+            return;
         }
         
-        // Check if player has a custom icon for this home
-        final String customIcon = playerData.getHomeIcon(home.getName());
-        if (customIcon != null) {
-            // Create a modified configuration with custom material
-            final ConfigurationSection customConfig = this.plugin.getConfig().createSection("temp");
-            customConfig.set("material", customIcon);
-            customConfig.set("name", itemConfig.getString("name"));
-            customConfig.set("lore", itemConfig.getStringList("lore"));
+        this.prefetchScheduled = true;
+        this.runRenderTask(() -> {
+            this.prefetchScheduled = false;
+            this.validateSnapshot();
             
-            return this.createHomeItemWithPlaceholders(customConfig, home);
+            for (final int neighbour : new int[] {this.page - 1, this.page + 1}) {
+                if (!this.isPageCachedOrMissing(neighbour)) {
+                    this.getPage(neighbour);
+                }
+            }
+        });
+    }
+
+    /**
+     * Checks if a page does not need to be prefetched
+     * @param pageIndex the page index
+     * @return true if the page is cached or out of range
+     */
+    private boolean isPageCachedOrMissing(final int pageIndex) {
+        return pageIndex < 0 || pageIndex >= this.getPageCount() || this.pageCache.containsKey(pageIndex);
+    }
+
+    /**
+     * Adds the previous and next page buttons when there is a page in that direction
+     */
+    private void addPageButtons() {
+        if (this.page > 0) {
+            this.addPageButton(this.previousPageSlot, "previous-page", this.page - 1);
         }
         
-        return this.createHomeItemWithPlaceholders(itemConfig, home);
+        if (this.page < this.getPageCount() - 1) {
+            this.addPageButton(this.nextPageSlot, "next-page", this.page + 1);
+        }
     }
 
     /**
-     * Creates an item with home placeholders replaced
-     * @param config the item configuration
+     * Adds a page navigation button
+     * @param slot the button slot
+     * @param itemName the item name in the configuration
+     * @param targetPage the page the button leads to
+     */
+    private void addPageButton(final int slot, final @NotNull String itemName, final int targetPage) {
+        final ConfigurationSection buttonConfig = this.plugin.getConfigManager().getItemSection(GUI_NAME, itemName);
+        if (buttonConfig == null) {
+            this.plugin.getLogger().warning("Missing " + itemName + " configuration for main-menu GUI");
+            return;
+        }
+        
+        final ItemStack button = ItemBuilder.createFromConfigWithPlaceholders(buttonConfig,
+            "page", String.valueOf(this.page + 1),
+            "pages", String.valueOf(this.getPageCount())
+        );
+        
+        if (button != null) {
+            this.setSlot(slot, button, (clicker, click) -> {
+                if (this.tryAction(clicker, ActionRateLimiter.Action.PAGE)) {
+                    this.showPage(targetPage);
+                }
+            });
+        }
+    }
+
+    /**
+     * Creates an item for an occupied home slot
      * @param home the home
+     * @param input the snapshot the home was taken from
      * @return the item stack
      */
-    private ItemStack createHomeItemWithPlaceholders(final @NotNull ConfigurationSection config, final @NotNull Home home) {
-        final String homeName = home.getName();
-        final String homeWorld = home.getLocation().getWorld() != null ? 
-            home.getLocation().getWorld().getName() : "unknown";
-        final String homeX = String.valueOf(home.getLocation().getBlockX());
-        final String homeY = String.valueOf(home.getLocation().getBlockY());
-        final String homeZ = String.valueOf(home.getLocation().getBlockZ());
+    private ItemStack createOccupiedSlotItem(final @NotNull Home home, final @NotNull HomesSnapshot input) {
+        Objects.requireNonNull(home, "Home cannot be null");
         
-        return ItemBuilder.createFromConfigWithPlaceholders(config,
-            "home_name", homeName,
-            "home_world", homeWorld,
-            "home_x", homeX,
-            "home_y", homeY,
-            "home_z", homeZ
-        );
+        // Custom icons only swap the material of the shared template, cached items are keyed by the snapshot's version
+        return this.plugin.getHomeItemTemplate()
+            .getItem(this.player.getUniqueId(), input.version(), home, input.icons().get(home.getName().toLowerCase()));
     }
 
     /**
@@ -197,158 +366,130 @@ public final class MainHomesGUI extends BaseGUI {
         
         if (closeButtonConfig == null) {
             this.plugin.getLogger().warning("Missing close-button configuration for main-menu GUI");
-            this.plugin.getTeleportationManager().playErrorSound(player);
+            this.runAfterApply(() -> this.plugin.getTeleportationManager().playErrorSound(this.player));
             return;
         }
         
-        final int slot = closeButtonConfig.getInt("slot", this.inventory.getSize() - 1);
+        final int slot = closeButtonConfig.getInt("slot", this.size - 1);
         final ItemStack closeButton = ItemBuilder.createFromConfig(closeButtonConfig);
         
-        if (closeButton != null) {
-            GUIUtils.setItem(this.inventory, slot, closeButton);
-        }
+        this.setSlot(slot, closeButton, (clicker, click) -> this.close());
     }
 
     /**
-     * Gets a home by slot number
-     * @param slot the slot number
-     * @return the home or null if not found
+     * Creates the click handler for a home entry
+     * @param action the entry's action
+     * @return the click handler
      */
-    public Home getHomeBySlot(final int slot) {
-        final List<Home> playerHomes = this.plugin.getHomeManager().getHomes(this.player);
-        
-        // Convert GUI slot (1-7) to home index (0-6)
-        final int homeIndex = slot - 1;
-        
-        if (homeIndex < 0 || homeIndex >= playerHomes.size()) {
-            return null;
-        }
-        
-        return playerHomes.get(homeIndex);
+    private @NotNull SlotHandler createHandler(final @NotNull SlotAction action) {
+        return switch (action.type()) {
+            case CREATE -> (clicker, click) -> {
+                if (click.isLeftClick()) {
+                    this.handleCreateHome(clicker);
+                }
+            };
+            case LOCKED -> (clicker, click) -> clicker.sendMessage(this.plugin.getMessageManager()
+                .getMessage("error-upgrade-required"));
+            case TELEPORT_HOME -> (clicker, click) -> {
+                final Home home = Objects.requireNonNull(action.home());
+                if (click.isLeftClick()) {
+                    if (!this.tryAction(clicker, ActionRateLimiter.Action.TELEPORT)) {
+                        return;
+                    }
+                    this.close();
+                    this.plugin.getTeleportationManager().teleportToHome(clicker, home);
+                } else {
+                    new HomeManagementGUI(this.plugin, clicker, home, this).open();
+                }
+            };
+        };
     }
 
     /**
-     * Checks if a slot represents an available home slot
-     * @param slot the slot number
-     * @return true if the slot is available
+     * Handles a click on an available slot
+     * @param clicker the clicking player
      */
-    public boolean isAvailableSlot(final int slot) {
-        // Only slots 1-7 can be home slots
-        if (slot < 1 || slot > 7) {
-            return false;
-        }
-        
-        final ItemStack item = this.inventory.getItem(slot);
-        if (item == null) {
-            return false;
+    private void handleCreateHome(final @NotNull Player clicker) {
+        // Check if player can create more homes
+        if (!this.plugin.getHomeManager().canCreateHome(clicker)) {
+            clicker.sendMessage(this.plugin.getMessageManager().getMessage("error-max-homes"));
+            this.plugin.getTeleportationManager().playErrorSound(clicker);
+            return;
         }
         
-        final ConfigurationSection availableConfig = this.plugin.getConfigManager()
-            .getItemSection(GUI_NAME, "available-slot");
-        
-        if (availableConfig == null) {
-            return false;
+        // Check if current world is blacklisted
+        if (this.plugin.getHomeManager().isWorldBlacklisted(clicker.getWorld().getName())) {
+            clicker.sendMessage(this.plugin.getMessageManager()
+                .getMessage("error-world-blacklisted", "world", clicker.getWorld().getName()));
+            this.plugin.getTeleportationManager().playErrorSound(clicker);
+            return;
         }
         
-        // Check if this slot contains an available slot item by checking if it's not occupied or unavailable
-        final List<Home> playerHomes = this.plugin.getHomeManager().getHomes(this.player);
-        final int homeIndex = slot - 1; // Convert GUI slot (1-7) to home index (0-6)
-        
-        // If there's no home at this index, and it's within the player's allowed slots, it's available
-        if (homeIndex >= playerHomes.size()) {
-            final int maxHomes = this.plugin.getHomeManager().getMaxHomes(this.player);
-            final int maxGuiSlots = 7;
-            final int playerMaxSlots = Math.min(maxGuiSlots, maxHomes == -1 ? maxGuiSlots : maxHomes);
-            
-            // Check if this slot is within the player's allowed slots
-            return homeIndex < playerMaxSlots;
-        }
+        this.close();
         
-        return false;
+        // Show dialog for home name input
+        this.plugin.getHomeCreationDialog().openDialog(clicker);
     }
 
     /**
-     * Checks if a slot represents an unavailable home slot
-     * @param slot the slot number
-     * @return true if the slot is unavailable
+     * A home entry of the main menu
+     * @param type the entry type
+     * @param home the home for teleport entries, null otherwise
      */
-    public boolean isUnavailableSlot(final int slot) {
-        // Only slots 1-7 can be home slots
-        if (slot < 1 || slot > 7) {
-            return false;
-        }
-        
-        final ItemStack item = this.inventory.getItem(slot);
-        if (item == null) {
-            return false;
-        }
-        
-        // Check if this slot is beyond the player's allowed slots
-        final List<Home> playerHomes = this.plugin.getHomeManager().getHomes(this.player);
-        final int homeIndex = slot - 1; // Convert GUI slot (1-7) to home index (0-6)
-        
-        // If there's no home at this index and it's beyond allowed slots, it's unavailable
-        if (homeIndex >= playerHomes.size()) {
-            final int maxHomes = this.plugin.getHomeManager().getMaxHomes(this.player);
-            final int maxGuiSlots = 7;
-            final int playerMaxSlots = Math.min(maxGuiSlots, maxHomes == -1 ? maxGuiSlots : maxHomes);
-            
-            // Check if this slot is beyond the player's allowed slots
-            return homeIndex >= playerMaxSlots && homeIndex < 7; // Only show unavailable slots up to slot 7
-        }
-        
-        return false;
-    }
+    private record SlotAction(@NotNull Type type, @Nullable Home home) {
 
-    /**
-     * Checks if a slot represents an occupied home slot
-     * @param slot the slot number
-     * @return true if the slot is occupied
-     */
-    public boolean isOccupiedSlot(final int slot) {
-        // Only slots 1-7 can be home slots
-        if (slot < 1 || slot > 7) {
-            return false;
+        private static final SlotAction CREATE = new SlotAction(Type.CREATE, null);
+        private static final SlotAction LOCKED = new SlotAction(Type.LOCKED, null);
+
+        /**
+         * Creates a teleport action for a home
+         * @param home the home
+         * @return the slot action
+         */
+        private static @NotNull SlotAction teleport(final @NotNull Home home) {
+            return new SlotAction(Type.TELEPORT_HOME, home);
         }
-        
-        final ItemStack item = this.inventory.getItem(slot);
-        if (item == null) {
-            return false;
+
+        /**
+         * Types of home entries
+         */
+        private enum Type {
+            TELEPORT_HOME,
+            CREATE,
+            LOCKED
         }
-        
-        // If it's not available or unavailable, it must be occupied
-        return !this.isAvailableSlot(slot) && !this.isUnavailableSlot(slot) && !this.isCloseButton(slot);
     }
 
     /**
-     * Checks if a slot represents the close button
-     * @param slot the slot number
-     * @return true if the slot is the close button
+     * Immutable render input, captured on the main thread
+     * @param version the home snapshot version
+     * @param homes the player's homes
+     * @param maxHomes the player's home limit, -1 for unlimited
+     * @param maxGuiSlots the minimum number of slots shown to the player
+     * @param admin whether the player bypasses locked slots
+     * @param icons the custom icons by lowercased home name
+     * @param page the requested page index
      */
-    public boolean isCloseButton(final int slot) {
-        final ConfigurationSection closeButtonConfig = this.plugin.getConfigManager()
-            .getItemSection(GUI_NAME, "close-button");
-        
-        if (closeButtonConfig == null) {
-            return false;
+    private record HomesSnapshot(long version, @NotNull List<Home> homes, int maxHomes, int maxGuiSlots,
+                                 boolean admin, @NotNull Map<String, String> icons, int page) {
+
+        /**
+         * Checks if the cached pages built from another snapshot still show this one
+         * @param other the snapshot the pages were built from
+         * @return true if only the requested page differs
+         */
+        private boolean hasSameContent(final @NotNull HomesSnapshot other) {
+            return this.version == other.version && this.maxHomes == other.maxHomes
+                && this.maxGuiSlots == other.maxGuiSlots && this.admin == other.admin
+                && this.icons.equals(other.icons);
         }
-        
-        final int closeButtonSlot = closeButtonConfig.getInt("slot", 13);
-        return slot == closeButtonSlot;
     }
-    
+
     /**
-     * Helper method to check if an item matches a material configuration
-     * @param item the item to check
-     * @param configMaterial the material from config
-     * @return true if they match
+     * Built items and actions for the home slots of one page, in layout order
+     * @param items the items
+     * @param actions the actions
      */
-    private boolean matchesMaterial(final @NotNull ItemStack item, final @NotNull String configMaterial) {
-        final String itemKey = item.getType().getKey().toString();
-        final String itemName = item.getType().name();
-        
-        return configMaterial.equals(itemKey) ||
-               configMaterial.equals("minecraft:" + itemName.toLowerCase()) ||
-               configMaterial.equalsIgnoreCase(itemName);
+    private record HomePage(@Nullable ItemStack @NotNull [] items, @Nullable SlotAction @NotNull [] actions) {
     }
 }
\ No newline at end of file
@@ -0,0 +1,19 @@
+package io.github.dmhomes.gui;
+
+import org.bukkit.entity.Player;
+import org.bukkit.event.inventory.ClickType;
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * Handler bound to a GUI slot at render time
+ */
+@FunctionalInterface
+public interface SlotHandler {
+
+    /**
+     * Handles a click on the slot
+     * @param player the clicking player
+     * @param click the click type
+     */
+    void onClick(@NotNull Player player, @NotNull ClickType click);
+}
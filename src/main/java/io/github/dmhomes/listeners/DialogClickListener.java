@@ -1,7 +1,10 @@
 package io.github.dmhomes.listeners;
 
 import io.github.dmhomes.DMHomesPlugin;
+import io.github.dmhomes.dialog.DialogSession;
+import io.github.dmhomes.dialog.DialogSessionRegistry;
 import io.github.dmhomes.gui.MainHomesGUI;
+import io.github.dmhomes.utils.ActionRateLimiter;
 import io.papermc.paper.event.player.PlayerCustomClickEvent;
 import net.kyori.adventure.key.Key;
 import net.kyori.adventure.text.Component;
@@ -11,8 +14,6 @@ import org.bukkit.event.EventHandler;
 import org.bukkit.event.Listener;
 import org.jetbrains.annotations.NotNull;
 
-import java.util.UUID;
-import java.util.function.Consumer;
 
 /**
  * Handles dialog button click events for home management
@@ -29,11 +30,9 @@ public class DialogClickListener implements Listener {
     @SuppressWarnings("UnstableApiUsage")
     public void onDialogClick(final @NotNull PlayerCustomClickEvent event) {
         final Key key = event.getIdentifier();
-        final String keyString = key.asString();
-
 
         // Check if this is one of our dialog actions
-        if (!keyString.startsWith("dmhomes:")) {
+        if (!DialogSessionRegistry.NAMESPACE.equals(key.namespace())) {
             return;
         }
 
@@ -60,27 +59,38 @@ public class DialogClickListener implements Listener {
         }
 
 
+        // Drop repeated confirmations before they reach the HomeManager, the session stays valid
+        if (!this.plugin.getActionRateLimiter().tryAcquire(player.getUniqueId(), ActionRateLimiter.Action.HOME_EDIT)) {
+            return;
+        }
+
+        // Resolve the open dialog; unknown, expired or foreign keys are ignored
+        final DialogSession session = this.plugin.getHomeCreationDialog().getSessionRegistry()
+            .consume(key, player.getUniqueId());
+        if (session == null) {
+            return;
+        }
+
         // Handle different dialog actions
-        if (keyString.startsWith("dmhomes:create_home/")) {
-            handleHomeCreation(player, event, keyString);
-        } else if (keyString.startsWith("dmhomes:delete_home/")) {
-            handleHomeDeletion(player, event, keyString);
-        } else if (keyString.startsWith("dmhomes:rename_home/")) {
-            handleHomeRename(player, event, keyString);
+        final long startNanos = System.nanoTime();
+        switch (session.getType()) {
+            case CREATE:
+                this.handleHomeCreation(player, event);
+                break;
+            case DELETE:
+                this.handleHomeDeletion(player, session);
+                break;
+            case RENAME:
+                this.handleHomeRename(player, event, session);
+                break;
         }
+        this.plugin.getOperationWatchdog().recordOperation("dialog-" + session.getType().name().toLowerCase(),
+            player.getName(), startNanos);
     }
 
-    private void handleHomeCreation(final @NotNull Player player, final @NotNull PlayerCustomClickEvent event, final @NotNull String keyString) {
+    private void handleHomeCreation(final @NotNull Player player, final @NotNull PlayerCustomClickEvent event) {
 
         try {
-            final UUID playerId = UUID.fromString(keyString.substring("dmhomes:create_home/".length()));
-
-            // Verify this is the correct player
-            if (!player.getUniqueId().equals(playerId)) {
-                this.plugin.getLogger().warning("Player UUID mismatch in dialog");
-                return;
-            }
-
             // Get the dialog response view to read input
             final var responseView = event.getDialogResponseView();
             if (responseView == null) {
@@ -142,9 +152,6 @@ public class DialogClickListener implements Listener {
                 this.plugin.getTeleportationManager().playErrorSound(player);
             }
 
-            // Clear any pending callbacks
-            this.plugin.getHomeCreationDialog().clearPendingCallbacks();
-
         } catch (final Exception exception) {
             player.sendMessage(this.plugin.getMessageManager()
                 .getMessage("error-generic", "error", "Dialog processing failed"));
@@ -152,28 +159,15 @@ public class DialogClickListener implements Listener {
         }
     }
 
-    private void handleHomeDeletion(final @NotNull Player player, final @NotNull PlayerCustomClickEvent event, final @NotNull String keyString) {
+    private void handleHomeDeletion(final @NotNull Player player, final @NotNull DialogSession session) {
         try {
-            final UUID playerId = UUID.fromString(keyString.substring("dmhomes:delete_home/".length()));
-
-            // Verify this is the correct player
-            if (!player.getUniqueId().equals(playerId)) {
-                return;
-            }
-
-            // Execute the callback
-            final var homeCreationDialog = this.plugin.getHomeCreationDialog();
-            final var callback = homeCreationDialog.getPendingDeletionCallback();
-            if (callback != null) {
-                callback.run();
-                homeCreationDialog.clearPendingCallbacks();
-                
-                // Close any open GUI and refresh the main homes GUI
-                this.plugin.getServer().getScheduler().runTask(this.plugin, () -> {
-                    final var gui = new MainHomesGUI(this.plugin, player);
-                    gui.open();
-                });
-            }
+            this.plugin.getHomeCreationDialog().handleHomeDeletion(player, session.getHomeName());
+            
+            // Close any open GUI and refresh the main homes GUI
+            this.plugin.getServer().getScheduler().runTask(this.plugin, () -> {
+                final var gui = new MainHomesGUI(this.plugin, player);
+                gui.open();
+            });
 
         } catch (final Exception exception) {
             this.plugin.getLogger().severe("Error handling home deletion dialog click: " + exception.getMessage());
@@ -181,15 +175,8 @@ public class DialogClickListener implements Listener {
         }
     }
 
-    private void handleHomeRename(final @NotNull Player player, final @NotNull PlayerCustomClickEvent event, final @NotNull String keyString) {
+    private void handleHomeRename(final @NotNull Player player, final @NotNull PlayerCustomClickEvent event, final @NotNull DialogSession session) {
         try {
-            final UUID playerId = UUID.fromString(keyString.substring("dmhomes:rename_home/".length()));
-
-            // Verify this is the correct player
-            if (!player.getUniqueId().equals(playerId)) {
-                return;
-            }
-
             // Get the dialog response view to read input
             final var responseView = event.getDialogResponseView();
             if (responseView == null) {
@@ -217,19 +204,13 @@ public class DialogClickListener implements Listener {
                 return;
             }
 
-            // Execute the callback
-            final var homeCreationDialog = this.plugin.getHomeCreationDialog();
-            final Consumer<String> callback = homeCreationDialog.getPendingRenameCallback();
-            if (callback != null) {
-                callback.accept(cleanName);
-                homeCreationDialog.clearPendingCallbacks();
-                
-                // Close any open GUI and refresh the main homes GUI
-                this.plugin.getServer().getScheduler().runTask(this.plugin, () -> {
-                    final var gui = new MainHomesGUI(this.plugin, player);
-                    gui.open();
-                });
-            }
+            this.plugin.getHomeCreationDialog().handleHomeRename(player, session.getHomeName(), cleanName);
+            
+            // Close any open GUI and refresh the main homes GUI
+            this.plugin.getServer().getScheduler().runTask(this.plugin, () -> {
+                final var gui = new MainHomesGUI(this.plugin, player);
+                gui.open();
+            });
 
         } catch (final Exception exception) {
             this.plugin.getLogger().severe("Error handling home rename dialog click: " + exception.getMessage());
@@ -5,8 +5,6 @@ import lombok.RequiredArgsConstructor;
 import org.bukkit.event.EventHandler;
 import org.bukkit.event.EventPriority;
 import org.bukkit.event.Listener;
-import org.bukkit.event.entity.EntityDamageEvent;
-import org.bukkit.event.player.PlayerMoveEvent;
 import org.bukkit.event.player.PlayerQuitEvent;
 import org.bukkit.entity.Player;
 import org.jetbrains.annotations.NotNull;
@@ -15,48 +13,19 @@ import java.util.Objects;
 
 /**
  * Listener for player events that affect teleportation
+ * Movement and damage are handled by {@link TeleportWarmupListener} while warmups are active
  */
 @RequiredArgsConstructor
 public final class PlayerListener implements Listener {
 
     private final DMHomesPlugin plugin;
 
-    @EventHandler(priority = EventPriority.MONITOR)
-    public void onPlayerMove(final @NotNull PlayerMoveEvent event) {
-        Objects.requireNonNull(event, "Event cannot be null");
-        
-        final Player player = event.getPlayer();
-        
-        // Movement cancellation is handled in TeleportationManager
-        // This is just for monitoring if needed in the future
-    }
-
-    @EventHandler(priority = EventPriority.MONITOR)
-    public void onPlayerDamage(final @NotNull EntityDamageEvent event) {
-        Objects.requireNonNull(event, "Event cannot be null");
-        
-        if (!(event.getEntity() instanceof Player)) {
-            return;
-        }
-
-        final Player player = (Player) event.getEntity();
-        
-        // Check if player has active teleportation and cancel on damage is enabled
-        if (this.plugin.getTeleportationManager().hasTeleportation(player)) {
-            final boolean cancelOnDamage = this.plugin.getConfigManager().getConfig()
-                .getBoolean("teleportation.cancel-on-damage", true);
-            
-            if (cancelOnDamage) {
-                this.plugin.getTeleportationManager().cancelTeleportation(player, "damage");
-            }
-        }
-    }
-
     @EventHandler(priority = EventPriority.MONITOR)
     public void onPlayerQuit(final @NotNull PlayerQuitEvent event) {
         Objects.requireNonNull(event, "Event cannot be null");
         
         final Player player = event.getPlayer();
+        final long startNanos = System.nanoTime();
         
         // Cancel any active teleportation
         this.plugin.getTeleportationManager().cancelTeleportation(player);
@@ -68,6 +37,13 @@ public final class PlayerListener implements Listener {
             this.plugin.getLogger().warning("Failed to save homes for player " + player.getName() + " on quit: " + exception.getMessage());
         }
         
+        // Stamped before unloading so the purge has a last-seen time that auto-saves don't refresh
+        this.plugin.getHomeDataManager().markSeen(player.getUniqueId());
         this.plugin.getHomeDataManager().unloadPlayer(player.getUniqueId());
+        this.plugin.getHomeCreationDialog().getSessionRegistry().invalidate(player.getUniqueId());
+        this.plugin.getHomeItemTemplate().invalidate(player.getUniqueId());
+        this.plugin.getActionRateLimiter().invalidate(player.getUniqueId());
+        this.plugin.getGuiSessionRegistry().invalidate(player.getUniqueId());
+        this.plugin.getOperationWatchdog().recordOperation("player-quit", player.getName(), startNanos);
     }
 }
\ No newline at end of file
@@ -0,0 +1,38 @@
+package io.github.dmhomes.listeners;
+
+import io.github.dmhomes.teleportation.TeleportationManager;
+import lombok.RequiredArgsConstructor;
+import org.bukkit.entity.Player;
+import org.bukkit.event.EventHandler;
+import org.bukkit.event.EventPriority;
+import org.bukkit.event.Listener;
+import org.bukkit.event.entity.EntityDamageEvent;
+import org.bukkit.event.player.PlayerMoveEvent;
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * Listener for movement and damage during teleportation warmups
+ * Only registered by the TeleportationManager while at least one warmup is pending
+ */
+@RequiredArgsConstructor
+public final class TeleportWarmupListener implements Listener {
+
+    private final TeleportationManager teleportationManager;
+
+    @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+    public void onPlayerMove(final @NotNull PlayerMoveEvent event) {
+        // Head rotation does not count as movement
+        if (!event.hasChangedPosition()) {
+            return;
+        }
+
+        this.teleportationManager.handleMove(event.getPlayer(), event.getTo());
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onPlayerDamage(final @NotNull EntityDamageEvent event) {
+        if (event.getEntity() instanceof Player player) {
+            this.teleportationManager.handleDamage(player);
+        }
+    }
+}
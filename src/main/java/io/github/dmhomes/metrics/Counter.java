@@ -0,0 +1,53 @@
+package io.github.dmhomes.metrics;
+
+import lombok.Getter;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Monotonic counter, safe to increment from any thread
+ */
+public final class Counter {
+
+    @Getter
+    private final String name;
+
+    @Getter
+    private final String help;
+
+    private final LongAdder value = new LongAdder();
+
+    /**
+     * Creates a new Counter instance
+     * @param name the metric name
+     * @param help the metric description
+     */
+    Counter(final @NotNull String name, final @NotNull String help) {
+        this.name = name;
+        this.help = help;
+    }
+
+    /**
+     * Increments the counter by one
+     */
+    public void increment() {
+        this.value.increment();
+    }
+
+    /**
+     * Increments the counter
+     * @param amount the amount to add
+     */
+    public void add(final long amount) {
+        this.value.add(amount);
+    }
+
+    /**
+     * Gets the current value
+     * @return the value
+     */
+    public long get() {
+        return this.value.sum();
+    }
+}
@@ -0,0 +1,27 @@
+package io.github.dmhomes.metrics;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.util.function.DoubleSupplier;
+
+/**
+ * Gauge sampled from a supplier when metrics are read
+ * Suppliers may be called off the main thread and must only read thread-safe state
+ * @param name the metric name
+ * @param help the metric description
+ * @param supplier the value supplier
+ */
+public record Gauge(@NotNull String name, @NotNull String help, @NotNull DoubleSupplier supplier) {
+
+    /**
+     * Samples the current value
+     * @return the value, or NaN if the supplier failed
+     */
+    public double sample() {
+        try {
+            return this.supplier.getAsDouble();
+        } catch (final RuntimeException exception) {
+            return Double.NaN;
+        }
+    }
+}
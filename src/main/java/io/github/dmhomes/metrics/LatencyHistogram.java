@@ -0,0 +1,155 @@
+package io.github.dmhomes.metrics;
+
+import lombok.Getter;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Latency histogram with log-linear buckets, in the style of HdrHistogram
+ * Each power of two is split into 8 linear sub-buckets, so recorded values keep about 12.5% precision
+ * Recording is lock-free and safe from any thread
+ */
+public final class LatencyHistogram {
+
+    private static final int SUB_BUCKET_BITS = 3;
+    private static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+    private static final int BUCKET_COUNT = SUB_BUCKETS + (63 - SUB_BUCKET_BITS) * SUB_BUCKETS;
+
+    @Getter
+    private final String name;
+
+    @Getter
+    private final String help;
+
+    private final AtomicLongArray buckets = new AtomicLongArray(BUCKET_COUNT);
+    private final LongAdder count = new LongAdder();
+    private final LongAdder sumNanos = new LongAdder();
+    private final AtomicLong maxNanos = new AtomicLong();
+
+    /**
+     * Creates a new LatencyHistogram instance
+     * @param name the metric name
+     * @param help the metric description
+     */
+    LatencyHistogram(final @NotNull String name, final @NotNull String help) {
+        this.name = name;
+        this.help = help;
+    }
+
+    /**
+     * Records a duration
+     * @param nanos the duration in nanoseconds, negative values are recorded as 0
+     */
+    public void record(final long nanos) {
+        final long value = Math.max(0L, nanos);
+        this.buckets.incrementAndGet(bucketIndex(value));
+        this.count.increment();
+        this.sumNanos.add(value);
+        this.maxNanos.accumulateAndGet(value, Math::max);
+    }
+
+    /**
+     * Records the time elapsed since a start timestamp
+     * @param startNanos the start timestamp from {@link System#nanoTime()}
+     */
+    public void recordSince(final long startNanos) {
+        this.record(System.nanoTime() - startNanos);
+    }
+
+    /**
+     * Gets the number of recorded values
+     * @return the count
+     */
+    public long getCount() {
+        return this.count.sum();
+    }
+
+    /**
+     * Gets the sum of all recorded values
+     * @return the sum in seconds
+     */
+    public double getSumSeconds() {
+        return this.sumNanos.sum() / 1_000_000_000.0;
+    }
+
+    /**
+     * Gets the largest recorded value
+     * @return the maximum in milliseconds
+     */
+    public double getMaxMillis() {
+        return this.maxNanos.get() / 1_000_000.0;
+    }
+
+    /**
+     * Gets the mean of all recorded values
+     * @return the mean in milliseconds, or 0 if nothing was recorded
+     */
+    public double getMeanMillis() {
+        final long total = this.getCount();
+        return total == 0 ? 0.0 : this.sumNanos.sum() / (double) total / 1_000_000.0;
+    }
+
+    /**
+     * Gets a quantile of the recorded values
+     * @param quantile the quantile between 0 and 1
+     * @return the upper bound of the bucket holding the quantile, in nanoseconds, or 0 if nothing was recorded
+     */
+    public long getQuantileNanos(final double quantile) {
+        final long total = this.getCount();
+        if (total == 0) {
+            return 0L;
+        }
+
+        final long rank = Math.max(1L, (long) Math.ceil(quantile * total));
+        long seen = 0L;
+        for (int index = 0; index < BUCKET_COUNT; index++) {
+            seen += this.buckets.get(index);
+            if (seen >= rank) {
+                return Math.min(bucketUpperBound(index), this.maxNanos.get());
+            }
+        }
+        return this.maxNanos.get();
+    }
+
+    /**
+     * Gets a quantile of the recorded values
+     * @param quantile the quantile between 0 and 1
+     * @return the quantile in milliseconds
+     */
+    public double getQuantileMillis(final double quantile) {
+        return this.getQuantileNanos(quantile) / 1_000_000.0;
+    }
+
+    /**
+     * Gets the bucket of a value
+     * @param value the non-negative value
+     * @return the bucket index
+     */
+    private static int bucketIndex(final long value) {
+        if (value < SUB_BUCKETS) {
+            return (int) value;
+        }
+
+        final int exponent = 63 - Long.numberOfLeadingZeros(value);
+        final int subBucket = (int) (value >>> (exponent - SUB_BUCKET_BITS)) & (SUB_BUCKETS - 1);
+        return (exponent - SUB_BUCKET_BITS + 1) * SUB_BUCKETS + subBucket;
+    }
+
+    /**
+     * Gets the largest value that falls into a bucket
+     * @param index the bucket index
+     * @return the upper bound
+     */
+    private static long bucketUpperBound(final int index) {
+        if (index < SUB_BUCKETS) {
+            return index;
+        }
+
+        final int exponent = index / SUB_BUCKETS + SUB_BUCKET_BITS - 1;
+        final long lowerBound = (long) (SUB_BUCKETS + index % SUB_BUCKETS) << (exponent - SUB_BUCKET_BITS);
+        return lowerBound + (1L << (exponent - SUB_BUCKET_BITS)) - 1;
+    }
+}
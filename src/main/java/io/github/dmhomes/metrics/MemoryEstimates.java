@@ -0,0 +1,97 @@
+package io.github.dmhomes.metrics;
+
+import lombok.experimental.UtilityClass;
+import net.kyori.adventure.text.Component;
+import org.bukkit.inventory.ItemStack;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.List;
+
+/**
+ * Rough retained-size estimates for the objects DM-Homes keeps in memory
+ * Assumes a 64-bit JVM with compressed references, sizes are rounded to 8-byte alignment
+ */
+@UtilityClass
+public class MemoryEstimates {
+
+    /** Object header */
+    public static final long HEADER = 12L;
+    /** Compressed object reference */
+    public static final long REFERENCE = 4L;
+    /** UUID: header and two longs */
+    public static final long UUID = 32L;
+    /** Node of a HashMap or ConcurrentHashMap, plus its share of the table at the default load factor */
+    public static final long MAP_ENTRY = 40L;
+    /** Empty HashMap or ConcurrentHashMap */
+    public static final long MAP = 64L;
+    /** Location with its weak world reference */
+    public static final long LOCATION = 80L;
+    /** Item stack with its component patch, without name and lore */
+    public static final long ITEM_STACK = 320L;
+    /** One name or lore line of an item */
+    public static final long ITEM_LINE = 200L;
+
+    /**
+     * Estimates the size of a string
+     * @param value the string or null
+     * @return the estimated bytes, 0 for null
+     */
+    public long string(final @Nullable String value) {
+        if (value == null) {
+            return 0L;
+        }
+
+        // String object plus a Latin-1 byte array, non-Latin-1 text takes two bytes per char
+        return 24L + align(16L + value.length() * (isLatin1(value) ? 1L : 2L));
+    }
+
+    /**
+     * Estimates the size of an item stack with its name and lore
+     * @param item the item or null
+     * @return the estimated bytes, 0 for null
+     */
+    public long itemStack(final @Nullable ItemStack item) {
+        if (item == null) {
+            return 0L;
+        }
+
+        final List<Component> lore = item.lore();
+        return ITEM_STACK + ITEM_LINE * (1 + (lore != null ? lore.size() : 0));
+    }
+
+    /**
+     * Estimates the size of an array of references
+     * @param length the array length
+     * @return the estimated bytes
+     */
+    public long referenceArray(final int length) {
+        return align(16L + length * REFERENCE);
+    }
+
+    /**
+     * Estimates the size of a long array
+     * @param length the array length
+     * @return the estimated bytes
+     */
+    public long longArray(final int length) {
+        return align(16L + length * 8L);
+    }
+
+    /**
+     * Rounds a size up to the object alignment
+     * @param bytes the size
+     * @return the aligned size
+     */
+    public long align(final long bytes) {
+        return (bytes + 7L) & ~7L;
+    }
+
+    private boolean isLatin1(final String value) {
+        for (int i = 0; i < value.length(); i++) {
+            if (value.charAt(i) > 0xFF) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
@@ -0,0 +1,127 @@
+package io.github.dmhomes.metrics;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Estimated retained heap of DM-Homes, per subsystem and per player
+ * Filled by the subsystems' accountMemory methods, see {@link MemoryEstimates} for the size model
+ */
+public final class MemoryUsage {
+
+    private final long[] totals = new long[Subsystem.values().length];
+    private final Map<UUID, long[]> players = new HashMap<>();
+
+    /**
+     * Adds estimated bytes to a subsystem
+     * @param subsystem the subsystem
+     * @param playerUuid the player the bytes belong to, or null for shared data
+     * @param bytes the estimated bytes
+     */
+    public void add(final @NotNull Subsystem subsystem, final @Nullable UUID playerUuid, final long bytes) {
+        this.totals[subsystem.ordinal()] += bytes;
+
+        if (playerUuid != null) {
+            this.players.computeIfAbsent(playerUuid, uuid -> new long[Subsystem.values().length])[subsystem.ordinal()] += bytes;
+        }
+    }
+
+    /**
+     * Gets the estimated bytes of a subsystem
+     * @param subsystem the subsystem
+     * @return the estimated bytes
+     */
+    public long getTotal(final @NotNull Subsystem subsystem) {
+        return this.totals[subsystem.ordinal()];
+    }
+
+    /**
+     * Gets the estimated bytes of all subsystems
+     * @return the estimated bytes
+     */
+    public long getTotal() {
+        long total = 0L;
+        for (final long bytes : this.totals) {
+            total += bytes;
+        }
+        return total;
+    }
+
+    /**
+     * Gets the number of players with accounted data
+     * @return the player count
+     */
+    public int getPlayerCount() {
+        return this.players.size();
+    }
+
+    /**
+     * Gets the players with the largest estimated footprint
+     * @param limit the maximum number of players
+     * @return the players, heaviest first
+     */
+    public @NotNull List<PlayerUsage> getTopPlayers(final int limit) {
+        final List<PlayerUsage> usages = new ArrayList<>(this.players.size());
+        for (final Map.Entry<UUID, long[]> entry : this.players.entrySet()) {
+            usages.add(new PlayerUsage(entry.getKey(), entry.getValue()));
+        }
+
+        usages.sort(Comparator.comparingLong(PlayerUsage::getTotal).reversed());
+        return usages.subList(0, Math.min(limit, usages.size()));
+    }
+
+    /**
+     * Estimated footprint of one player
+     * @param playerUuid the player's UUID
+     * @param bytes the estimated bytes, indexed by subsystem ordinal
+     */
+    public record PlayerUsage(@NotNull UUID playerUuid, long @NotNull [] bytes) {
+
+        /**
+         * Gets the estimated bytes of a subsystem
+         * @param subsystem the subsystem
+         * @return the estimated bytes
+         */
+        public long get(final @NotNull Subsystem subsystem) {
+            return this.bytes[subsystem.ordinal()];
+        }
+
+        /**
+         * Gets the estimated bytes across all subsystems
+         * @return the estimated bytes
+         */
+        public long getTotal() {
+            long total = 0L;
+            for (final long value : this.bytes) {
+                total += value;
+            }
+            return total;
+        }
+    }
+
+    /**
+     * Subsystems that keep data in memory
+     */
+    @Getter
+    @RequiredArgsConstructor
+    public enum Subsystem {
+        HOMES("Homes"),
+        ICONS("Home icons"),
+        ITEM_CACHE("Cached home items"),
+        GUI_SESSIONS("Open GUIs"),
+        DIALOG_SESSIONS("Dialog sessions"),
+        RATE_LIMITS("Rate limits"),
+        SHARED("Shared icon pages");
+
+        private final String displayName;
+    }
+}
@@ -0,0 +1,73 @@
+package io.github.dmhomes.metrics;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.util.Collection;
+import java.util.Map;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.function.DoubleSupplier;
+
+/**
+ * Registry of the plugin's counters, gauges and latency histograms
+ * Metrics are created once and kept by the instrumented component, so recording never touches the registry
+ */
+public final class MetricsRegistry {
+
+    private final Map<String, Counter> counters = new ConcurrentSkipListMap<>();
+    private final Map<String, Gauge> gauges = new ConcurrentSkipListMap<>();
+    private final Map<String, LatencyHistogram> histograms = new ConcurrentSkipListMap<>();
+
+    /**
+     * Gets or creates a counter
+     * @param name the metric name, by convention ending in _total
+     * @param help the metric description
+     * @return the counter
+     */
+    public @NotNull Counter counter(final @NotNull String name, final @NotNull String help) {
+        return this.counters.computeIfAbsent(name, key -> new Counter(key, help));
+    }
+
+    /**
+     * Registers a gauge, replacing any gauge with the same name
+     * @param name the metric name
+     * @param help the metric description
+     * @param supplier the value supplier
+     */
+    public void gauge(final @NotNull String name, final @NotNull String help, final @NotNull DoubleSupplier supplier) {
+        this.gauges.put(name, new Gauge(name, help, supplier));
+    }
+
+    /**
+     * Gets or creates a latency histogram
+     * @param name the metric name, by convention ending in _seconds
+     * @param help the metric description
+     * @return the histogram
+     */
+    public @NotNull LatencyHistogram histogram(final @NotNull String name, final @NotNull String help) {
+        return this.histograms.computeIfAbsent(name, key -> new LatencyHistogram(key, help));
+    }
+
+    /**
+     * Gets all counters sorted by name
+     * @return the counters
+     */
+    public @NotNull Collection<Counter> getCounters() {
+        return this.counters.values();
+    }
+
+    /**
+     * Gets all gauges sorted by name
+     * @return the gauges
+     */
+    public @NotNull Collection<Gauge> getGauges() {
+        return this.gauges.values();
+    }
+
+    /**
+     * Gets all histograms sorted by name
+     * @return the histograms
+     */
+    public @NotNull Collection<LatencyHistogram> getHistograms() {
+        return this.histograms.values();
+    }
+}
@@ -0,0 +1,138 @@
+package io.github.dmhomes.metrics;
+
+import io.github.dmhomes.DMHomesPlugin;
+import org.bukkit.Bukkit;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Debug instrumentation that flags storage I/O on the server thread and operations over a time budget
+ * Each main-thread I/O call site is logged once with a stack sample, later hits are only counted
+ * When disabled every check returns immediately
+ */
+public final class OperationWatchdog {
+
+    private final DMHomesPlugin plugin;
+    private final Counter mainThreadIo;
+    private final Counter slowOperations;
+    private final Set<String> reportedCallSites = ConcurrentHashMap.newKeySet();
+
+    private volatile boolean enabled;
+    private volatile long budgetNanos;
+    private volatile int stackDepth;
+
+    /**
+     * Creates a new OperationWatchdog instance
+     * @param plugin the plugin instance
+     */
+    public OperationWatchdog(final @NotNull DMHomesPlugin plugin) {
+        this.plugin = Objects.requireNonNull(plugin, "Plugin cannot be null");
+        this.mainThreadIo = plugin.getMetrics().counter("watchdog_main_thread_io_total",
+            "Storage operations that ran on the server thread while the watchdog was enabled");
+        this.slowOperations = plugin.getMetrics().counter("watchdog_slow_operations_total",
+            "Operations that exceeded the watchdog budget");
+        this.reload();
+    }
+
+    /**
+     * Reads the watchdog settings from the configuration
+     */
+    public void reload() {
+        this.budgetNanos = Math.max(0L, this.plugin.getConfigManager().getConfig()
+            .getLong("metrics.watchdog.slow-operation-ms", 20L)) * 1_000_000L;
+        this.stackDepth = Math.max(1, this.plugin.getConfigManager().getConfig()
+            .getInt("metrics.watchdog.stack-depth", 10));
+        this.enabled = this.plugin.getConfigManager().getConfig().getBoolean("metrics.watchdog.enabled", false);
+        this.reportedCallSites.clear();
+    }
+
+    /**
+     * Checks a finished storage operation, which must not run on the server thread
+     * Call from the thread that did the I/O
+     * @param operation the operation name
+     * @param subject what the operation worked on, e.g. a player UUID, or null
+     * @param startNanos the start timestamp from {@link System#nanoTime()}
+     */
+    public void recordIo(final @NotNull String operation, final @Nullable Object subject, final long startNanos) {
+        if (!this.enabled) {
+            return;
+        }
+
+        final long elapsed = System.nanoTime() - startNanos;
+        if (Bukkit.isPrimaryThread()) {
+            this.reportMainThreadIo(operation, subject, elapsed);
+        }
+        this.checkBudget(operation, subject, elapsed);
+    }
+
+    /**
+     * Checks a finished operation against the time budget
+     * @param operation the operation name
+     * @param subject what the operation worked on, e.g. a player UUID, or null
+     * @param startNanos the start timestamp from {@link System#nanoTime()}
+     */
+    public void recordOperation(final @NotNull String operation, final @Nullable Object subject, final long startNanos) {
+        if (!this.enabled) {
+            return;
+        }
+
+        this.checkBudget(operation, subject, System.nanoTime() - startNanos);
+    }
+
+    /**
+     * Counts a main-thread I/O operation and logs its call site the first time it is seen
+     * @param operation the operation name
+     * @param subject the operation subject or null
+     * @param elapsed the duration in nanoseconds
+     */
+    private void reportMainThreadIo(final @NotNull String operation, final @Nullable Object subject, final long elapsed) {
+        this.mainThreadIo.increment();
+
+        // Skip this method and recordIo
+        final List<String> frames = StackWalker.getInstance().walk(stream -> stream
+            .skip(2)
+            .limit(this.stackDepth)
+            .map(StackWalker.StackFrame::toString)
+            .toList());
+
+        if (!this.reportedCallSites.add(operation + '@' + String.join(";", frames))) {
+            return;
+        }
+
+        final StringBuilder message = new StringBuilder(256)
+            .append("[Watchdog] ").append(describe(operation, subject))
+            .append(String.format(" did I/O on the server thread (%.2f ms)", elapsed / 1_000_000.0));
+        for (final String frame : frames) {
+            message.append("\n    at ").append(frame);
+        }
+        this.plugin.getLogger().warning(message.toString());
+    }
+
+    /**
+     * Logs an operation that exceeded the budget
+     * @param operation the operation name
+     * @param subject the operation subject or null
+     * @param elapsed the duration in nanoseconds
+     */
+    private void checkBudget(final @NotNull String operation, final @Nullable Object subject, final long elapsed) {
+        if (elapsed <= this.budgetNanos) {
+            return;
+        }
+
+        this.slowOperations.increment();
+        this.plugin.getLogger().warning(String.format("[Watchdog] %s took %.2f ms on %s (budget %d ms)",
+            describe(operation, subject),
+            elapsed / 1_000_000.0,
+            Thread.currentThread().getName(),
+            this.budgetNanos / 1_000_000L));
+    }
+
+    private static @NotNull String describe(final @NotNull String operation, final @Nullable Object subject) {
+        return subject != null ? operation + " (" + subject + ")" : operation;
+    }
+}
@@ -0,0 +1,146 @@
+package io.github.dmhomes.metrics;
+
+import io.github.dmhomes.DMHomesPlugin;
+import org.bukkit.scheduler.BukkitTask;
+import org.jetbrains.annotations.NotNull;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.Locale;
+import java.util.Objects;
+
+/**
+ * Periodically writes all metrics to a file in the Prometheus text exposition format
+ * Intended for the node_exporter textfile collector; the file is replaced atomically so scrapes never see partial output
+ */
+public final class PrometheusExporter {
+
+    private static final String PREFIX = "dmhomes_";
+    private static final double[] QUANTILES = {0.5, 0.9, 0.95, 0.99};
+
+    private final DMHomesPlugin plugin;
+    private final MetricsRegistry registry;
+    private BukkitTask task;
+
+    /**
+     * Creates a new PrometheusExporter instance
+     * @param plugin the plugin instance
+     * @param registry the metrics to export
+     */
+    public PrometheusExporter(final @NotNull DMHomesPlugin plugin, final @NotNull MetricsRegistry registry) {
+        this.plugin = Objects.requireNonNull(plugin, "Plugin cannot be null");
+        this.registry = Objects.requireNonNull(registry, "Registry cannot be null");
+    }
+
+    /**
+     * Starts or restarts the export task according to the configuration
+     */
+    public void reload() {
+        this.stop();
+
+        if (!this.plugin.getConfigManager().getConfig().getBoolean("metrics.prometheus.enabled", false)) {
+            return;
+        }
+
+        final long intervalTicks = 20L * Math.max(1L,
+            this.plugin.getConfigManager().getConfig().getLong("metrics.prometheus.interval-seconds", 15L));
+        this.task = this.plugin.getServer().getScheduler()
+            .runTaskTimerAsynchronously(this.plugin, this::write, intervalTicks, intervalTicks);
+    }
+
+    /**
+     * Stops the export task
+     */
+    public void stop() {
+        if (this.task != null) {
+            this.task.cancel();
+            this.task = null;
+        }
+    }
+
+    /**
+     * Writes the metrics file once
+     */
+    public void write() {
+        final Path target = this.getTargetPath();
+        final Path temporary = target.resolveSibling(target.getFileName() + ".tmp");
+
+        try {
+            if (target.getParent() != null) {
+                Files.createDirectories(target.getParent());
+            }
+            Files.writeString(temporary, this.render(), StandardCharsets.UTF_8);
+
+            try {
+                Files.move(temporary, target, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+            } catch (final AtomicMoveNotSupportedException exception) {
+                Files.move(temporary, target, StandardCopyOption.REPLACE_EXISTING);
+            }
+        } catch (final IOException exception) {
+            this.plugin.getLogger().warning("Failed to write metrics file " + target + ": " + exception.getMessage());
+        }
+    }
+
+    /**
+     * Renders all metrics in the Prometheus text format
+     * @return the exposition text
+     */
+    public @NotNull String render() {
+        final StringBuilder builder = new StringBuilder(4096);
+
+        for (final Counter counter : this.registry.getCounters()) {
+            this.appendHeader(builder, counter.getName(), counter.getHelp(), "counter");
+            this.appendSample(builder, counter.getName(), "", counter.get());
+        }
+
+        for (final Gauge gauge : this.registry.getGauges()) {
+            this.appendHeader(builder, gauge.name(), gauge.help(), "gauge");
+            this.appendSample(builder, gauge.name(), "", gauge.sample());
+        }
+
+        for (final LatencyHistogram histogram : this.registry.getHistograms()) {
+            this.appendHeader(builder, histogram.getName(), histogram.getHelp(), "summary");
+            for (final double quantile : QUANTILES) {
+                this.appendSample(builder, histogram.getName(), "{quantile=\"" + quantile + "\"}",
+                    histogram.getQuantileNanos(quantile) / 1_000_000_000.0);
+            }
+            this.appendSample(builder, histogram.getName() + "_sum", "", histogram.getSumSeconds());
+            this.appendSample(builder, histogram.getName() + "_count", "", histogram.getCount());
+        }
+
+        return builder.toString();
+    }
+
+    private void appendHeader(final @NotNull StringBuilder builder, final @NotNull String name,
+                              final @NotNull String help, final @NotNull String type) {
+        builder.append("# HELP ").append(PREFIX).append(name).append(' ').append(help).append('\n');
+        builder.append("# TYPE ").append(PREFIX).append(name).append(' ').append(type).append('\n');
+    }
+
+    private void appendSample(final @NotNull StringBuilder builder, final @NotNull String name,
+                              final @NotNull String labels, final double value) {
+        builder.append(PREFIX).append(name).append(labels).append(' ');
+        if (Double.isNaN(value)) {
+            builder.append("NaN");
+        } else if (value == Math.rint(value) && Math.abs(value) < 1e15) {
+            builder.append((long) value);
+        } else {
+            builder.append(String.format(Locale.ROOT, "%.9g", value));
+        }
+        builder.append('\n');
+    }
+
+    /**
+     * Resolves the configured metrics file
+     * @return the file path, relative paths are resolved against the plugin folder
+     */
+    private @NotNull Path getTargetPath() {
+        final Path configured = Path.of(this.plugin.getConfigManager().getConfig()
+            .getString("metrics.prometheus.file", "metrics/dmhomes.prom"));
+        return configured.isAbsolute() ? configured : this.plugin.getDataFolder().toPath().resolve(configured);
+    }
+}
@@ -0,0 +1,23 @@
+package io.github.dmhomes.migration;
+
+import org.bukkit.configuration.ConfigurationSection;
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * Imports homes from AdvancedTeleport flat-file userdata
+ * Only the YAML storage is supported, servers on the SQL storage have to switch back before importing
+ */
+public final class AdvancedTeleportImportSource extends HomeImportSource {
+
+    /**
+     * Creates a new AdvancedTeleportImportSource instance
+     */
+    public AdvancedTeleportImportSource() {
+        super("advancedteleport", "AdvancedTeleport/userdata");
+    }
+
+    @Override
+    protected long getCreatedAt(final @NotNull ConfigurationSection section, final long fallbackCreatedAt) {
+        return section.getLong("timestamps.created", fallbackCreatedAt);
+    }
+}
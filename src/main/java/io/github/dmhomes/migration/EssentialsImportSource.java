@@ -0,0 +1,44 @@
+package io.github.dmhomes.migration;
+
+import org.bukkit.Bukkit;
+import org.bukkit.World;
+import org.bukkit.configuration.ConfigurationSection;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.UUID;
+
+/**
+ * Imports homes from EssentialsX userdata files
+ * Newer EssentialsX versions store the world UUID with a "world-name" fallback, older ones the world name
+ */
+public final class EssentialsImportSource extends HomeImportSource {
+
+    /**
+     * Creates a new EssentialsImportSource instance
+     */
+    public EssentialsImportSource() {
+        super("essentials", "Essentials/userdata");
+    }
+
+    @Override
+    protected @Nullable World resolveWorld(final @NotNull ConfigurationSection section) {
+        final String world = section.getString("world");
+        if (world != null) {
+            try {
+                final World byUuid = Bukkit.getWorld(UUID.fromString(world));
+                if (byUuid != null) {
+                    return byUuid;
+                }
+            } catch (final IllegalArgumentException exception) {
+                final World byName = Bukkit.getWorld(world);
+                if (byName != null) {
+                    return byName;
+                }
+            }
+        }
+
+        final String worldName = section.getString("world-name");
+        return worldName != null ? Bukkit.getWorld(worldName) : null;
+    }
+}
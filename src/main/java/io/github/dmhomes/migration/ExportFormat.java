@@ -0,0 +1,145 @@
+package io.github.dmhomes.migration;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.time.Instant;
+
+/**
+ * Flat file formats for exported homes, one row per home
+ */
+@Getter
+@RequiredArgsConstructor
+public enum ExportFormat {
+
+    CSV("csv") {
+        @Override
+        public void writeHeader(final @NotNull Writer writer) throws IOException {
+            writer.write("player_uuid,home,world,x,y,z,yaw,pitch,created_at,icon\n");
+        }
+
+        @Override
+        public void writeRow(final @NotNull Writer writer, final @NotNull ExportRow row) throws IOException {
+            writer.write(row.playerUuid());
+            writer.write(',');
+            this.writeCsvField(writer, row.home());
+            writer.write(',');
+            this.writeCsvField(writer, row.world());
+            writer.write("," + row.x() + "," + row.y() + "," + row.z() + "," + row.yaw() + "," + row.pitch() + ",");
+            writer.write(Instant.ofEpochMilli(row.createdAt()).toString());
+            writer.write(',');
+            if (row.icon() != null) {
+                this.writeCsvField(writer, row.icon());
+            }
+            writer.write('\n');
+        }
+
+        private void writeCsvField(final @NotNull Writer writer, final @NotNull String value) throws IOException {
+            if (value.indexOf(',') < 0 && value.indexOf('"') < 0 && value.indexOf('\n') < 0 && value.indexOf('\r') < 0) {
+                writer.write(value);
+                return;
+            }
+            writer.write('"');
+            writer.write(value.replace("\"", "\"\""));
+            writer.write('"');
+        }
+    },
+
+    JSONL("jsonl") {
+        @Override
+        public void writeHeader(final @NotNull Writer writer) {
+        }
+
+        @Override
+        public void writeRow(final @NotNull Writer writer, final @NotNull ExportRow row) throws IOException {
+            writer.write("{\"player_uuid\":\"" + row.playerUuid() + "\",\"home\":");
+            this.writeJsonString(writer, row.home());
+            writer.write(",\"world\":");
+            this.writeJsonString(writer, row.world());
+            writer.write(",\"x\":" + row.x() + ",\"y\":" + row.y() + ",\"z\":" + row.z()
+                + ",\"yaw\":" + row.yaw() + ",\"pitch\":" + row.pitch()
+                + ",\"created_at\":" + row.createdAt() + ",\"icon\":");
+            if (row.icon() != null) {
+                this.writeJsonString(writer, row.icon());
+            } else {
+                writer.write("null");
+            }
+            writer.write("}\n");
+        }
+
+        private void writeJsonString(final @NotNull Writer writer, final @NotNull String value) throws IOException {
+            writer.write('"');
+            for (int i = 0; i < value.length(); i++) {
+                final char character = value.charAt(i);
+                switch (character) {
+                    case '"' -> writer.write("\\\"");
+                    case '\\' -> writer.write("\\\\");
+                    case '\n' -> writer.write("\\n");
+                    case '\r' -> writer.write("\\r");
+                    case '\t' -> writer.write("\\t");
+                    default -> {
+                        if (character < 0x20) {
+                            writer.write(String.format("\\u%04x", (int) character));
+                        } else {
+                            writer.write(character);
+                        }
+                    }
+                }
+            }
+            writer.write('"');
+        }
+    };
+
+    private final String extension;
+
+    /**
+     * Writes the lines that precede the rows
+     * @param writer the output
+     * @throws IOException if writing fails
+     */
+    public abstract void writeHeader(@NotNull Writer writer) throws IOException;
+
+    /**
+     * Writes one home
+     * @param writer the output
+     * @param row the home
+     * @throws IOException if writing fails
+     */
+    public abstract void writeRow(@NotNull Writer writer, @NotNull ExportRow row) throws IOException;
+
+    /**
+     * Gets a format by its name, which is also its file extension
+     * @param name the format name
+     * @return the format or null if unknown
+     */
+    public static @Nullable ExportFormat fromName(final @NotNull String name) {
+        for (final ExportFormat format : values()) {
+            if (format.extension.equalsIgnoreCase(name)) {
+                return format;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * One exported home joined with its icon
+     * @param playerUuid the owner's UUID
+     * @param home the home name
+     * @param world the world name
+     * @param x the x coordinate
+     * @param y the y coordinate
+     * @param z the z coordinate
+     * @param yaw the yaw
+     * @param pitch the pitch
+     * @param createdAt the creation timestamp in epoch milliseconds
+     * @param icon the custom icon or null if the home has none
+     */
+    public record ExportRow(@NotNull String playerUuid, @NotNull String home, @NotNull String world,
+                            double x, double y, double z, float yaw, float pitch,
+                            long createdAt, @Nullable String icon) {
+    }
+}
@@ -0,0 +1,254 @@
+package io.github.dmhomes.migration;
+
+import io.github.dmhomes.DMHomesPlugin;
+import net.kyori.adventure.text.Component;
+import org.bukkit.command.CommandSender;
+import org.bukkit.configuration.ConfigurationSection;
+import org.bukkit.configuration.InvalidConfigurationException;
+import org.bukkit.configuration.file.YamlConfiguration;
+import org.bukkit.entity.Player;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import org.yaml.snakeyaml.LoaderOptions;
+import org.yaml.snakeyaml.Yaml;
+import org.yaml.snakeyaml.constructor.SafeConstructor;
+import org.yaml.snakeyaml.error.YAMLException;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Reader;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Exports every player's homes, joined with their icons, to one gzip-compressed flat file
+ * Runs off the main thread and reads the storage one player at a time, so memory use doesn't grow with the player count
+ */
+public final class HomeExporter {
+
+    private static final DateTimeFormatter FILE_TIMESTAMP = DateTimeFormatter.ofPattern("yyyyMMdd-HHmmss");
+
+    private final DMHomesPlugin plugin;
+    private final AtomicBoolean running = new AtomicBoolean();
+
+    /**
+     * Creates a new HomeExporter instance
+     * @param plugin the plugin instance
+     */
+    public HomeExporter(final @NotNull DMHomesPlugin plugin) {
+        this.plugin = Objects.requireNonNull(plugin, "Plugin cannot be null");
+    }
+
+    /**
+     * Checks if an export is running
+     * @return true if an export is running
+     */
+    public boolean isRunning() {
+        return this.running.get();
+    }
+
+    /**
+     * Starts an export in the background
+     * @param format the output format
+     * @param sender who receives the result
+     * @return the file being written, or null if an export is already running
+     */
+    public @Nullable Path start(final @NotNull ExportFormat format, final @NotNull CommandSender sender) {
+        if (!this.running.compareAndSet(false, true)) {
+            return null;
+        }
+
+        final Path target = this.plugin.getDataFolder().toPath().resolve("exports")
+            .resolve("homes-" + LocalDateTime.now().format(FILE_TIMESTAMP) + "." + format.getExtension() + ".gz");
+        this.plugin.getServer().getScheduler().runTaskAsynchronously(this.plugin, () -> {
+            try {
+                this.export(format, target, sender);
+            } finally {
+                this.running.set(false);
+            }
+        });
+        return target;
+    }
+
+    /**
+     * Writes the export file
+     * @param format the output format
+     * @param target the output file
+     * @param sender who receives the result
+     */
+    private void export(final @NotNull ExportFormat format, final @NotNull Path target, final @NotNull CommandSender sender) {
+        // Icons are saved lazily, flush them so the files on disk are current
+        this.plugin.getHomeDataManager().saveAllData();
+
+        final Path dataFolder = this.plugin.getDataFolder().toPath();
+        final Path homesDirectory = dataFolder.resolve("homes");
+        final Path playerDataDirectory = dataFolder.resolve("playerdata");
+        final Path temporary = target.resolveSibling(target.getFileName() + ".tmp");
+        final long startNanos = System.nanoTime();
+
+        // Homes files are read as plain maps, a Location would fail to load for homes in worlds that aren't loaded
+        final Yaml yaml = new Yaml(new SafeConstructor(new LoaderOptions()));
+
+        long players = 0L;
+        long rows = 0L;
+        long errors = 0L;
+
+        try {
+            Files.createDirectories(target.getParent());
+
+            try (OutputStream output = new GZIPOutputStream(Files.newOutputStream(temporary), 64 * 1024);
+                 Writer writer = new BufferedWriter(new OutputStreamWriter(output, StandardCharsets.UTF_8), 64 * 1024);
+                 DirectoryStream<Path> files = Files.newDirectoryStream(homesDirectory, "*.yml")) {
+                format.writeHeader(writer);
+
+                for (final Path homesFile : files) {
+                    final String fileName = homesFile.getFileName().toString();
+                    final String playerUuid = fileName.substring(0, fileName.length() - 4);
+
+                    final Map<?, ?> homes;
+                    final ConfigurationSection icons;
+                    try {
+                        homes = this.loadRaw(yaml, homesFile);
+                        final Path iconsFile = playerDataDirectory.resolve(fileName);
+                        icons = Files.exists(iconsFile)
+                            ? this.load(iconsFile).getConfigurationSection("home-icons") : null;
+                    } catch (final IOException | InvalidConfigurationException | YAMLException exception) {
+                        this.plugin.getLogger().warning("Export skipped " + fileName + ": " + exception.getMessage());
+                        errors++;
+                        continue;
+                    }
+
+                    rows += this.writePlayer(format, writer, playerUuid, homes, icons);
+                    players++;
+                }
+            }
+
+            try {
+                Files.move(temporary, target, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+            } catch (final AtomicMoveNotSupportedException exception) {
+                Files.move(temporary, target, StandardCopyOption.REPLACE_EXISTING);
+            }
+        } catch (final IOException exception) {
+            this.plugin.getLogger().warning("Export to " + target + " failed: " + exception.getMessage());
+            this.send(sender, Component.text("§cExport failed: " + exception.getMessage()));
+            try {
+                Files.deleteIfExists(temporary);
+            } catch (final IOException ignored) {
+                // Nothing left to clean up
+            }
+            return;
+        }
+
+        final double seconds = (System.nanoTime() - startNanos) / 1_000_000_000.0;
+        long size = 0L;
+        try {
+            size = Files.size(target);
+        } catch (final IOException ignored) {
+            // Size is informational only
+        }
+
+        this.send(sender, Component.text(String.format("§aExported §f%d §ahomes of §f%d §aplayers to §f%s §7(%.1f KB, %.1f s, %d errors)",
+            rows, players, dataFolder.relativize(target), size / 1024.0, seconds, errors)));
+    }
+
+    /**
+     * Writes the rows of one player
+     * The world is taken by name from the file without resolving it, so homes in unloaded or deleted worlds are kept
+     * @param format the output format
+     * @param writer the output
+     * @param playerUuid the player's UUID
+     * @param homes the player's homes file as a plain map
+     * @param icons the player's icons or null if they have none
+     * @return the number of rows written
+     * @throws IOException if writing fails
+     */
+    private int writePlayer(final @NotNull ExportFormat format, final @NotNull Writer writer, final @NotNull String playerUuid,
+                            final @NotNull Map<?, ?> homes, final @Nullable ConfigurationSection icons) throws IOException {
+        int rows = 0;
+        for (final Map.Entry<?, ?> entry : homes.entrySet()) {
+            if (!(entry.getValue() instanceof Map<?, ?> home) || !(home.get("location") instanceof Map<?, ?> location)
+                || !(location.get("x") instanceof Number x) || !(location.get("y") instanceof Number y)
+                || !(location.get("z") instanceof Number z)) {
+                continue;
+            }
+
+            final String homeName = String.valueOf(entry.getKey());
+            final Object world = location.get("world");
+            format.writeRow(writer, new ExportFormat.ExportRow(
+                playerUuid,
+                homeName,
+                world != null ? world.toString() : "unknown",
+                x.doubleValue(), y.doubleValue(), z.doubleValue(),
+                this.toNumber(location.get("yaw")).floatValue(), this.toNumber(location.get("pitch")).floatValue(),
+                this.toNumber(home.get("created-at")).longValue(),
+                icons != null ? icons.getString(homeName.toLowerCase()) : null));
+            rows++;
+        }
+        return rows;
+    }
+
+    /**
+     * Gets a numeric value read from YAML
+     * @param value the value
+     * @return the number, 0 if the value is missing or not a number
+     */
+    private @NotNull Number toNumber(final @Nullable Object value) {
+        return value instanceof Number number ? number : 0;
+    }
+
+    /**
+     * Parses a YAML file into plain maps without deserializing Bukkit objects
+     * @param yaml the parser
+     * @param file the file
+     * @return the root map, empty if the file is empty
+     * @throws IOException if reading fails
+     */
+    private @NotNull Map<?, ?> loadRaw(final @NotNull Yaml yaml, final @NotNull Path file) throws IOException {
+        try (Reader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+            return yaml.load(reader) instanceof Map<?, ?> root ? root : Map.of();
+        }
+    }
+
+    /**
+     * Parses a YAML file
+     * @param file the file
+     * @return the parsed configuration
+     * @throws IOException if reading fails
+     * @throws InvalidConfigurationException if the file is not valid YAML
+     */
+    private @NotNull YamlConfiguration load(final @NotNull Path file) throws IOException, InvalidConfigurationException {
+        final YamlConfiguration config = new YamlConfiguration();
+        try (Reader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+            config.load(reader);
+        }
+        return config;
+    }
+
+    /**
+     * Sends a message on the main thread to the sender if still online, and to the console
+     * @param sender the command sender
+     * @param message the message
+     */
+    private void send(final @NotNull CommandSender sender, final @NotNull Component message) {
+        this.plugin.getServer().getScheduler().runTask(this.plugin, () -> {
+            final CommandSender console = this.plugin.getServer().getConsoleSender();
+            if (sender != console && (!(sender instanceof Player player) || player.isOnline())) {
+                sender.sendMessage(message);
+            }
+            console.sendMessage(message);
+        });
+    }
+}
@@ -0,0 +1,99 @@
+package io.github.dmhomes.migration;
+
+import io.github.dmhomes.data.Home;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import org.bukkit.Bukkit;
+import org.bukkit.Location;
+import org.bukkit.World;
+import org.bukkit.configuration.ConfigurationSection;
+import org.bukkit.configuration.file.YamlConfiguration;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.function.Consumer;
+
+/**
+ * A plugin whose per-player YAML files can be imported as homes
+ * Each file is named after the player's UUID and keeps its homes in a "homes" section
+ * Implementations must be thread-safe, files are read in parallel
+ */
+@Getter
+@RequiredArgsConstructor
+public abstract class HomeImportSource {
+
+    private final String name;
+    private final String dataDirectory;
+
+    /**
+     * Gets the directory holding the per-player files
+     * @param pluginsDirectory the server's plugins directory
+     * @return the data directory
+     */
+    public @NotNull Path resolveDataDirectory(final @NotNull Path pluginsDirectory) {
+        return pluginsDirectory.resolve(this.dataDirectory);
+    }
+
+    /**
+     * Reads the homes from one player file
+     * Homes that cannot be imported are skipped and reported
+     * @param playerUuid the player's UUID
+     * @param config the parsed player file
+     * @param fallbackCreatedAt creation time for homes that don't record one
+     * @param errors receives a message for every skipped home
+     * @return the imported homes
+     */
+    public @NotNull List<Home> readHomes(final @NotNull UUID playerUuid, final @NotNull YamlConfiguration config,
+                                         final long fallbackCreatedAt, final @NotNull Consumer<String> errors) {
+        final ConfigurationSection homesSection = config.getConfigurationSection("homes");
+        if (homesSection == null) {
+            return List.of();
+        }
+
+        final List<Home> homes = new ArrayList<>();
+        for (final String homeName : homesSection.getKeys(false)) {
+            final ConfigurationSection section = homesSection.getConfigurationSection(homeName);
+            if (section == null || !section.contains("x") || !section.contains("y") || !section.contains("z")) {
+                errors.accept("home '" + homeName + "' has no coordinates");
+                continue;
+            }
+
+            final World world = this.resolveWorld(section);
+            if (world == null) {
+                errors.accept("home '" + homeName + "' is in an unknown world: " + section.getString("world"));
+                continue;
+            }
+
+            final Location location = new Location(world,
+                section.getDouble("x"), section.getDouble("y"), section.getDouble("z"),
+                (float) section.getDouble("yaw"), (float) section.getDouble("pitch"));
+            homes.add(new Home(playerUuid, homeName, location, this.getCreatedAt(section, fallbackCreatedAt)));
+        }
+
+        return homes;
+    }
+
+    /**
+     * Resolves the world of a home
+     * @param section the home's section
+     * @return the world or null if it is not loaded
+     */
+    protected @Nullable World resolveWorld(final @NotNull ConfigurationSection section) {
+        final String world = section.getString("world");
+        return world != null ? Bukkit.getWorld(world) : null;
+    }
+
+    /**
+     * Gets the creation time of a home
+     * @param section the home's section
+     * @param fallbackCreatedAt the time to use when the source doesn't record one
+     * @return the creation timestamp
+     */
+    protected long getCreatedAt(final @NotNull ConfigurationSection section, final long fallbackCreatedAt) {
+        return fallbackCreatedAt;
+    }
+}
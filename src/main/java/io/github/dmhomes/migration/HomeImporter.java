@@ -0,0 +1,97 @@
+package io.github.dmhomes.migration;
+
+import io.github.dmhomes.DMHomesPlugin;
+import io.github.dmhomes.metrics.Counter;
+import org.bukkit.command.CommandSender;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.nio.file.Files;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * Runs imports of homes from other plugins, one at a time
+ */
+public final class HomeImporter {
+
+    private final DMHomesPlugin plugin;
+    private final Map<String, HomeImportSource> sources = new LinkedHashMap<>();
+    private final Counter importedHomes;
+    private ImportJob activeJob;
+
+    /**
+     * Creates a new HomeImporter instance
+     * @param plugin the plugin instance
+     */
+    public HomeImporter(final @NotNull DMHomesPlugin plugin) {
+        this.plugin = Objects.requireNonNull(plugin, "Plugin cannot be null");
+        this.importedHomes = plugin.getMetrics().counter("homes_imported_total", "Homes imported from other plugins");
+        this.register(new EssentialsImportSource());
+        this.register(new AdvancedTeleportImportSource());
+    }
+
+    private void register(final @NotNull HomeImportSource source) {
+        this.sources.put(source.getName(), source);
+    }
+
+    /**
+     * Gets an import source by name
+     * @param name the source name
+     * @return the source or null if unknown
+     */
+    public @Nullable HomeImportSource getSource(final @NotNull String name) {
+        return this.sources.get(name.toLowerCase());
+    }
+
+    /**
+     * Gets all import sources
+     * @return the sources
+     */
+    public @NotNull Collection<HomeImportSource> getSources() {
+        return this.sources.values();
+    }
+
+    /**
+     * Gets the running import
+     * @return the running job or null if no import is running
+     */
+    public @Nullable ImportJob getActiveJob() {
+        return this.activeJob;
+    }
+
+    /**
+     * Starts an import, must be called from the main thread
+     * @param source the source to import from
+     * @param overwrite whether imported homes replace existing homes with the same name
+     * @param sender who receives progress and the final report
+     * @return the started job, or null if an import is already running or the source has no data
+     */
+    public @Nullable ImportJob start(final @NotNull HomeImportSource source, final boolean overwrite,
+                                     final @NotNull CommandSender sender) {
+        if (this.activeJob != null) {
+            return null;
+        }
+
+        final ImportJob job = new ImportJob(this.plugin, source, overwrite, sender, this.importedHomes, () -> this.activeJob = null);
+        if (!Files.isDirectory(job.getDirectory())) {
+            return null;
+        }
+
+        this.activeJob = job;
+        job.start();
+        return job;
+    }
+
+    /**
+     * Cancels the running import, if any
+     */
+    public void cancel() {
+        if (this.activeJob != null) {
+            this.activeJob.cancel();
+            this.activeJob = null;
+        }
+    }
+}
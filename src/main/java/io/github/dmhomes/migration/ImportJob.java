@@ -0,0 +1,341 @@
+package io.github.dmhomes.migration;
+
+import io.github.dmhomes.DMHomesPlugin;
+import io.github.dmhomes.data.Home;
+import io.github.dmhomes.data.HomeManager;
+import io.github.dmhomes.exceptions.DMHomesException;
+import io.github.dmhomes.metrics.Counter;
+import lombok.Getter;
+import net.kyori.adventure.text.Component;
+import org.bukkit.command.CommandSender;
+import org.bukkit.configuration.InvalidConfigurationException;
+import org.bukkit.configuration.file.YamlConfiguration;
+import org.bukkit.entity.Player;
+import org.bukkit.scheduler.BukkitTask;
+import org.jetbrains.annotations.NotNull;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.Queue;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * One run of an import, from scanning the source directory to the final report
+ * Files are streamed from the directory and parsed on a bounded pool; parsed players wait for the
+ * main thread, which merges them into the loaded homes within a per-tick budget, then each player's
+ * file is written once from a snapshot. A semaphore caps the players between parsing and writing,
+ * so memory stays bounded however many files the source has.
+ * If a player edits their homes while their import write is pending, the auto-save after it restores the edit on disk.
+ */
+public final class ImportJob {
+
+    private static final long PROGRESS_INTERVAL_TICKS = 100L;
+
+    private final DMHomesPlugin plugin;
+    @Getter
+    private final HomeImportSource source;
+    private final Path directory;
+    private final boolean overwrite;
+    private final CommandSender sender;
+    @Getter
+    private final ImportReport report;
+    private final Counter importedHomes;
+    private final Runnable onFinish;
+
+    private final int maxInFlight;
+    private final long mergeBudgetNanos;
+    private final Semaphore inFlight;
+    private final Queue<ParsedPlayer> pendingMerges = new ConcurrentLinkedQueue<>();
+    private final ThreadPoolExecutor readers;
+    private final ExecutorService writers;
+
+    private volatile boolean scanDone;
+    private volatile boolean cancelled;
+    private BukkitTask mergeTask;
+    private BukkitTask progressTask;
+
+    /**
+     * Creates a new ImportJob instance
+     * @param plugin the plugin instance
+     * @param source the source to import from
+     * @param overwrite whether imported homes replace existing homes with the same name
+     * @param sender who receives progress and the final report
+     * @param importedHomes the counter of imported homes
+     * @param onFinish called on the main thread once the job is done
+     */
+    ImportJob(final @NotNull DMHomesPlugin plugin, final @NotNull HomeImportSource source, final boolean overwrite,
+              final @NotNull CommandSender sender, final @NotNull Counter importedHomes, final @NotNull Runnable onFinish) {
+        this.plugin = Objects.requireNonNull(plugin, "Plugin cannot be null");
+        this.source = Objects.requireNonNull(source, "Source cannot be null");
+        this.overwrite = overwrite;
+        this.sender = Objects.requireNonNull(sender, "Sender cannot be null");
+        this.importedHomes = importedHomes;
+        this.onFinish = onFinish;
+        this.directory = source.resolveDataDirectory(plugin.getDataFolder().getParentFile().toPath());
+        this.report = new ImportReport(plugin.getDataFolder().toPath().resolve("imports")
+            .resolve(source.getName() + "-" + System.currentTimeMillis() + "-errors.log"));
+
+        final int threads = Math.max(1, plugin.getConfigManager().getConfig().getInt("import.threads", 4));
+        this.maxInFlight = Math.max(1, plugin.getConfigManager().getConfig().getInt("import.max-players-in-flight", 512));
+        this.mergeBudgetNanos = Math.max(1L, plugin.getConfigManager().getConfig().getLong("import.merge-budget-ms", 5L)) * 1_000_000L;
+        this.inFlight = new Semaphore(this.maxInFlight);
+
+        // A full queue makes the scanning thread parse files itself, which throttles the directory walk
+        this.readers = new ThreadPoolExecutor(threads, threads, 0L, TimeUnit.MILLISECONDS,
+            new ArrayBlockingQueue<>(threads * 16), this.threadFactory("reader"), new ThreadPoolExecutor.CallerRunsPolicy());
+        this.writers = Executors.newFixedThreadPool(threads, this.threadFactory("writer"));
+    }
+
+    /**
+     * Gets the directory the job reads from
+     * @return the source data directory
+     */
+    public @NotNull Path getDirectory() {
+        return this.directory;
+    }
+
+    /**
+     * Starts scanning, merging and progress reporting
+     * Must be called from the main thread
+     */
+    void start() {
+        this.mergeTask = this.plugin.getServer().getScheduler().runTaskTimer(this.plugin, this::mergePending, 1L, 1L);
+        this.progressTask = this.plugin.getServer().getScheduler().runTaskTimer(this.plugin,
+            this::sendProgress, PROGRESS_INTERVAL_TICKS, PROGRESS_INTERVAL_TICKS);
+        this.plugin.getServer().getScheduler().runTaskAsynchronously(this.plugin, this::scan);
+    }
+
+    /**
+     * Stops the job, e.g. on shutdown
+     * Players already merged stay in memory and are saved with the rest, pending players are dropped
+     */
+    void cancel() {
+        this.cancelled = true;
+        this.readers.shutdownNow();
+        this.pendingMerges.clear();
+        this.stopTasks();
+
+        this.writers.shutdown();
+        try {
+            if (!this.writers.awaitTermination(10L, TimeUnit.SECONDS)) {
+                this.plugin.getLogger().warning("Import of " + this.source.getName() + " did not finish writing in time");
+            }
+        } catch (final InterruptedException exception) {
+            Thread.currentThread().interrupt();
+        }
+        this.report.close();
+    }
+
+    /**
+     * Walks the source directory and hands every file to the readers
+     */
+    private void scan() {
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(this.directory, "*.yml")) {
+            for (final Path file : files) {
+                if (this.cancelled) {
+                    break;
+                }
+                this.readers.execute(() -> this.read(file));
+            }
+        } catch (final IOException exception) {
+            this.report.error(null, "Failed to list " + this.directory + ": " + exception.getMessage());
+        } catch (final RuntimeException exception) {
+            // Rejected after a cancel
+            if (!this.cancelled) {
+                this.report.error(null, "Scan failed: " + exception);
+            }
+        }
+
+        this.readers.shutdown();
+        try {
+            this.readers.awaitTermination(Long.MAX_VALUE, TimeUnit.NANOSECONDS);
+        } catch (final InterruptedException exception) {
+            Thread.currentThread().interrupt();
+        }
+        this.scanDone = true;
+    }
+
+    /**
+     * Parses one source file and queues its homes for the main thread
+     * @param file the source file
+     */
+    private void read(final @NotNull Path file) {
+        if (this.cancelled) {
+            return;
+        }
+        this.report.fileScanned();
+
+        final String fileName = file.getFileName().toString();
+        final UUID playerUuid;
+        try {
+            playerUuid = UUID.fromString(fileName.substring(0, fileName.length() - 4));
+        } catch (final IllegalArgumentException exception) {
+            this.report.error(file, "file name is not a player UUID");
+            return;
+        }
+
+        final YamlConfiguration config = new YamlConfiguration();
+        final long lastModified;
+        try (Reader reader = Files.newBufferedReader(file)) {
+            config.load(reader);
+            lastModified = Files.getLastModifiedTime(file).toMillis();
+        } catch (final IOException | InvalidConfigurationException exception) {
+            this.report.error(file, "unreadable: " + exception.getMessage());
+            return;
+        }
+
+        final HomeManager homeManager = this.plugin.getHomeManager();
+        final List<Home> homes = new ArrayList<>();
+        for (final Home home : this.source.readHomes(playerUuid, config, lastModified, message -> this.report.error(file, message))) {
+            if (homeManager.isValidHomeName(home.getName())) {
+                homes.add(home);
+            } else {
+                this.report.error(file, "home '" + home.getName() + "' does not match the home name pattern");
+            }
+        }
+
+        if (homes.isEmpty()) {
+            return;
+        }
+
+        try {
+            this.inFlight.acquire();
+        } catch (final InterruptedException exception) {
+            Thread.currentThread().interrupt();
+            return;
+        }
+        this.pendingMerges.add(new ParsedPlayer(playerUuid, file, homes));
+    }
+
+    /**
+     * Merges queued players into the loaded homes until the tick budget is used up
+     * Runs every tick on the main thread
+     */
+    private void mergePending() {
+        final HomeManager homeManager = this.plugin.getHomeManager();
+        final long deadline = System.nanoTime() + this.mergeBudgetNanos;
+
+        ParsedPlayer parsed;
+        while ((parsed = this.pendingMerges.poll()) != null) {
+            final int merged = homeManager.mergeImportedHomes(parsed.playerUuid(), parsed.homes(), this.overwrite);
+            this.report.playerImported(merged, parsed.homes().size() - merged);
+            this.importedHomes.add(merged);
+
+            if (merged > 0) {
+                final ParsedPlayer written = parsed;
+                final List<Home> snapshot = homeManager.snapshotHomes(parsed.playerUuid());
+                this.writers.execute(() -> this.write(written, snapshot));
+            } else {
+                this.inFlight.release();
+            }
+
+            if (System.nanoTime() >= deadline) {
+                return;
+            }
+        }
+
+        if (this.scanDone && this.inFlight.availablePermits() == this.maxInFlight && this.pendingMerges.isEmpty()) {
+            this.finish();
+        }
+    }
+
+    /**
+     * Writes a merged player's homes file
+     * @param parsed the merged player
+     * @param snapshot the player's homes after the merge
+     */
+    private void write(final @NotNull ParsedPlayer parsed, final @NotNull List<Home> snapshot) {
+        try {
+            this.plugin.getHomeManager().writePlayerHomes(parsed.playerUuid(), snapshot);
+        } catch (final DMHomesException exception) {
+            this.report.error(parsed.file(), "merged but not saved, will be saved with the next auto-save: "
+                + exception.getMessage());
+        } finally {
+            this.inFlight.release();
+        }
+    }
+
+    /**
+     * Stops the job and sends the final report
+     */
+    private void finish() {
+        this.stopTasks();
+        this.writers.shutdown();
+        this.report.close();
+
+        this.send(Component.text(String.format("§aImport from %s finished in %.1f s: §f%d §7files, §f%d §7players, §f%d §7homes imported, §f%d §7skipped (name taken)",
+            this.source.getName(), this.report.getElapsedSeconds(), this.report.getFiles(),
+            this.report.getPlayers(), this.report.getImportedHomes(), this.report.getSkippedHomes())));
+        if (this.report.getErrors() > 0) {
+            this.send(Component.text("§c" + this.report.getErrors() + " §7errors, see §f"
+                + this.plugin.getDataFolder().toPath().relativize(this.report.getErrorFile())));
+        }
+
+        this.onFinish.run();
+    }
+
+    /**
+     * Sends the current progress
+     */
+    private void sendProgress() {
+        this.send(Component.text(String.format("§7Importing from §e%s§7: §f%d §7files, §f%d §7players, §f%d §7homes, §f%d §7errors, §f%.0f §7files/s",
+            this.source.getName(), this.report.getFiles(), this.report.getPlayers(),
+            this.report.getImportedHomes(), this.report.getErrors(), this.report.getFilesPerSecond())));
+    }
+
+    /**
+     * Sends a message to the sender if still online, and to the console
+     * @param message the message
+     */
+    private void send(final @NotNull Component message) {
+        final CommandSender console = this.plugin.getServer().getConsoleSender();
+        if (this.sender != console && (!(this.sender instanceof Player player) || player.isOnline())) {
+            this.sender.sendMessage(message);
+        }
+        console.sendMessage(message);
+    }
+
+    private void stopTasks() {
+        if (this.mergeTask != null) {
+            this.mergeTask.cancel();
+            this.mergeTask = null;
+        }
+        if (this.progressTask != null) {
+            this.progressTask.cancel();
+            this.progressTask = null;
+        }
+    }
+
+    private @NotNull ThreadFactory threadFactory(final @NotNull String role) {
+        final AtomicInteger index = new AtomicInteger();
+        return runnable -> {
+            final Thread thread = new Thread(runnable, "DMHomes-Import-" + role + "-" + index.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+
+    /**
+     * Homes read from one source file, waiting to be merged
+     * @param playerUuid the player's UUID
+     * @param file the source file
+     * @param homes the valid homes
+     */
+    private record ParsedPlayer(@NotNull UUID playerUuid, @NotNull Path file, @NotNull List<Home> homes) {
+    }
+}
@@ -0,0 +1,157 @@
+package io.github.dmhomes.migration;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Objects;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Progress counters and error log of one import run
+ * Counters are updated from the reader, merge and writer threads; errors are streamed to a file
+ * so a migration with many broken files doesn't keep them in memory
+ */
+public final class ImportReport {
+
+    private final Path errorFile;
+    private final long startNanos = System.nanoTime();
+
+    private final LongAdder files = new LongAdder();
+    private final LongAdder players = new LongAdder();
+    private final LongAdder importedHomes = new LongAdder();
+    private final LongAdder skippedHomes = new LongAdder();
+    private final LongAdder errors = new LongAdder();
+
+    private BufferedWriter errorWriter;
+    private boolean errorWriterFailed;
+
+    /**
+     * Creates a new ImportReport instance
+     * @param errorFile the file errors are written to, created on the first error
+     */
+    public ImportReport(final @NotNull Path errorFile) {
+        this.errorFile = Objects.requireNonNull(errorFile, "Error file cannot be null");
+    }
+
+    /**
+     * Records a scanned source file
+     */
+    public void fileScanned() {
+        this.files.increment();
+    }
+
+    /**
+     * Records a player whose homes were merged
+     * @param merged the number of homes merged
+     * @param skipped the number of homes skipped because a home with the same name exists
+     */
+    public void playerImported(final int merged, final int skipped) {
+        this.players.increment();
+        this.importedHomes.add(merged);
+        this.skippedHomes.add(skipped);
+    }
+
+    /**
+     * Records an error and appends it to the error file
+     * @param file the source file the error belongs to, or null for errors of the whole run
+     * @param message the error message
+     */
+    public synchronized void error(final @Nullable Path file, final @NotNull String message) {
+        this.errors.increment();
+        if (this.errorWriterFailed) {
+            return;
+        }
+
+        try {
+            if (this.errorWriter == null) {
+                Files.createDirectories(this.errorFile.getParent());
+                this.errorWriter = Files.newBufferedWriter(this.errorFile, StandardCharsets.UTF_8);
+            }
+            this.errorWriter.write((file != null ? file.getFileName() + ": " : "") + message);
+            this.errorWriter.newLine();
+        } catch (final IOException exception) {
+            this.errorWriterFailed = true;
+        }
+    }
+
+    /**
+     * Flushes and closes the error file
+     */
+    public synchronized void close() {
+        if (this.errorWriter == null) {
+            return;
+        }
+
+        try {
+            this.errorWriter.close();
+        } catch (final IOException exception) {
+            this.errorWriterFailed = true;
+        }
+        this.errorWriter = null;
+    }
+
+    /**
+     * Gets the error file, which only exists if there were errors
+     * @return the error file path
+     */
+    public @NotNull Path getErrorFile() {
+        return this.errorFile;
+    }
+
+    /**
+     * @return the number of source files scanned
+     */
+    public long getFiles() {
+        return this.files.sum();
+    }
+
+    /**
+     * @return the number of players whose homes were merged
+     */
+    public long getPlayers() {
+        return this.players.sum();
+    }
+
+    /**
+     * @return the number of homes merged
+     */
+    public long getImportedHomes() {
+        return this.importedHomes.sum();
+    }
+
+    /**
+     * @return the number of homes skipped because of a name clash
+     */
+    public long getSkippedHomes() {
+        return this.skippedHomes.sum();
+    }
+
+    /**
+     * @return the number of errors
+     */
+    public long getErrors() {
+        return this.errors.sum();
+    }
+
+    /**
+     * Gets the time since the import started
+     * @return the elapsed seconds
+     */
+    public double getElapsedSeconds() {
+        return (System.nanoTime() - this.startNanos) / 1_000_000_000.0;
+    }
+
+    /**
+     * Gets the file throughput since the import started
+     * @return files per second
+     */
+    public double getFilesPerSecond() {
+        final double elapsed = this.getElapsedSeconds();
+        return elapsed > 0.0 ? this.getFiles() / elapsed : 0.0;
+    }
+}
@@ -0,0 +1,282 @@
+package io.github.dmhomes.teleportation;
+
+import io.github.dmhomes.DMHomesPlugin;
+import io.github.dmhomes.metrics.LatencyHistogram;
+import org.bukkit.Location;
+import org.bukkit.World;
+import org.bukkit.entity.Player;
+import org.bukkit.scheduler.BukkitTask;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.Objects;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Admission control for the final teleport jump
+ * Caps teleports per tick and chunk loads in flight, queueing the excess in arrival order
+ * Teleports held back only by the chunk load cap keep their place without blocking teleports into loaded chunks
+ * All methods must be called from the main thread
+ */
+public final class TeleportAdmissionQueue {
+
+    private static final int WAIT_SAMPLE_SIZE = 1024;
+
+    private final DMHomesPlugin plugin;
+    private final Deque<PendingTeleport> queue = new ArrayDeque<>();
+    private final LatencyHistogram chunkWaitTimings;
+
+    // Ring buffer of recent admission wait times in nanoseconds
+    private final long[] waitSamples = new long[WAIT_SAMPLE_SIZE];
+    private int waitSampleCount;
+    private int waitSampleIndex;
+
+    private int chunkLoadsInFlight;
+    private int admittedThisTick;
+    private int lastAdmissionTick = -1;
+    private long totalAdmitted;
+    private long totalQueued;
+    private BukkitTask drainTask;
+
+    /**
+     * Creates a new TeleportAdmissionQueue instance
+     * @param plugin the plugin instance
+     */
+    public TeleportAdmissionQueue(final @NotNull DMHomesPlugin plugin) {
+        this.plugin = Objects.requireNonNull(plugin, "Plugin cannot be null");
+        this.chunkWaitTimings = plugin.getMetrics().histogram("teleport_chunk_wait_seconds",
+            "Time for a teleport into an unloaded chunk to complete");
+    }
+
+    /**
+     * Submits a teleport, admitting it right away when capacity allows
+     * @param player the player to teleport
+     * @param destination the destination
+     * @return a future completed with the teleport result, or cancelled if the player leaves the queue
+     */
+    public @NotNull CompletableFuture<Boolean> submit(final @NotNull Player player, final @NotNull Location destination) {
+        Objects.requireNonNull(player, "Player cannot be null");
+        Objects.requireNonNull(destination, "Destination cannot be null");
+
+        final PendingTeleport pending = new PendingTeleport(player, destination, System.nanoTime());
+
+        // Only bypass the queue when nobody is waiting, to keep arrival order fair
+        if (this.queue.isEmpty() && this.tryAdmit(pending) == Admission.ADMITTED) {
+            return pending.result;
+        }
+
+        this.queue.addLast(pending);
+        this.totalQueued++;
+        this.startDrainTask();
+        return pending.result;
+    }
+
+    /**
+     * Removes a queued teleport for a player
+     * @param playerUuid the player's UUID
+     */
+    public void cancel(final @NotNull UUID playerUuid) {
+        final Iterator<PendingTeleport> iterator = this.queue.iterator();
+        while (iterator.hasNext()) {
+            final PendingTeleport pending = iterator.next();
+            if (pending.player.getUniqueId().equals(playerUuid)) {
+                iterator.remove();
+                pending.result.cancel(false);
+            }
+        }
+    }
+
+    /**
+     * Admits as many queued teleports as the current limits allow, in arrival order
+     * Entries that need a chunk load while the chunk load cap is reached are skipped, not waited on
+     */
+    private void drain() {
+        final Iterator<PendingTeleport> iterator = this.queue.iterator();
+        while (iterator.hasNext()) {
+            final PendingTeleport pending = iterator.next();
+
+            if (!pending.player.isOnline()) {
+                iterator.remove();
+                pending.result.cancel(false);
+                continue;
+            }
+
+            final Admission admission = this.tryAdmit(pending);
+            if (admission == Admission.TICK_LIMIT) {
+                break;
+            }
+            if (admission == Admission.ADMITTED) {
+                iterator.remove();
+            }
+        }
+
+        if (this.queue.isEmpty() && this.drainTask != null) {
+            this.drainTask.cancel();
+            this.drainTask = null;
+        }
+    }
+
+    /**
+     * Starts the per-tick drain task if it is not already running
+     */
+    private void startDrainTask() {
+        if (this.drainTask == null) {
+            this.drainTask = this.plugin.getServer().getScheduler().runTaskTimer(this.plugin, this::drain, 1L, 1L);
+        }
+    }
+
+    /**
+     * Tries to start a teleport within the configured limits
+     * @param pending the pending teleport
+     * @return whether the teleport was started, or which limit held it back
+     */
+    private @NotNull Admission tryAdmit(final @NotNull PendingTeleport pending) {
+        final int currentTick = this.plugin.getServer().getCurrentTick();
+        if (currentTick != this.lastAdmissionTick) {
+            this.lastAdmissionTick = currentTick;
+            this.admittedThisTick = 0;
+        }
+
+        if (this.admittedThisTick >= this.getMaxTeleportsPerTick()) {
+            return Admission.TICK_LIMIT;
+        }
+
+        final World world = pending.destination.getWorld();
+        final boolean needsChunkLoad = world != null && !world.isChunkLoaded(
+            pending.destination.getBlockX() >> 4, pending.destination.getBlockZ() >> 4);
+
+        if (needsChunkLoad && this.chunkLoadsInFlight >= this.getMaxChunkLoadsInFlight()) {
+            return Admission.CHUNK_LIMIT;
+        }
+
+        this.admittedThisTick++;
+        this.totalAdmitted++;
+        this.recordWait(System.nanoTime() - pending.submittedAt);
+
+        if (needsChunkLoad) {
+            this.chunkLoadsInFlight++;
+        }
+
+        final long admittedAt = System.nanoTime();
+        pending.player.teleportAsync(pending.destination).whenComplete((success, throwable) -> {
+            if (needsChunkLoad) {
+                this.chunkLoadsInFlight--;
+                this.chunkWaitTimings.recordSince(admittedAt);
+            }
+
+            if (throwable != null) {
+                pending.result.completeExceptionally(throwable);
+            } else {
+                pending.result.complete(success);
+            }
+        });
+        return Admission.ADMITTED;
+    }
+
+    /**
+     * Records an admission wait time
+     * @param waitNanos the wait time in nanoseconds
+     */
+    private void recordWait(final long waitNanos) {
+        this.waitSamples[this.waitSampleIndex] = waitNanos;
+        this.waitSampleIndex = (this.waitSampleIndex + 1) % WAIT_SAMPLE_SIZE;
+        this.waitSampleCount = Math.min(this.waitSampleCount + 1, WAIT_SAMPLE_SIZE);
+    }
+
+    /**
+     * Gets a percentile of recent admission wait times
+     * @param percentile the percentile between 0 and 100
+     * @return the wait time in milliseconds, or 0 if nothing was admitted yet
+     */
+    public double getWaitPercentileMillis(final double percentile) {
+        if (this.waitSampleCount == 0) {
+            return 0.0;
+        }
+
+        final long[] sorted = Arrays.copyOf(this.waitSamples, this.waitSampleCount);
+        Arrays.sort(sorted);
+
+        final int index = (int) Math.ceil(percentile / 100.0 * sorted.length) - 1;
+        return sorted[Math.max(0, Math.min(index, sorted.length - 1))] / 1_000_000.0;
+    }
+
+    /**
+     * Gets the number of teleports waiting for admission
+     * @return the queue depth
+     */
+    public int getQueueDepth() {
+        return this.queue.size();
+    }
+
+    /**
+     * Gets the number of admitted teleports still waiting for their chunk
+     * @return the chunk loads in flight
+     */
+    public int getChunkLoadsInFlight() {
+        return this.chunkLoadsInFlight;
+    }
+
+    /**
+     * Gets the total number of admitted teleports
+     * @return the admitted count
+     */
+    public long getTotalAdmitted() {
+        return this.totalAdmitted;
+    }
+
+    /**
+     * Gets the total number of teleports that had to wait in the queue
+     * @return the queued count
+     */
+    public long getTotalQueued() {
+        return this.totalQueued;
+    }
+
+    /**
+     * Gets the configured teleport limit per tick
+     * @return the maximum teleports started per tick
+     */
+    private int getMaxTeleportsPerTick() {
+        return Math.max(1, this.plugin.getConfigManager().getConfig()
+            .getInt("teleportation.admission.max-teleports-per-tick", 5));
+    }
+
+    /**
+     * Gets the configured limit of chunk loads in flight
+     * @return the maximum chunk loads in flight
+     */
+    private int getMaxChunkLoadsInFlight() {
+        return Math.max(1, this.plugin.getConfigManager().getConfig()
+            .getInt("teleportation.admission.max-chunk-loads-in-flight", 8));
+    }
+
+    /**
+     * Outcomes of an admission attempt
+     */
+    private enum Admission {
+        ADMITTED,
+        TICK_LIMIT,
+        CHUNK_LIMIT
+    }
+
+    /**
+     * A teleport waiting for admission
+     */
+    private static final class PendingTeleport {
+
+        private final Player player;
+        private final Location destination;
+        private final long submittedAt;
+        private final CompletableFuture<Boolean> result = new CompletableFuture<>();
+
+        private PendingTeleport(final @NotNull Player player, final @NotNull Location destination, final long submittedAt) {
+            this.player = player;
+            this.destination = destination;
+            this.submittedAt = submittedAt;
+        }
+    }
+}
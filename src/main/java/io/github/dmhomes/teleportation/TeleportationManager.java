@@ -2,30 +2,59 @@ package io.github.dmhomes.teleportation;
 
 import io.github.dmhomes.DMHomesPlugin;
 import io.github.dmhomes.data.Home;
-import lombok.RequiredArgsConstructor;
+import io.github.dmhomes.listeners.TeleportWarmupListener;
+import io.github.dmhomes.metrics.LatencyHistogram;
+import lombok.Getter;
 import net.kyori.adventure.text.Component;
 import net.kyori.adventure.title.Title;
 import org.bukkit.Location;
 import org.bukkit.Sound;
+import org.bukkit.World;
 import org.bukkit.entity.Player;
+import org.bukkit.event.HandlerList;
 import org.bukkit.scheduler.BukkitRunnable;
 import org.bukkit.scheduler.BukkitTask;
 import org.jetbrains.annotations.NotNull;
 
 import java.time.Duration;
+import java.util.HashMap;
 import java.util.Map;
 import java.util.Objects;
 import java.util.UUID;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.logging.Level;
 
 /**
  * Manages teleportation with warmup, countdown, and effects
  */
-@RequiredArgsConstructor
 public final class TeleportationManager {
 
     private final DMHomesPlugin plugin;
     private final Map<UUID, TeleportationTask> activeTeleportations = new ConcurrentHashMap<>();
+    
+    @Getter
+    private final TeleportAdmissionQueue admissionQueue;
+    
+    private final LatencyHistogram warmupTimings;
+    
+    // Warmups preloading each destination chunk, plugin chunk tickets are one per chunk and not reference-counted
+    private final Map<ChunkTicket, Integer> chunkTicketHolders = new HashMap<>();
+    
+    // Registered only while warmups are pending so idle servers skip move/damage dispatch
+    private TeleportWarmupListener warmupListener;
+
+    /**
+     * Creates a new TeleportationManager instance
+     * @param plugin the plugin instance
+     */
+    public TeleportationManager(final @NotNull DMHomesPlugin plugin) {
+        this.plugin = Objects.requireNonNull(plugin, "Plugin cannot be null");
+        this.admissionQueue = new TeleportAdmissionQueue(plugin);
+        this.warmupTimings = plugin.getMetrics().histogram("teleport_warmup_seconds",
+            "Time from the start of a warmup until the player arrived at the home");
+    }
 
     /**
      * Starts a teleportation to a home with warmup
@@ -50,17 +79,25 @@ public final class TeleportationManager {
 
         // Start warmup
         final TeleportationTask task = new TeleportationTask(player, home, warmupTime);
-        this.activeTeleportations.put(player.getUniqueId(), task);
+        this.addWarmup(player.getUniqueId(), task);
         task.start();
     }
 
+    /**
+     * Gets the number of warmups in progress
+     * @return the warmup count
+     */
+    public int getActiveWarmupCount() {
+        return this.activeTeleportations.size();
+    }
+
     /**
      * Cancels an active teleportation
      * @param player the player
      * @param reason the cancellation reason
      */
     public void cancelTeleportation(final @NotNull Player player, final @NotNull String reason) {
-        final TeleportationTask task = this.activeTeleportations.remove(player.getUniqueId());
+        final TeleportationTask task = this.removeWarmup(player.getUniqueId());
         if (task != null) {
             task.cancel();
             
@@ -90,10 +127,13 @@ public final class TeleportationManager {
      * @param player the player
      */
     public void cancelTeleportation(final @NotNull Player player) {
-        final TeleportationTask task = this.activeTeleportations.remove(player.getUniqueId());
+        final TeleportationTask task = this.removeWarmup(player.getUniqueId());
         if (task != null) {
             task.cancel();
         }
+        
+        // Also drop a teleport still waiting for admission
+        this.admissionQueue.cancel(player.getUniqueId());
     }
 
     /**
@@ -105,6 +145,68 @@ public final class TeleportationManager {
         return this.activeTeleportations.containsKey(player.getUniqueId());
     }
 
+    /**
+     * Handles player movement while a warmup is pending
+     * @param player the player
+     * @param to the location the player moved to
+     */
+    public void handleMove(final @NotNull Player player, final @NotNull Location to) {
+        final TeleportationTask task = this.activeTeleportations.get(player.getUniqueId());
+        if (task == null || !this.plugin.getConfigManager().getConfig()
+            .getBoolean("teleportation.cancel-on-move", true)) {
+            return;
+        }
+
+        final Location startLocation = task.startLocation;
+        if (startLocation.getWorld() != to.getWorld() || startLocation.distanceSquared(to) > 0.25) {
+            this.cancelTeleportation(player, "move");
+        }
+    }
+
+    /**
+     * Handles player damage while a warmup is pending
+     * @param player the damaged player
+     */
+    public void handleDamage(final @NotNull Player player) {
+        if (!this.activeTeleportations.containsKey(player.getUniqueId())) {
+            return;
+        }
+
+        if (this.plugin.getConfigManager().getConfig().getBoolean("teleportation.cancel-on-damage", true)) {
+            this.cancelTeleportation(player, "damage");
+        }
+    }
+
+    /**
+     * Tracks a new warmup, registering the warmup listener for the first one
+     * @param playerUuid the player's UUID
+     * @param task the warmup task
+     */
+    private void addWarmup(final @NotNull UUID playerUuid, final @NotNull TeleportationTask task) {
+        this.activeTeleportations.put(playerUuid, task);
+        
+        if (this.warmupListener == null) {
+            this.warmupListener = new TeleportWarmupListener(this);
+            this.plugin.getServer().getPluginManager().registerEvents(this.warmupListener, this.plugin);
+        }
+    }
+
+    /**
+     * Stops tracking a warmup, unregistering the warmup listener after the last one
+     * @param playerUuid the player's UUID
+     * @return the removed task or null if none was active
+     */
+    private TeleportationTask removeWarmup(final @NotNull UUID playerUuid) {
+        final TeleportationTask task = this.activeTeleportations.remove(playerUuid);
+        
+        if (this.activeTeleportations.isEmpty() && this.warmupListener != null) {
+            HandlerList.unregisterAll(this.warmupListener);
+            this.warmupListener = null;
+        }
+        
+        return task;
+    }
+
     /**
      * Plays an error sound for the player
      * @param player the player
@@ -115,26 +217,48 @@ public final class TeleportationManager {
 
     /**
      * Performs the actual teleportation
+     * The teleport goes through the admission queue and loads the destination chunk off the main thread,
+     * effects are applied once the player arrives
      * @param player the player
      * @param home the home
+     * @return a future completed with whether the teleport succeeded
      */
-    private void performTeleportation(final @NotNull Player player, final @NotNull Home home) {
+    private @NotNull CompletableFuture<Boolean> performTeleportation(final @NotNull Player player, final @NotNull Home home) {
         final Location location = home.getLocation();
         
-        // Teleport immediately
-        player.teleport(location);
-        
-        // Play end sound
-        this.playSound(player, "teleport-end");
-        
-        // Send success message
-        final Component message = this.getConfigurableMessage("teleport-success", "home_name", home.getName());
-        player.sendMessage(message);
-        
-        // Show blackscreen effect after teleportation
-        if (this.plugin.getConfigManager().getConfig().getBoolean("teleportation.blackscreen-effect", true)) {
-            this.showPostTeleportBlackScreen(player);
-        }
+        return this.admissionQueue.submit(player, location).whenComplete((success, throwable) -> {
+            if (throwable instanceof CancellationException) {
+                // Player left the admission queue (quit or started another teleport)
+                return;
+            }
+            
+            if (throwable != null || !Boolean.TRUE.equals(success)) {
+                if (throwable != null) {
+                    this.plugin.getLogger().log(Level.WARNING,
+                        "Failed to teleport " + player.getName() + " to home " + home.getName(), throwable);
+                }
+                if (player.isOnline()) {
+                    this.playErrorSound(player);
+                }
+                return;
+            }
+            
+            if (!player.isOnline()) {
+                return;
+            }
+            
+            // Play end sound
+            this.playSound(player, "teleport-end");
+            
+            // Send success message
+            final Component message = this.getConfigurableMessage("teleport-success", "home_name", home.getName());
+            player.sendMessage(message);
+            
+            // Show blackscreen effect after teleportation
+            if (this.plugin.getConfigManager().getConfig().getBoolean("teleportation.blackscreen-effect", true)) {
+                this.showPostTeleportBlackScreen(player);
+            }
+        });
     }
 
     /**
@@ -209,6 +333,43 @@ public final class TeleportationManager {
         }
     }
 
+    /**
+     * Adds a holder to a chunk, placing the plugin chunk ticket for the first one
+     * Must be called from the main thread
+     * @param world the chunk's world
+     * @param chunkX the chunk x coordinate
+     * @param chunkZ the chunk z coordinate
+     */
+    private void acquireChunkTicket(final @NotNull World world, final int chunkX, final int chunkZ) {
+        if (this.chunkTicketHolders.merge(new ChunkTicket(world.getUID(), chunkX, chunkZ), 1, Integer::sum) == 1) {
+            world.addPluginChunkTicket(chunkX, chunkZ, this.plugin);
+        }
+    }
+
+    /**
+     * Removes a holder from a chunk, removing the plugin chunk ticket after the last one
+     * Must be called from the main thread, only for holders added by {@link #acquireChunkTicket(World, int, int)}
+     * @param world the chunk's world
+     * @param chunkX the chunk x coordinate
+     * @param chunkZ the chunk z coordinate
+     */
+    private void releaseChunkTicket(final @NotNull World world, final int chunkX, final int chunkZ) {
+        final Integer remaining = this.chunkTicketHolders.computeIfPresent(new ChunkTicket(world.getUID(), chunkX, chunkZ),
+            (ticket, holders) -> holders > 1 ? holders - 1 : null);
+        if (remaining == null) {
+            world.removePluginChunkTicket(chunkX, chunkZ, this.plugin);
+        }
+    }
+
+    /**
+     * A chunk held loaded for warmups
+     * @param worldUuid the world's UUID
+     * @param chunkX the chunk x coordinate
+     * @param chunkZ the chunk z coordinate
+     */
+    private record ChunkTicket(@NotNull UUID worldUuid, int chunkX, int chunkZ) {
+    }
+
     /**
      * Teleportation task that handles warmup and countdown
      */
@@ -217,41 +378,87 @@ public final class TeleportationManager {
         private final Player player;
         private final Home home;
         private final Location startLocation;
+        private final World destinationWorld;
+        private final int destinationChunkX;
+        private final int destinationChunkZ;
+        private final long startedAt = System.nanoTime();
         private int timeLeft;
         private BukkitTask task;
+        private boolean chunkTicketHeld;
+        private boolean chunkReleased;
+        private boolean teleporting;
 
         public TeleportationTask(final @NotNull Player player, final @NotNull Home home, final int warmupTime) {
             this.player = player;
             this.home = home;
             this.startLocation = player.getLocation().clone();
             this.timeLeft = warmupTime;
+            
+            final Location destination = home.getLocation();
+            this.destinationWorld = destination.getWorld();
+            this.destinationChunkX = destination.getBlockX() >> 4;
+            this.destinationChunkZ = destination.getBlockZ() >> 4;
         }
 
         public void start() {
             this.task = this.runTaskTimer(TeleportationManager.this.plugin, 0L, 20L);
+            this.preloadDestination();
+        }
+
+        /**
+         * Loads the destination chunk asynchronously and keeps it loaded while the warmup is pending
+         */
+        private void preloadDestination() {
+            if (this.destinationWorld == null) {
+                return;
+            }
+            
+            this.destinationWorld.getChunkAtAsync(this.destinationChunkX, this.destinationChunkZ)
+                .thenAccept(chunk -> {
+                    // The warmup may have ended before the chunk finished loading
+                    if (this.chunkReleased) {
+                        return;
+                    }
+                    
+                    TeleportationManager.this.acquireChunkTicket(this.destinationWorld, this.destinationChunkX, this.destinationChunkZ);
+                    this.chunkTicketHeld = true;
+                });
+        }
+
+        /**
+         * Releases the plugin chunk ticket held for the destination
+         */
+        private void releaseDestination() {
+            this.chunkReleased = true;
+            
+            if (this.chunkTicketHeld) {
+                this.chunkTicketHeld = false;
+                TeleportationManager.this.releaseChunkTicket(this.destinationWorld, this.destinationChunkX, this.destinationChunkZ);
+            }
         }
 
         @Override
         public void run() {
             if (!this.player.isOnline()) {
+                TeleportationManager.this.removeWarmup(this.player.getUniqueId());
                 this.cancel();
                 return;
             }
 
-            // Check if player moved (if enabled)
-            if (TeleportationManager.this.plugin.getConfigManager().getConfig()
-                .getBoolean("teleportation.cancel-on-move", true)) {
-                if (this.startLocation.distance(this.player.getLocation()) > 0.5) {
-                    TeleportationManager.this.cancelTeleportation(this.player, "move");
-                    return;
-                }
-            }
+            // Movement is checked by TeleportWarmupListener as it happens
 
             if (this.timeLeft <= 0) {
-                // Teleportation time!
-                TeleportationManager.this.activeTeleportations.remove(this.player.getUniqueId());
-                TeleportationManager.this.performTeleportation(this.player, this.home);
+                // Teleportation time! Keep the chunk ticket until the player has arrived
+                TeleportationManager.this.removeWarmup(this.player.getUniqueId());
+                this.teleporting = true;
                 this.cancel();
+                TeleportationManager.this.performTeleportation(this.player, this.home)
+                    .whenComplete((success, throwable) -> {
+                        this.releaseDestination();
+                        if (Boolean.TRUE.equals(success)) {
+                            TeleportationManager.this.warmupTimings.recordSince(this.startedAt);
+                        }
+                    });
                 return;
             }
 
@@ -279,6 +486,10 @@ public final class TeleportationManager {
                 this.task.cancel();
             }
             super.cancel();
+            
+            if (!this.teleporting) {
+                this.releaseDestination();
+            }
         }
     }
 
@@ -0,0 +1,127 @@
+package io.github.dmhomes.utils;
+
+import io.github.dmhomes.DMHomesPlugin;
+import io.github.dmhomes.metrics.Counter;
+import io.github.dmhomes.metrics.MemoryEstimates;
+import io.github.dmhomes.metrics.MemoryUsage;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.Arrays;
+import java.util.Map;
+import java.util.Objects;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Per-player rate limiter for GUI and home actions
+ * Each player has one timestamp per action type, actions repeated within the configured interval are dropped
+ */
+public final class ActionRateLimiter {
+
+    private static final long NEVER = Long.MIN_VALUE;
+
+    private final DMHomesPlugin plugin;
+
+    // Last accepted action per player, indexed by action ordinal, in System.nanoTime() units
+    private final Map<UUID, long[]> lastActions = new ConcurrentHashMap<>();
+
+    private volatile long[] intervalNanos = new long[Action.values().length];
+
+    private final Counter[] droppedActions = new Counter[Action.values().length];
+
+    /**
+     * Creates a new ActionRateLimiter instance
+     * @param plugin the plugin instance
+     */
+    public ActionRateLimiter(final @NotNull DMHomesPlugin plugin) {
+        this.plugin = Objects.requireNonNull(plugin, "Plugin cannot be null");
+        for (final Action action : Action.values()) {
+            this.droppedActions[action.ordinal()] = plugin.getMetrics().counter(
+                "rate_limited_" + action.getConfigKey().replace('-', '_') + "_total",
+                "Dropped " + action.getConfigKey() + " actions that repeated too quickly");
+        }
+        this.reload();
+    }
+
+    /**
+     * Reads the action intervals from the configuration
+     */
+    public void reload() {
+        final long[] intervals = new long[Action.values().length];
+        for (final Action action : Action.values()) {
+            final long millis = this.plugin.getConfigManager().getConfig()
+                .getLong("rate-limits." + action.getConfigKey(), action.getDefaultMillis());
+            intervals[action.ordinal()] = Math.max(0L, millis) * 1_000_000L;
+        }
+        this.intervalNanos = intervals;
+    }
+
+    /**
+     * Records an action if the player is allowed to perform it now
+     * @param playerUuid the player's UUID
+     * @param action the action type
+     * @return true if the action may proceed, false if it repeats too quickly and must be dropped
+     */
+    public boolean tryAcquire(final @NotNull UUID playerUuid, final @NotNull Action action) {
+        final long interval = this.intervalNanos[action.ordinal()];
+        if (interval == 0L) {
+            return true;
+        }
+
+        final long[] timestamps = this.lastActions.computeIfAbsent(playerUuid, uuid -> {
+            final long[] created = new long[Action.values().length];
+            Arrays.fill(created, NEVER);
+            return created;
+        });
+
+        final long now = System.nanoTime();
+        synchronized (timestamps) {
+            final long last = timestamps[action.ordinal()];
+            if (last != NEVER && now - last < interval) {
+                this.droppedActions[action.ordinal()].increment();
+                return false;
+            }
+
+            timestamps[action.ordinal()] = now;
+            return true;
+        }
+    }
+
+    /**
+     * Adds the estimated heap used by the timestamps to a memory report
+     * @param usage the report to add to
+     */
+    public void accountMemory(final @NotNull MemoryUsage usage) {
+        final long bytes = MemoryEstimates.MAP_ENTRY + MemoryEstimates.UUID + MemoryEstimates.longArray(Action.values().length);
+        for (final UUID playerUuid : this.lastActions.keySet()) {
+            usage.add(MemoryUsage.Subsystem.RATE_LIMITS, playerUuid, bytes);
+        }
+    }
+
+    /**
+     * Forgets all timestamps of a player
+     * @param playerUuid the player's UUID
+     */
+    public void invalidate(final @NotNull UUID playerUuid) {
+        this.lastActions.remove(playerUuid);
+    }
+
+    /**
+     * Rate-limited action types
+     */
+    @Getter
+    @RequiredArgsConstructor
+    public enum Action {
+        CLICK("click", 50L),
+        PAGE("page", 150L),
+        OPEN_MENU("open-menu", 250L),
+        TELEPORT("teleport", 1000L),
+        ICON_CHANGE("icon-change", 500L),
+        HOME_EDIT("home-edit", 500L);
+
+        private final String configKey;
+        private final long defaultMillis;
+    }
+}
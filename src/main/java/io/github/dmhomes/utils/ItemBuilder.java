@@ -156,6 +156,25 @@ public class ItemBuilder {
         return item;
     }
 
+    /**
+     * Creates a plain ItemStack from a material string, without any meta
+     * @param materialName the material string
+     * @return the created ItemStack or null if the material is invalid
+     */
+    public @Nullable ItemStack createBase(final @NotNull String materialName) {
+        final Material material = parseMaterial(materialName);
+        return material != null ? new ItemStack(material) : null;
+    }
+
+    /**
+     * Parses a name or lore line, adding <!italic> if not already present
+     * @param text the text (MiniMessage format)
+     * @return the parsed component
+     */
+    public @NotNull Component parseItemText(final @NotNull String text) {
+        return miniMessage.deserialize(text.startsWith("<!italic>") ? text : "<!italic>" + text);
+    }
+
     /**
      * Parses a material string, supporting both vanilla and ItemsAdder formats
      * @param materialString the material string